@@ -43,6 +43,12 @@ public class Main extends ApplicationAdapter {
             // 2. Cria o Controlador (Tarefa #26)
             ControladorDePartida controlador = new ControladorDePartida(jogadores);
 
+            // Cada IA joga com a estratégia do nível escolhido na seleção
+            RegistroDeEstrategias registro = RegistroDeEstrategias.comEstrategiasPadrao();
+            for (Jogador j : jogadores) {
+                if (j.getIsAI()) controlador.setEstrategiaIA(j, registro.criar(telaDeSelecao.getNivelDe(j)));
+            }
+
             // 3. Manda o controlador se preparar (Tarefas #22, #23, #24)
             controlador.iniciarPartida();
 
@@ -1,9 +1,6 @@
 package com.gruposete.war.core;
 
-import java.util.Random;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.SplittableRandom;
 
 public class AtaqueLogica {
     // ... (atributos iguais) ...
@@ -12,9 +9,26 @@ public class AtaqueLogica {
     private Jogador jogadorAtacante;
     private Jogador jogadorDefensor;
     private Mapa mapa;
-    private Random random = new Random();
+    private SplittableRandom random;
+    // Reutilizados a cada rodada/batalha: executarUmaRodada() e executarBatalha() não alocam
+    private final ResultadoCombate resultado = new ResultadoCombate();
+    private final ResultadoBatalha resultadoBatalha = new ResultadoBatalha();
 
     public AtaqueLogica(Territorio territorioA, Territorio territorioD, Jogador jogadorA, Jogador jogadorD, Mapa mapa){
+        this(territorioA, territorioD, jogadorA, jogadorD, mapa, new FonteAleatoria().getDados());
+    }
+
+    public AtaqueLogica(Territorio territorioA, Territorio territorioD, Jogador jogadorA, Jogador jogadorD, Mapa mapa, SplittableRandom random){
+        this.random = random;
+        this.territorioAtacante = territorioA;
+        this.territorioDefensor = territorioD;
+        this.jogadorAtacante = jogadorA;
+        this.jogadorDefensor = jogadorD;
+        this.mapa = mapa;
+    }
+
+    /** Reaponta esta lógica para outro ataque (o controlador reaproveita a mesma instância). */
+    public void preparar(Territorio territorioA, Territorio territorioD, Jogador jogadorA, Jogador jogadorD, Mapa mapa) {
         this.territorioAtacante = territorioA;
         this.territorioDefensor = territorioD;
         this.jogadorAtacante = jogadorA;
@@ -25,10 +39,12 @@ public class AtaqueLogica {
     // MUDANÇA: Agora retorna ResultadoCombate em vez de AtaqueEstado
     public ResultadoCombate executarUmaRodada() {
         if (territorioAtacante.getTropas() <= 1) { 
-            return new ResultadoCombate(AtaqueEstado.TROPAS_INSUFICIENTES, new Integer[]{}, new Integer[]{}, 0, 0); 
+            resultado.definir(AtaqueEstado.TROPAS_INSUFICIENTES, 0, 0, 0);
+            return resultado;
         }
         if (!mapa.isAdjacente(territorioDefensor, territorioAtacante)) { 
-            return new ResultadoCombate(AtaqueEstado.SEM_ADJACENCIA, new Integer[]{}, new Integer[]{}, 0, 0); 
+            resultado.definir(AtaqueEstado.SEM_ADJACENCIA, 0, 0, 0);
+            return resultado;
         }
 
         int qntdDadosAtacante = Math.min(territorioAtacante.getTropas() - 1, 3);
@@ -37,17 +53,57 @@ public class AtaqueLogica {
         return rolarDados(qntdDadosAtacante, qntdDadosDefensor);
     }
 
-    private ResultadoCombate rolarDados(int qntdDadosAtacante, int qntdDadosDefensor){
-        Integer[] dadosAtacante = new Integer[qntdDadosAtacante]; // Array tamanho exato
-        Integer[] dadosDefensor = new Integer[qntdDadosDefensor]; // Array tamanho exato
+    /**
+     * Resolve a batalha inteira de uma vez: até conquistar, até o atacante ficar com 1 tropa
+     * ou com 'limiteDeParada' tropas ou menos.
+     * @param amostrarDesfecho true = sorteia o estado final direto da distribuição exata
+     *                         (TabelaProbabilidadeCombate.sortearDesfecho); false = uma amostra por rodada
+     * @return a mesma instância a cada chamada (ver ResultadoBatalha)
+     */
+    public ResultadoBatalha executarBatalha(int limiteDeParada, boolean amostrarDesfecho) {
+        int parada = Math.max(1, limiteDeParada);
+        int a = territorioAtacante.getTropas();
+        int d = territorioDefensor.getTropas();
+        if (a <= parada) {
+            resultadoBatalha.definir(AtaqueEstado.TROPAS_INSUFICIENTES, 0, 0);
+            return resultadoBatalha;
+        }
+        if (!mapa.isAdjacente(territorioDefensor, territorioAtacante)) {
+            resultadoBatalha.definir(AtaqueEstado.SEM_ADJACENCIA, 0, 0);
+            return resultadoBatalha;
+        }
+
+        int desfecho = amostrarDesfecho
+            ? TabelaProbabilidadeCombate.sortearDesfecho(a, d, parada, random)
+            : TabelaProbabilidadeCombate.simularBatalha(a, d, parada, random);
+        int aFinal = TabelaProbabilidadeCombate.atacanteDoDesfecho(desfecho);
+        int dFinal = TabelaProbabilidadeCombate.defensorDoDesfecho(desfecho);
 
-        // Rolagem
-        for (int i = 0; i < qntdDadosAtacante; i++) dadosAtacante[i] = random.nextInt(6) + 1;
-        for (int i = 0; i < qntdDadosDefensor; i++) dadosDefensor[i] = random.nextInt(6) + 1;
+        territorioAtacante.setTropas(aFinal);
+        territorioDefensor.setTropas(dFinal);
+
+        AtaqueEstado estadoFinal = AtaqueEstado.ATAQUE_ENCERRADO_MANUALMENTE;
+        if (aFinal == 1) estadoFinal = AtaqueEstado.TROPAS_INSUFICIENTES;
+        if (dFinal == 0) {
+            territorioDefensor.setPlayerId(territorioAtacante.getPlayerId());
+            estadoFinal = AtaqueEstado.TERRITORIO_CONQUISTADO;
+        }
+        resultadoBatalha.definir(estadoFinal, a - aFinal, d - dFinal);
+        return resultadoBatalha;
+    }
+
+    private ResultadoCombate rolarDados(int qntdDadosAtacante, int qntdDadosDefensor){
+        // Rolagem (dados ausentes valem 0 e ficam no fim depois da ordenação)
+        int a0 = random.nextInt(6) + 1;
+        int a1 = (qntdDadosAtacante > 1) ? random.nextInt(6) + 1 : 0;
+        int a2 = (qntdDadosAtacante > 2) ? random.nextInt(6) + 1 : 0;
+        int d0 = random.nextInt(6) + 1;
+        int d1 = (qntdDadosDefensor > 1) ? random.nextInt(6) + 1 : 0;
+        int d2 = (qntdDadosDefensor > 2) ? random.nextInt(6) + 1 : 0;
 
         // Ordenação Decrescente
-        Arrays.sort(dadosAtacante, Collections.reverseOrder());
-        Arrays.sort(dadosDefensor, Collections.reverseOrder());
+        int dadosAtacante = ordenar3(a0, a1, a2);
+        int dadosDefensor = ordenar3(d0, d1, d2);
 
         int perdasA = 0;
         int perdasD = 0;
@@ -55,7 +111,8 @@ public class AtaqueLogica {
 
         // Comparação
         for (int i = 0; i < comparacoes; i++){
-            if (dadosDefensor[i] < dadosAtacante[i]) {
+            int deslocamento = 3 * i;
+            if (((dadosDefensor >>> deslocamento) & 7) < ((dadosAtacante >>> deslocamento) & 7)) {
                 perdasD++;
             } else {
                 perdasA++;
@@ -74,6 +131,17 @@ public class AtaqueLogica {
             estadoFinal = AtaqueEstado.TERRITORIO_CONQUISTADO;
         }
 
-        return new ResultadoCombate(estadoFinal, dadosAtacante, dadosDefensor, perdasA, perdasD);
+        int dados = ResultadoCombate.empacotarDados(dadosAtacante, qntdDadosAtacante, dadosDefensor, qntdDadosDefensor);
+        resultado.definir(estadoFinal, dados, perdasA, perdasD);
+        return resultado;
+    }
+
+    /** Rede de ordenação de 3 elementos (decrescente), devolvida empacotada com 3 bits por valor. */
+    static int ordenar3(int x, int y, int z) {
+        int t;
+        if (x < y) { t = x; x = y; y = t; }
+        if (y < z) { t = y; y = z; z = t; }
+        if (x < y) { t = x; x = y; y = t; }
+        return x | (y << 3) | (z << 6);
     }
-}
\ No newline at end of file
+}
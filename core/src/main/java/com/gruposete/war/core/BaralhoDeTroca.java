@@ -1,41 +1,38 @@
 package com.gruposete.war.core;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.utils.Array;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.Map;
 import java.util.HashMap;
 
 /**
- * Singleton que gerencia o baralho de cartas do jogo.
+ * Gerencia o baralho de cartas de UMA partida.
  * ATUALIZADO: Usa o mapeamento 1-44 (1-2 Curingas, 3-44 Territórios + Símbolos).
+ * Cada ControladorDePartida tem o seu próprio baralho (antes era um Singleton global,
+ * o que impedia partidas simultâneas e reaproveitava cartas da partida anterior).
  */
 public class BaralhoDeTroca {
 
-    private static BaralhoDeTroca instance;
     private List<Carta> baralho;
+    private final Carta[] cartasPorId = new Carta[NUM_CARTAS + 1];   // Índice = ID da carta (1..44)
     private boolean isInicializado = false;
-    private Random random;
+    private final SplittableRandom random;
+    private final LogDePartida log;
 
-    /**
-     * Construtor privado (Singleton)
-     */
-    private BaralhoDeTroca() {
-        this.baralho = new ArrayList<>();
-        this.random = new Random();
+    public BaralhoDeTroca() {
+        this(LogDePartida.GDX);
     }
 
-    /**
-     * O acessador global (Singleton)
-     */
-    public static BaralhoDeTroca getInstance() {
-        if (instance == null) {
-            instance = new BaralhoDeTroca();
-        }
-        return instance;
+    public BaralhoDeTroca(LogDePartida log) {
+        this(log, new FonteAleatoria().getBaralho());
+    }
+
+    public BaralhoDeTroca(LogDePartida log, SplittableRandom random) {
+        this.baralho = new ArrayList<>();
+        this.random = random;
+        this.log = log;
     }
 
     // --- 1. A ESTRUTURA DE MAPEAMENTO (CORRIGIDA) ---
@@ -43,6 +40,8 @@ public class BaralhoDeTroca {
     /**
      * Classe interna para guardar os dados do mapeamento (IDs 3-44).
      */
+    public static final int NUM_CARTAS = 44;
+
     private static class CardData {
         public final int id;
         public final String nomeTerritorio;
@@ -118,6 +117,14 @@ public class BaralhoDeTroca {
         new CardData(44, "Japão", 'T') // (Ajuste "Japão")
     };
 
+    // Símbolo de cada carta pelo ID (1..44), sem precisar do baralho inicializado
+    private static final SimboloCarta[] SIMBOLO_POR_ID = new SimboloCarta[NUM_CARTAS + 1];
+    static {
+        SIMBOLO_POR_ID[1] = SimboloCarta.CURINGA;
+        SIMBOLO_POR_ID[2] = SimboloCarta.CURINGA;
+        for (CardData data : TERRITORY_MAP) SIMBOLO_POR_ID[data.id] = data.simbolo;
+    }
+
     // --- FIM DA ESTRUTURA DE MAPEAMENTO ---
 
     /**
@@ -139,6 +146,8 @@ public class BaralhoDeTroca {
         // 2. Cria os 2 Curingas (IDs 1 e 2)
         baralho.add(new Carta(1, "Carta/1.png"));
         baralho.add(new Carta(2, "Carta/2.png"));
+        cartasPorId[1] = baralho.get(0);
+        cartasPorId[2] = baralho.get(1);
 
         // 3. Cria as 42 cartas de território (IDs 3-44)
         for (CardData data : TERRITORY_MAP) {
@@ -146,26 +155,28 @@ public class BaralhoDeTroca {
             Territorio territorio = territorioMap.get(data.nomeTerritorio);
 
             if (territorio == null) {
-                Gdx.app.error("BaralhoDeTroca", "Falha ao mapear ID " + data.id + ". Não foi possível encontrar o Território: '" + data.nomeTerritorio + "'");
+                log.error("BaralhoDeTroca", "Falha ao mapear ID " + data.id + ". Não foi possível encontrar o Território: '" + data.nomeTerritorio + "'");
                 continue;
             }
 
             // O asset path é "Carta/[id].png"
             String assetPath = "Carta/" + data.id + ".png";
 
-            baralho.add(new Carta(data.id, data.simbolo, territorio, assetPath));
+            Carta carta = new Carta(data.id, data.simbolo, territorio, assetPath);
+            cartasPorId[data.id] = carta;
+            baralho.add(carta);
         }
 
         // 4. Embaralha
         embaralhar();
         isInicializado = true;
 
-        Gdx.app.log("BaralhoDeTroca", "Baralho inicializado com " + baralho.size() + " cartas.");
+        log.log("BaralhoDeTroca", "Baralho inicializado com " + baralho.size() + " cartas.");
     }
 
     public Carta comprarCarta() {
         if (baralho.isEmpty()) {
-            Gdx.app.error("BaralhoDeTroca", "Baralho vazio! Não há cartas para comprar.");
+            log.error("BaralhoDeTroca", "Baralho vazio! Não há cartas para comprar.");
             return null;
         }
         return baralho.remove(0);
@@ -179,14 +190,42 @@ public class BaralhoDeTroca {
             int randomIndex = random.nextInt(baralho.size() + 1);
             baralho.add(randomIndex, carta);
         }
-        Gdx.app.log("BaralhoDeTroca", cartasTrocadas.size() + " cartas retornadas. Tamanho atual: " + baralho.size());
+        log.log("BaralhoDeTroca", cartasTrocadas.size() + " cartas retornadas. Tamanho atual: " + baralho.size());
     }
 
     private void embaralhar() {
-        Collections.shuffle(baralho);
+        FonteAleatoria.embaralhar(baralho, random);
     }
 
     public int getTamanhoBaralho() {
         return baralho.size();
     }
+
+    public static SimboloCarta getSimboloPorId(int id) {
+        return SIMBOLO_POR_ID[id];
+    }
+
+    /** Carta pelo ID (1..44), ou null se o baralho ainda não foi inicializado. */
+    public Carta getCartaPorId(int id) {
+        return cartasPorId[id];
+    }
+
+    /**
+     * Ajusta o baralho para conter exatamente as cartas que não estão em nenhuma mão.
+     * Bit (id - 1) de 'cartasNasMaos' ligado = carta está com algum jogador.
+     * Cartas que voltam ao baralho entram em posição aleatória, como numa troca.
+     */
+    void restaurar(long cartasNasMaos) {
+        baralho.removeIf(c -> (cartasNasMaos & (1L << (c.getId() - 1))) != 0);
+
+        long noBaralho = 0L;
+        for (Carta c : baralho) noBaralho |= 1L << (c.getId() - 1);
+
+        for (int id = 1; id <= NUM_CARTAS; id++) {
+            long bit = 1L << (id - 1);
+            if (cartasPorId[id] != null && (cartasNasMaos & bit) == 0 && (noBaralho & bit) == 0) {
+                baralho.add(random.nextInt(baralho.size() + 1), cartasPorId[id]);
+            }
+        }
+    }
 }
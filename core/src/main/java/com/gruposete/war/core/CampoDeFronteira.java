@@ -0,0 +1,191 @@
+package com.gruposete.war.core;
+
+import java.util.Arrays;
+
+/**
+ * Análise de terreno mantida pelos eventos da partida, em arrays primitivos (sem BFS por consulta):
+ *  - Pressão: soma das tropas inimigas vizinhas de cada território (do ponto de vista do dono dele).
+ *  - Inimigos vizinhos: quantos vizinhos têm outro dono (0 = território interior).
+ *  - Distância à fronteira, por jogador: quantos passos, só por territórios dele, até um território com inimigo vizinho.
+ *
+ * Mudança de tropas ajusta a pressão dos vizinhos em O(grau). A distância só depende da posse:
+ * numa conquista, os campos do dono antigo e do novo são marcados como sujos e refeitos (BFS em arrays)
+ * na próxima consulta. Os outros jogadores não são afetados (o território continua inimigo para eles).
+ *
+ * O ControladorDePartida cria e registra o campo no seu FluxoDeEventos; consulte por getCampoDeFronteira().
+ */
+public class CampoDeFronteira implements ConsumidorDeEventos {
+
+    /** Distância de territórios de outro dono, ou sem caminho até a fronteira. */
+    public static final int INALCANCAVEL = Integer.MAX_VALUE;
+
+    private static final int N = Mapa.NUM_TERRITORIOS;
+
+    private final Mapa mapa;
+    private final int[] offsets;
+    private final int[] vizinhos;
+
+    // Dono e tropas que o campo já contabilizou (comparados com o Territorio a cada evento)
+    private final int[] dono = new int[N];
+    private final int[] tropas = new int[N];
+    private final int[] pressao = new int[N];
+    private final int[] inimigos = new int[N];
+
+    // Índice = playerId
+    private final int[][] distancia = new int[EstadoCompacto.MAX_JOGADORES + 1][N];
+    private final boolean[] sujo = new boolean[EstadoCompacto.MAX_JOGADORES + 1];
+    private final int[] fila = new int[N];
+
+    public CampoDeFronteira(Mapa mapa) {
+        this.mapa = mapa;
+        this.offsets = mapa.getOffsets();
+        this.vizinhos = mapa.getVizinhos();
+        reconstruir();
+    }
+
+    // --- EVENTOS ---
+
+    @Override
+    public void aoReceber(EventoPartida evento) {
+        switch (evento.tipo) {
+            case TROPAS_ALOCADAS:
+                sincronizar(evento.destino);
+                break;
+            case TROPAS_MOVIDAS:
+            case ATAQUE_RESOLVIDO:
+            case TERRITORIO_CONQUISTADO:
+                sincronizar(evento.origem);
+                sincronizar(evento.destino);
+                break;
+            case CARTAS_TROCADAS:
+                // O bônus de +2 não diz em quais territórios caiu: confere os do jogador
+                for (int t = 0; t < N; t++) {
+                    if (dono[t] == evento.jogador) sincronizar(t);
+                }
+                break;
+            case ESTADO_REDEFINIDO:
+                // Estado trocado por inteiro (ex.: a sombra do PlanejadorEmSegundoPlano a cada turno):
+                // aplica só a diferença, e só os jogadores com posse alterada refazem as distâncias
+                for (int t = 0; t < N; t++) sincronizar(t);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /** Recalcula tudo a partir dos territórios do mapa. */
+    public void reconstruir() {
+        for (int t = 0; t < N; t++) {
+            Territorio territorio = mapa.getTerritorioPorId(t);
+            dono[t] = territorio.getPlayerId();
+            tropas[t] = territorio.getTropas();
+        }
+        for (int t = 0; t < N; t++) {
+            int soma = 0, qtd = 0;
+            for (int k = offsets[t]; k < offsets[t + 1]; k++) {
+                int v = vizinhos[k];
+                if (dono[v] != dono[t]) {
+                    soma += tropas[v];
+                    qtd++;
+                }
+            }
+            pressao[t] = soma;
+            inimigos[t] = qtd;
+        }
+        Arrays.fill(sujo, true);
+    }
+
+    // Aplica a diferença entre o que o campo conhece do território e o estado atual dele
+    private void sincronizar(int t) {
+        if (t < 0) return;
+        Territorio territorio = mapa.getTerritorioPorId(t);
+        int novoDono = territorio.getPlayerId();
+        int novasTropas = territorio.getTropas();
+        int antigoDono = dono[t];
+        int antigasTropas = tropas[t];
+        if (novoDono == antigoDono && novasTropas == antigasTropas) return;
+
+        if (novoDono == antigoDono) {
+            int delta = novasTropas - antigasTropas;
+            for (int k = offsets[t]; k < offsets[t + 1]; k++) {
+                int v = vizinhos[k];
+                if (dono[v] != novoDono) pressao[v] += delta;
+            }
+            tropas[t] = novasTropas;
+            return;
+        }
+
+        // Troca de dono: tira a contribuição antiga, põe a nova e refaz a pressão sobre o próprio território
+        int soma = 0, qtd = 0;
+        for (int k = offsets[t]; k < offsets[t + 1]; k++) {
+            int v = vizinhos[k];
+            if (dono[v] != antigoDono) {
+                pressao[v] -= antigasTropas;
+                inimigos[v]--;
+            }
+            if (dono[v] != novoDono) {
+                pressao[v] += novasTropas;
+                inimigos[v]++;
+                soma += tropas[v];
+                qtd++;
+            }
+        }
+        dono[t] = novoDono;
+        tropas[t] = novasTropas;
+        pressao[t] = soma;
+        inimigos[t] = qtd;
+        sujo[antigoDono] = true;
+        sujo[novoDono] = true;
+    }
+
+    // BFS de várias origens (todas as fronteiras do jogador) só por territórios dele
+    private void recalcularDistancias(int jogador) {
+        int[] d = distancia[jogador];
+        Arrays.fill(d, INALCANCAVEL);
+        int inicio = 0, fim = 0;
+        for (int t = 0; t < N; t++) {
+            if (dono[t] == jogador && inimigos[t] > 0) {
+                d[t] = 0;
+                fila[fim++] = t;
+            }
+        }
+        while (inicio < fim) {
+            int atual = fila[inicio++];
+            for (int k = offsets[atual]; k < offsets[atual + 1]; k++) {
+                int v = vizinhos[k];
+                if (dono[v] == jogador && d[v] == INALCANCAVEL) {
+                    d[v] = d[atual] + 1;
+                    fila[fim++] = v;
+                }
+            }
+        }
+        sujo[jogador] = false;
+    }
+
+    // --- CONSULTAS ---
+
+    /** Passos até a fronteira do jogador (0 = o território já é fronteira), ou INALCANCAVEL. */
+    public int getDistanciaAoFront(int jogador, int territorio) {
+        if (sujo[jogador]) recalcularDistancias(jogador);
+        return distancia[jogador][territorio];
+    }
+
+    /** Distância do território ao front do seu próprio dono. */
+    public int getDistanciaAoFront(Territorio t) {
+        return getDistanciaAoFront(dono[t.getId()], t.getId());
+    }
+
+    /** Soma das tropas inimigas vizinhas (mesmo valor que Mapa.somaTropasInimigasAdj). */
+    public int getPressao(int territorio) {
+        return pressao[territorio];
+    }
+
+    /** Quantos vizinhos são de outro dono (mesmo valor que Mapa.contarInimigosAdj). */
+    public int getNumInimigos(int territorio) {
+        return inimigos[territorio];
+    }
+
+    public boolean isFronteira(int territorio) {
+        return inimigos[territorio] > 0;
+    }
+}
@@ -0,0 +1,49 @@
+package com.gruposete.war.core;
+
+/**
+ * Parâmetros de comportamento do IABot.
+ * Permite comparar variações da IA (ex.: em torneios) sem mexer no código do bot.
+ */
+public class ConfiguracaoIA {
+
+    /** Valores originais do IABot. */
+    public static final ConfiguracaoIA PADRAO = new ConfiguracaoIA("Padrão", 4.0f, 3.0f, 3.0f);
+    /** Decide os ataques pela chance exata de conquista (TabelaProbabilidadeCombate) em vez das razões de tropas. */
+    public static final ConfiguracaoIA PROBABILISTICA = new ConfiguracaoIA("Probabilística", 4.0f, 3.0f, 3.0f, 0.8f);
+
+    private final String nome;
+    // Depois de já ter conquistado (carta garantida), só inicia ataques com esta vantagem
+    private final float fatorAtaqueEsmagador;
+    // Depois de já ter conquistado, continua atacando enquanto tiver esta vantagem
+    private final float fatorContinuarAtaque;
+    // Na distribuição, acima desta vantagem o ataque já é considerado garantido
+    private final float fatorAtaqueGarantido;
+    // Se > 0, depois de já ter conquistado só ataca (e continua) com pelo menos esta chance de conquista;
+    // os dois fatores de ataque acima deixam de ser usados
+    private final float chanceMinimaDeConquista;
+
+    public ConfiguracaoIA(String nome, float fatorAtaqueEsmagador, float fatorContinuarAtaque, float fatorAtaqueGarantido) {
+        this(nome, fatorAtaqueEsmagador, fatorContinuarAtaque, fatorAtaqueGarantido, 0f);
+    }
+
+    public ConfiguracaoIA(String nome, float fatorAtaqueEsmagador, float fatorContinuarAtaque, float fatorAtaqueGarantido,
+                          float chanceMinimaDeConquista) {
+        this.nome = nome;
+        this.fatorAtaqueEsmagador = fatorAtaqueEsmagador;
+        this.fatorContinuarAtaque = fatorContinuarAtaque;
+        this.fatorAtaqueGarantido = fatorAtaqueGarantido;
+        this.chanceMinimaDeConquista = chanceMinimaDeConquista;
+    }
+
+    public String getNome() { return nome; }
+    public float getFatorAtaqueEsmagador() { return fatorAtaqueEsmagador; }
+    public float getFatorContinuarAtaque() { return fatorContinuarAtaque; }
+    public float getFatorAtaqueGarantido() { return fatorAtaqueGarantido; }
+    public float getChanceMinimaDeConquista() { return chanceMinimaDeConquista; }
+    public boolean isAtaqueProbabilistico() { return chanceMinimaDeConquista > 0f; }
+
+    @Override
+    public String toString() {
+        return nome;
+    }
+}
@@ -0,0 +1,10 @@
+package com.gruposete.war.core;
+
+/**
+ * Recebe os eventos do FluxoDeEventos.
+ * O evento recebido é reutilizado depois do retorno: copie o que precisar guardar.
+ */
+public interface ConsumidorDeEventos {
+
+    void aoReceber(EventoPartida evento);
+}
@@ -19,6 +19,15 @@ public enum Continente {
     }
 
     public String getNome() { return nome; }
+
+    /** Continente pelo nome de exibição (ex.: "Ásia"), ou null se não existir. */
+    public static Continente porNome(String nome) {
+        for (Continente c : values()) {
+            if (c.nome.equals(nome)) return c;
+        }
+        return null;
+    }
+
     public int getNumTerritorios() { return numTerritorios; }
     public int getBonusExercitos() { return bonusExercitos; }
 }
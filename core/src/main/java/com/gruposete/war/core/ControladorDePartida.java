@@ -1,7 +1,7 @@
 package com.gruposete.war.core;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.utils.Array;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,17 +39,61 @@ public class ControladorDePartida {
     // --- REGRAS E LÓGICA AUXILIAR ---
     private SetupPartida setupLogic;
     private VerificadorObjetivos verificadorObjetivos;
+    private BaralhoDeTroca baralho;
     private int contadorGlobalDeTrocas;
 
+    // --- INFRAESTRUTURA ---
+    private final LogDePartida log;
+    // Se true, o turno da IA é disparado sozinho (EstrategiaIA.executarTurno) ao passar a vez. O MotorHeadless desliga.
+    private boolean turnoIAAutomatico = true;
+    // Eventos de domínio (UI, estatísticas, replays e consumidores incrementais)
+    private final FluxoDeEventos eventos = new FluxoDeEventos();
+    // Distância ao front e pressão inimiga, mantidas pelos eventos (consultadas pela IA)
+    private CampoDeFronteira campoDeFronteira;
+    // Semente e fluxos aleatórios da partida (dados, baralho, setup, IA)
+    private final FonteAleatoria aleatorio;
+    private AtaqueLogica ataque;
+    // Estratégia de cada jogador IA; a mesma instância joga todos os turnos dele (pode manter caches)
+    private final Map<Jogador, EstrategiaIA> estrategias = new HashMap<>();
+
     // --- HISTÓRICOS E SNAPSHOTS ---
     // Snapshot de tropas no início da fase de movimentação (para validação)
     private Map<Territorio, Integer> tropasInicioMovimentacao = new HashMap<>();
     // Histórico de eliminações (Vítima -> Assassino) para verificação de objetivos
     private Map<Jogador, Jogador> historicoDeEliminacoes = new HashMap<>();
 
+    // --- BITBOARDS DE POSSE ---
+    // Índice = playerId (0 = sem dono); bit = ID do território. Atualizado a cada conquista.
+    private long[] mascaraPorJogador = new long[EstadoCompacto.MAX_JOGADORES + 1];
+    // Bit ligado = território com 2 ou mais tropas (objetivo "18 territórios com 2 exércitos")
+    private long mascaraDuasTropas;
+
+    // --- CACHE DE VITÓRIA ---
+    // Incrementada a cada mudança que pode afetar objetivos; verificarVitoria() só recalcula se ela mudou
+    private long versaoEstado;
+    private long versaoVerificada = -1;
+    private Jogador vencedorEmCache;
+
+    // --- HASH ZOBRIST ---
+    // Atualizado a cada mudança de dono, tropas, vez, fase ou mão (ver HashZobrist)
+    private long hash;
+    // Valores que estão "dentro" do hash agora, para tirá-los com XOR na próxima mudança
+    private final int[] tropasNoHash = new int[Mapa.NUM_TERRITORIOS];
+    private final int[] maoNoHash = new int[EstadoCompacto.MAX_JOGADORES + 1];
+
     // --- CONSTRUTOR ---
     public ControladorDePartida(List<Jogador> jogadoresSelecionados) {
+        this(jogadoresSelecionados, LogDePartida.GDX);
+    }
+
+    public ControladorDePartida(List<Jogador> jogadoresSelecionados, LogDePartida log) {
+        this(jogadoresSelecionados, log, new FonteAleatoria());
+    }
+
+    public ControladorDePartida(List<Jogador> jogadoresSelecionados, LogDePartida log, FonteAleatoria aleatorio) {
         this.jogadores = jogadoresSelecionados;
+        this.log = log;
+        this.aleatorio = aleatorio;
     }
 
     // --- INICIALIZAÇÃO ---
@@ -60,7 +104,7 @@ public class ControladorDePartida {
      */
     public void iniciarPartida() {
         // 1. Setup Básico
-        this.setupLogic = new SetupPartida(this.jogadores);
+        this.setupLogic = new SetupPartida(this.jogadores, this.log, aleatorio.getSetup());
         this.jogadores = setupLogic.getJogadoresPreparados();
         this.territorios = setupLogic.getTodosOsTerritorios();
         this.mapa = setupLogic.getMapaAdjacencias();
@@ -73,9 +117,15 @@ public class ControladorDePartida {
             }
         }
 
+        recalcularMascaras();
+        if (this.campoDeFronteira != null) eventos.removerConsumidor(this.campoDeFronteira);
+        this.campoDeFronteira = new CampoDeFronteira(this.mapa);
+        eventos.adicionarConsumidor(this.campoDeFronteira);
+
         // 3. Inicialização de Sistemas
         this.contadorGlobalDeTrocas = 0;
-        BaralhoDeTroca.getInstance().inicializarBaralho(this.territorios);
+        this.baralho = new BaralhoDeTroca(this.log, aleatorio.getBaralho());
+        this.baralho.inicializarBaralho(this.territorios);
         this.verificadorObjetivos = new VerificadorObjetivos(this.jogadores, this.territorios, this);
 
         // 4. Configuração do Primeiro Turno
@@ -85,6 +135,7 @@ public class ControladorDePartida {
         this.conquistouTerritorioNesteTurno = false;
 
         calcularTropasDoTurno();
+        recalcularHash();
 
         // Debug
         imprimirObjetivosJogadores();
@@ -113,34 +164,37 @@ public class ControladorDePartida {
         }
 
         // Avança para o próximo jogador VIVO (Loop seguro)
+        Jogador jogadorAnterior = this.jogadorAtual;
         int loopSafety = 0;
         do {
             if(this.indiceJogadorAtual + 1 == this.jogadores.size()){
                 this.primeiraRodada = false;
             }
+            hash ^= HashZobrist.jogadorDaVez(this.indiceJogadorAtual);
             this.indiceJogadorAtual = (this.indiceJogadorAtual + 1) % this.jogadores.size();
+            hash ^= HashZobrist.jogadorDaVez(this.indiceJogadorAtual);
             this.jogadorAtual = this.jogadores.get(this.indiceJogadorAtual);
 
             loopSafety++;
             if (loopSafety > this.jogadores.size()) {
-                Gdx.app.error("Controlador", "ERRO CRÍTICO: Nenhum jogador vivo encontrado!");
+                log.error("Controlador", "ERRO CRÍTICO: Nenhum jogador vivo encontrado!");
                 return; // Evita travamento eterno
             }
         } while (this.jogadorAtual.getTerritorios().isEmpty());
 
         // Reseta estado
-        this.estadoTurno = EstadoTurno.DISTRIBUINDO;
+        mudarFase(EstadoTurno.DISTRIBUINDO);
         this.conquistouTerritorioNesteTurno = false;
 
         calcularTropasDoTurno();
+        eventos.publicar(EventoPartida.Tipo.VEZ_PASSADA, jogadorAtual.getPlayerId(), -1, -1, jogadorAnterior.getPlayerId(), 0);
         verificarTurnoIA();
     }
 
     private void verificarTurnoIA() {
-        if (this.jogadorAtual.getIsAI()) {
-            Gdx.app.log("Controlador", ">>> Turno da IA (" + jogadorAtual.getNome() + ") iniciado.");
-            IABot bot = new IABot(this, this.jogadorAtual);
-            bot.executarTurno();
+        if (this.turnoIAAutomatico && this.jogadorAtual.getIsAI()) {
+            log.log("Controlador", ">>> Turno da IA (" + jogadorAtual.getNome() + ") iniciado.");
+            getEstrategiaIA(this.jogadorAtual).executarTurno(this, this.jogadorAtual);
         }
     }
 
@@ -156,22 +210,23 @@ public class ControladorDePartida {
             case DISTRIBUINDO:
 
                 if (ServicoDeCartas.isTrocaObrigatoria(this.jogadorAtual)) {
-                    Gdx.app.log("Controlador", "Troca obrigatória. Não pode avançar.");
+                    log.log("Controlador", "Troca obrigatória. Não pode avançar.");
                     return;
                 }
                 if (this.getTropasADistribuir() > 0) {
-                    Gdx.app.log("Controlador", "Ainda há tropas para distribuir.");
+                    log.log("Controlador", "Ainda há tropas para distribuir.");
                     return;
                 }
                 if (this.primeiraRodada) {
                     passarAVez();
                 } else {
-                    this.estadoTurno = EstadoTurno.ATACANDO;
+                    mudarFase(EstadoTurno.ATACANDO);
+                    publicarFase();
                 }
                 break;
 
             case ATACANDO:
-                this.estadoTurno = EstadoTurno.MOVIMENTANDO;
+                mudarFase(EstadoTurno.MOVIMENTANDO);
                 // Tira snapshot das tropas para validar movimentação estratégica
                 tropasInicioMovimentacao.clear();
                 for (Territorio t : territorios) {
@@ -181,6 +236,7 @@ public class ControladorDePartida {
                         tropasInicioMovimentacao.put(t, t.getTropas());
                     }
                 }
+                publicarFase();
                 break;
 
             case MOVIMENTANDO:
@@ -193,27 +249,28 @@ public class ControladorDePartida {
 
     private void calcularTropasDoTurno() {
         // 1. Calcula os lotes (Bônus Continentes + Global)
-        List<LoteReforco> lotes = ServicoDeReforco.calcularReforcos(this.jogadorAtual, this.mapa);
+        List<LoteReforco> lotes = ServicoDeReforco.calcularReforcos(getMascaraDe(this.jogadorAtual), this.mapa);
 
         // 2. Preenche a fila
         this.filaDeReforcos.clear();
         this.filaDeReforcos.addAll(lotes);
 
         // Log para debug
+        if (!log.isAtivo()) return;
         int total = 0;
         for (LoteReforco lote : lotes) {
             total += lote.quantidade;
             String tipo = (lote.restricao != null) ? lote.restricao.getNome() : "Livre";
-            Gdx.app.log("Controlador", "Lote recebido: " + lote.quantidade + " tropas para " + tipo);
+            log.log("Controlador", "Lote recebido: " + lote.quantidade + " tropas para " + tipo);
         }
-        Gdx.app.log("Controlador", "Total do turno: " + total);
+        log.log("Controlador", "Total do turno: " + total);
     }
 
     public boolean alocarTropas(Territorio territorio, int quantidade) {
         // Validação de posse
         Jogador dono = getJogadorPorId(territorio.getPlayerId());
         if (!dono.equals(this.jogadorAtual)) {
-            Gdx.app.log("Controlador", "Alocação falhou: Território não é seu.");
+            log.log("Controlador", "Alocação falhou: Território não é seu.");
             return false;
         }
 
@@ -226,35 +283,30 @@ public class ControladorDePartida {
 
         // Validação de quantidade
         if (quantidade > loteAtual.quantidade) {
-            Gdx.app.log("Controlador", "Alocação falhou: Quantidade excede o lote atual (" + loteAtual.quantidade + ").");
+            log.log("Controlador", "Alocação falhou: Quantidade excede o lote atual (" + loteAtual.quantidade + ").");
             return false;
         }
         if (quantidade < 1) return false;
 
         // Validação de restrição por continente
-        if (loteAtual.restricao != null) {
-            String continenteTerritorio = territorio.getContinente();
-            String continenteRestricao = loteAtual.restricao.getNome();
-            Gdx.app.log("Controlador",continenteTerritorio);
-            Gdx.app.log("Controlador",continenteRestricao);
-            if (!continenteTerritorio.equalsIgnoreCase(continenteRestricao)) {
-                Gdx.app.log("Controlador", "Alocação falhou: Este bônus é exclusivo para " + continenteRestricao);
-                return false;
-            }
+        if (loteAtual.restricao != null && territorio.getContinente() != loteAtual.restricao) {
+            log.log("Controlador", "Alocação falhou: Este bônus é exclusivo para " + loteAtual.restricao.getNome());
+            return false;
         }
 
         // Execução: adiciona tropas
-        territorio.setTropas(territorio.getTropas() + quantidade);
+        alterarTropas(territorio, territorio.getTropas() + quantidade);
 
         // Atualiza o lote (assumindo que 'quantidade' não é final)
         loteAtual.quantidade -= quantidade;
 
-        Gdx.app.log("Controlador", "Alocou " + quantidade + " em " + territorio.getNome());
+        eventos.publicar(EventoPartida.Tipo.TROPAS_ALOCADAS, jogadorAtual.getPlayerId(), -1, territorio.getId(), quantidade, 0);
+        if (log.isAtivo()) log.log("Controlador", "Alocou " + quantidade + " em " + territorio.getNome());
 
         // Remove lote se acabou
         if (loteAtual.quantidade <= 0) {
             this.filaDeReforcos.poll();
-            Gdx.app.log("Controlador", "Lote finalizado. Passando para o próximo.");
+            log.log("Controlador", "Lote finalizado. Passando para o próximo.");
         }
 
         return true;
@@ -266,7 +318,7 @@ public class ControladorDePartida {
 
         // 1. Validação
         if (!ServicoDeCartas.isCombinacaoValida(cartasSelecionadas.get(0), cartasSelecionadas.get(1), cartasSelecionadas.get(2))) {
-            Gdx.app.log("Controlador", "Troca falhou: Combinação inválida.");
+            log.log("Controlador", "Troca falhou: Combinação inválida.");
             return false;
         }
 
@@ -291,7 +343,7 @@ public class ControladorDePartida {
             this.filaDeReforcos.offer(new LoteReforco(bonusExercitos, null));
         }
 
-        Gdx.app.log("Controlador", "Troca #" + this.contadorGlobalDeTrocas + " efetuada. Bônus: " + bonusExercitos);
+        log.log("Controlador", "Troca #" + this.contadorGlobalDeTrocas + " efetuada. Bônus: " + bonusExercitos);
 
         // 3. Aplicação de Bônus de Território e Remoção
         for (Carta carta : cartasSelecionadas) {
@@ -301,41 +353,94 @@ public class ControladorDePartida {
             if (t != null) {
                 Jogador donoTerritorio = getJogadorPorId(t.getPlayerId());
                 if (donoTerritorio != null && donoTerritorio.equals(this.jogadorAtual)) {
-                    t.setTropas(t.getTropas() + 2);
-                    Gdx.app.log("Controlador", "Bônus de Território: +2 tropas em " + t.getNome());
+                    alterarTropas(t, t.getTropas() + 2);
+                    log.log("Controlador", "Bônus de Território: +2 tropas em " + t.getNome());
                 }
             }
             this.jogadorAtual.getCartas().remove(carta);
         }
+        sincronizarMao(this.jogadorAtual);
+        // Publicado depois do bônus de território, para os consumidores já verem as tropas novas
+        eventos.publicar(EventoPartida.Tipo.CARTAS_TROCADAS, jogadorAtual.getPlayerId(), -1, -1, bonusExercitos, contadorGlobalDeTrocas);
 
         // 4. Retorno ao Baralho
-        BaralhoDeTroca.getInstance().receberTroca(cartasSelecionadas);
+        this.baralho.receberTroca(cartasSelecionadas);
         return true;
     }
 
     // --- AÇÕES DO JOGADOR: ATAQUE ---
 
+    /** Uma rodada de dados. O ResultadoCombate devolvido é reutilizado no próximo ataque (use copia() para guardar). */
     public ResultadoCombate realizarAtaque(Territorio atacante, Territorio defensor) {
 
         // Lógica Unificada: Pega o defensor pelo ID
         Jogador jogadorDefensor = getJogadorPorId(defensor.getPlayerId());
 
         // Executa lógica de dados
-        AtaqueLogica logica = new AtaqueLogica(atacante, defensor, this.jogadorAtual, jogadorDefensor, this.mapa);
+        AtaqueLogica logica = prepararAtaque(atacante, defensor, jogadorDefensor);
         ResultadoCombate resultado = logica.executarUmaRodada();
+        processarAtaque(atacante, defensor, jogadorDefensor, resultado.estado, resultado.perdasAtacante, resultado.perdasDefensor);
+        return resultado;
+    }
+
+    /**
+     * Ataque relâmpago: resolve a batalha inteira numa chamada (até conquistar, esgotar o atacante
+     * ou ele ficar com 'limiteDeParada' tropas ou menos) e devolve só as perdas agregadas.
+     * @param amostrarDesfecho true = sorteia o estado final direto da distribuição exata do par (atacante, defensor)
+     */
+    public ResultadoBatalha realizarAtaqueCompleto(Territorio atacante, Territorio defensor, int limiteDeParada, boolean amostrarDesfecho) {
+        Jogador jogadorDefensor = getJogadorPorId(defensor.getPlayerId());
+
+        AtaqueLogica logica = prepararAtaque(atacante, defensor, jogadorDefensor);
+        ResultadoBatalha resultado = logica.executarBatalha(limiteDeParada, amostrarDesfecho);
+        if (resultado.perdasAtacante + resultado.perdasDefensor > 0) {
+            processarAtaque(atacante, defensor, jogadorDefensor, resultado.estado, resultado.perdasAtacante, resultado.perdasDefensor);
+        }
+        return resultado;
+    }
+
+    public ResultadoBatalha realizarAtaqueCompleto(Territorio atacante, Territorio defensor) {
+        return realizarAtaqueCompleto(atacante, defensor, 1, true);
+    }
+
+    /** Reaproveita a mesma AtaqueLogica (e o seu ResultadoCombate) em todos os ataques da partida. */
+    private AtaqueLogica prepararAtaque(Territorio atacante, Territorio defensor, Jogador jogadorDefensor) {
+        if (ataque == null) {
+            ataque = new AtaqueLogica(atacante, defensor, this.jogadorAtual, jogadorDefensor, this.mapa, aleatorio.getDados());
+        } else {
+            ataque.preparar(atacante, defensor, this.jogadorAtual, jogadorDefensor, this.mapa);
+        }
+        return ataque;
+    }
+
+    /** Sincroniza tropas e posse depois de um ataque (uma rodada ou uma batalha inteira) e publica os eventos. */
+    private void processarAtaque(Territorio atacante, Territorio defensor, Jogador jogadorDefensor,
+                                 AtaqueEstado estado, int perdasAtacante, int perdasDefensor) {
+        sincronizarTropas(atacante);
+        sincronizarTropas(defensor);
+        eventos.publicar(EventoPartida.Tipo.ATAQUE_RESOLVIDO, jogadorAtual.getPlayerId(), atacante.getId(), defensor.getId(),
+                         perdasAtacante, perdasDefensor);
 
         // Processa Conquista
-        if (resultado.estado == AtaqueEstado.TERRITORIO_CONQUISTADO) {
+        if (estado == AtaqueEstado.TERRITORIO_CONQUISTADO) {
             this.conquistouTerritorioNesteTurno = true;
 
             // Transferência de Posse (Lógica de Negócio)
             jogadorDefensor.removerTerritorio(defensor);
             this.jogadorAtual.adicionarTerritorio(defensor);
+            long bit = 1L << defensor.getId();
+            mascaraPorJogador[jogadorDefensor.getPlayerId()] &= ~bit;
+            mascaraPorJogador[this.jogadorAtual.getPlayerId()] |= bit;
+            hash ^= HashZobrist.dono(defensor.getId(), jogadorDefensor.getPlayerId())
+                  ^ HashZobrist.dono(defensor.getId(), this.jogadorAtual.getPlayerId());
+            eventos.publicar(EventoPartida.Tipo.TERRITORIO_CONQUISTADO, jogadorAtual.getPlayerId(), atacante.getId(), defensor.getId(),
+                             jogadorDefensor.getPlayerId(), 0);
 
             // Checa Eliminação de Jogador
             if (jogadorDefensor.getTerritorios().isEmpty()) {
-                Gdx.app.log("Controlador", "JOGADOR ELIMINADO: " + jogadorDefensor.getNome() + " por " + this.jogadorAtual.getNome());
+                log.log("Controlador", "JOGADOR ELIMINADO: " + jogadorDefensor.getNome() + " por " + this.jogadorAtual.getNome());
                 historicoDeEliminacoes.put(jogadorDefensor, this.jogadorAtual);
+                eventos.publicar(EventoPartida.Tipo.JOGADOR_ELIMINADO, jogadorDefensor.getPlayerId(), -1, -1, jogadorAtual.getPlayerId(), 0);
                 atualizarObjetivosAposEliminacao(jogadorDefensor, this.jogadorAtual);
                 transferirCartasDeEliminacao(jogadorDefensor, this.jogadorAtual);
             }
@@ -343,8 +448,6 @@ public class ControladorDePartida {
 
         // Checa Vitória do Jogo
         verificarVitoria();
-
-        return resultado;
     }
 
     // --- AÇÕES DO JOGADOR: MOVIMENTAÇÃO ---
@@ -363,10 +466,11 @@ public class ControladorDePartida {
         if (tropasParaMover > 3) return false;
 
         // Execução
-        destino.setTropas(tropasParaMover); // (Destino estava zerado)
-        origem.setTropas(origem.getTropas() - tropasParaMover);
+        alterarTropas(destino, tropasParaMover); // (Destino estava zerado)
+        alterarTropas(origem, origem.getTropas() - tropasParaMover);
 
-        Gdx.app.log("Controlador", "Moveu " + tropasParaMover + " após conquista.");
+        eventos.publicar(EventoPartida.Tipo.TROPAS_MOVIDAS, jogadorAtual.getPlayerId(), origem.getId(), destino.getId(), tropasParaMover, 0);
+        log.log("Controlador", "Moveu " + tropasParaMover + " após conquista.");
         return true;
     }
 
@@ -379,7 +483,7 @@ public class ControladorDePartida {
         Jogador donoDestino = getJogadorPorId(destino.getPlayerId());
 
         if (!donoOrigem.equals(this.jogadorAtual) || !donoDestino.equals(this.jogadorAtual)) {
-            Gdx.app.log("Controlador", "Movimento falhou: Territórios não são seus.");
+            log.log("Controlador", "Movimento falhou: Territórios não são seus.");
             return false;
         }
 
@@ -397,26 +501,28 @@ public class ControladorDePartida {
         if (tropasParaMover < 0) return false;
 
         // Execução
-        origem.setTropas(origem.getTropas() - tropasParaMover);
-        destino.setTropas(destino.getTropas() + tropasParaMover);
+        alterarTropas(origem, origem.getTropas() - tropasParaMover);
+        alterarTropas(destino, destino.getTropas() + tropasParaMover);
 
         // Atualiza o snapshot
         int novoLimite = tropasIniciais - tropasParaMover;
         tropasInicioMovimentacao.put(origem, novoLimite);
 
-        Gdx.app.log("Controlador", "Movimento estratégico: " + tropasParaMover);
+        eventos.publicar(EventoPartida.Tipo.TROPAS_MOVIDAS, jogadorAtual.getPlayerId(), origem.getId(), destino.getId(), tropasParaMover, 0);
+        log.log("Controlador", "Movimento estratégico: " + tropasParaMover);
         return true;
     }
 
     // --- MÉTODOS AUXILIARES E DE REGRAS ---
 
     private void darCartaAoJogadorAtual() {
-        Carta novaCarta = BaralhoDeTroca.getInstance().comprarCarta();
+        Carta novaCarta = this.baralho.comprarCarta();
         if (novaCarta != null) {
             this.jogadorAtual.getCartas().add(novaCarta);
-            Gdx.app.log("Controlador", "Carta recebida: " + novaCarta.getSimbolo());
+            sincronizarMao(this.jogadorAtual);
+            log.log("Controlador", "Carta recebida: " + novaCarta.getSimbolo());
         } else {
-            Gdx.app.error("Controlador", "Erro: Baralho vazio.");
+            log.error("Controlador", "Erro: Baralho vazio.");
         }
     }
 
@@ -428,7 +534,7 @@ public class ControladorDePartida {
                 objetivo.getCorJogadorAlvo() == eliminado.getCor()) {
 
                 if (jogador != eliminador) {
-                    Gdx.app.log("Controlador", "Objetivo alterado para " + jogador.getNome() + " (Alvo perdido).");
+                    log.log("Controlador", "Objetivo alterado para " + jogador.getNome() + " (Alvo perdido).");
                     Objetivo novoObjetivo = new Objetivo(99+jogador.getPlayerId(), "Conquistar 24 territorios", "assets/Carta/52.png", 24);
                     jogador.setObjetivo(novoObjetivo);
                 }
@@ -436,19 +542,80 @@ public class ControladorDePartida {
         }
     }
 
+    /**
+     * Vencedor da partida, ou null. Só reavalia os objetivos se o estado mudou desde a última chamada,
+     * então pode ser chamado a cada frame.
+     */
     public Jogador verificarVitoria() {
+        if (versaoVerificada == versaoEstado) return vencedorEmCache;
+
         Jogador vencedor = verificadorObjetivos.verificarTodosObjetivos();
+        versaoVerificada = versaoEstado;
+        vencedorEmCache = vencedor;
         if (vencedor != null) {
-            Gdx.app.log("Controlador", "VITÓRIA! " + vencedor.getNome() + " venceu.");
+            log.log("Controlador", "VITÓRIA! " + vencedor.getNome() + " venceu.");
         }
         return vencedor;
     }
 
+    // Ponto único de escrita de tropas: mantém o bitboard de 2+ tropas e invalida o cache de vitória
+    private void alterarTropas(Territorio t, int tropas) {
+        t.setTropas(tropas);
+        sincronizarTropas(t);
+    }
+
+    // Para tropas alteradas por quem não passa pelo alterarTropas (ex.: AtaqueLogica)
+    private void sincronizarTropas(Territorio t) {
+        versaoEstado++;
+        int id = t.getId();
+        if (id < 0) return;
+        hash ^= HashZobrist.tropas(id, tropasNoHash[id]) ^ HashZobrist.tropas(id, t.getTropas());
+        tropasNoHash[id] = t.getTropas();
+        long bit = 1L << id;
+        if (t.getTropas() >= 2) {
+            mascaraDuasTropas |= bit;
+        } else {
+            mascaraDuasTropas &= ~bit;
+        }
+    }
+
+    private void mudarFase(EstadoTurno fase) {
+        hash ^= HashZobrist.fase(this.estadoTurno) ^ HashZobrist.fase(fase);
+        this.estadoTurno = fase;
+    }
+
+    // Chamado depois de qualquer mudança na mão do jogador
+    private void sincronizarMao(Jogador j) {
+        int id = j.getPlayerId();
+        int resumo = HashZobrist.resumoDaMao(j.getCartas());
+        hash ^= HashZobrist.mao(id, maoNoHash[id]) ^ HashZobrist.mao(id, resumo);
+        maoNoHash[id] = resumo;
+    }
+
+    // Recalcula o hash do zero (início da partida e estados restaurados/alterados por fora)
+    private void recalcularHash() {
+        hash = 0L;
+        for (Territorio t : this.territorios) {
+            int id = t.getId();
+            if (id < 0) continue;
+            tropasNoHash[id] = t.getTropas();
+            hash ^= HashZobrist.dono(id, t.getPlayerId()) ^ HashZobrist.tropas(id, t.getTropas());
+        }
+        Arrays.fill(maoNoHash, 0);
+        for (Jogador j : this.jogadores) {
+            maoNoHash[j.getPlayerId()] = HashZobrist.resumoDaMao(j.getCartas());
+            hash ^= HashZobrist.mao(j.getPlayerId(), maoNoHash[j.getPlayerId()]);
+        }
+        if (this.estadoTurno != null) {
+            hash ^= HashZobrist.jogadorDaVez(this.indiceJogadorAtual) ^ HashZobrist.fase(this.estadoTurno);
+        }
+    }
+
     private void imprimirObjetivosJogadores() {
-        Gdx.app.log("DEBUG", "=== OBJETIVOS ===");
+        log.log("DEBUG", "=== OBJETIVOS ===");
         for (Jogador j : jogadores) {
             String desc = (j.getObjetivo() != null) ? j.getObjetivo().getDescricao() : "SEM OBJETIVO";
-            Gdx.app.log("DEBUG", j.getNome() + " (" + j.getCor() + "): " + desc);
+            log.log("DEBUG", j.getNome() + " (" + j.getCor() + "): " + desc);
         }
     }
 
@@ -467,7 +634,7 @@ public class ControladorDePartida {
         // Se a vítima não tem cartas, não faz nada
         if (cartasDaVitima.isEmpty()) return;
 
-        Gdx.app.log("Controlador", "Transferindo " + cartasDaVitima.size() + " cartas de " + eliminado.getNome() + " para " + eliminador.getNome());
+        log.log("Controlador", "Transferindo " + cartasDaVitima.size() + " cartas de " + eliminado.getNome() + " para " + eliminador.getNome());
 
         List<Carta> sobras = new java.util.ArrayList<>();
 
@@ -482,12 +649,14 @@ public class ControladorDePartida {
 
         // Se houve sobras (mão cheia), devolve ao baralho
         if (!sobras.isEmpty()) {
-            Gdx.app.log("Controlador", "Mão cheia! " + sobras.size() + " cartas devolvidas ao baralho.");
-            BaralhoDeTroca.getInstance().receberTroca(sobras);
+            log.log("Controlador", "Mão cheia! " + sobras.size() + " cartas devolvidas ao baralho.");
+            this.baralho.receberTroca(sobras);
         }
 
         // Limpa a mão do eliminado (segurança)
         cartasDaVitima.clear();
+        sincronizarMao(eliminado);
+        sincronizarMao(eliminador);
     }
 
     // --- GETTERS ---
@@ -495,6 +664,11 @@ public class ControladorDePartida {
     public List<Jogador> getJogadores() { return jogadores; }
     public Array<Territorio> getTerritorios() { return territorios; }
     public Mapa getMapa() { return mapa; }
+    public LogDePartida getLog() { return log; }
+    public FluxoDeEventos getEventos() { return eventos; }
+    public CampoDeFronteira getCampoDeFronteira() { return campoDeFronteira; }
+    public FonteAleatoria getFonteAleatoria() { return aleatorio; }
+    public BaralhoDeTroca getBaralho() { return baralho; }
     public Jogador getJogadorAtual() { return jogadorAtual; }
     public EstadoTurno getEstadoTurno() { return estadoTurno; }
 
@@ -523,7 +697,110 @@ public class ControladorDePartida {
         return null; // Sem restrição (Global)
     }
 
+    /** Continente que restringe o lote atual, ou null se o lote é livre. */
+    public Continente getContinenteRestricaoAtual() {
+        LoteReforco lote = filaDeReforcos.peek();
+        return (lote != null) ? lote.restricao : null;
+    }
+
+    /**
+     * Hash Zobrist do estado atual (dono e tropas por território, vez, fase e mãos), mantido
+     * incrementalmente. Igual ao HashZobrist.calcular() do EstadoCompacto capturado desta partida.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /** Bitboard dos territórios do jogador (bit = ID do território). */
+    public long getMascaraDe(Jogador jogador) {
+        return mascaraPorJogador[jogador.getPlayerId()];
+    }
+
+    /** Quantos territórios do jogador têm 2 ou mais tropas. O(1). */
+    public int getQtdTerritoriosComDuasTropas(Jogador jogador) {
+        return Long.bitCount(mascaraPorJogador[jogador.getPlayerId()] & mascaraDuasTropas);
+    }
+
+    /** Quantos territórios do continente pertencem ao jogador. O(1). */
+    public int getQtdTerritoriosNoContinente(Jogador jogador, Continente continente) {
+        return Long.bitCount(mascaraPorJogador[jogador.getPlayerId()] & mapa.getMascaraContinente(continente));
+    }
+
+    /**
+     * Reconstrói os bitboards a partir dos territórios e invalida o cache de vitória.
+     * Necessário apenas se posse ou tropas forem alteradas por fora do controlador.
+     */
+    public void recalcularMascaras() {
+        Arrays.fill(mascaraPorJogador, 0L);
+        mascaraDuasTropas = 0L;
+        for (Territorio t : this.territorios) {
+            if (t.getId() < 0) continue;
+            mascaraPorJogador[t.getPlayerId()] |= 1L << t.getId();
+            if (t.getTropas() >= 2) mascaraDuasTropas |= 1L << t.getId();
+        }
+        recalcularHash();
+        versaoEstado++;
+        eventos.publicar(EventoPartida.Tipo.ESTADO_REDEFINIDO, -1, -1, -1, 0, 0);
+    }
+
+    private void publicarFase() {
+        eventos.publicar(EventoPartida.Tipo.FASE_ALTERADA, jogadorAtual.getPlayerId(), -1, -1, estadoTurno.ordinal(), 0);
+    }
+
+    /** Indica se a partida já passou pelo iniciarPartida(). */
+    public boolean isIniciada() {
+        return this.mapa != null;
+    }
+
     public boolean isPrimeiraRodada() {
         return primeiraRodada;
     }
+
+    /**
+     * Liga/desliga o disparo automático do turno da IA ao passar a vez.
+     * Desligado, quem controla a partida (ex.: MotorHeadless) chama a IA explicitamente.
+     */
+    public void setTurnoIAAutomatico(boolean turnoIAAutomatico) {
+        this.turnoIAAutomatico = turnoIAAutomatico;
+    }
+
+    /** Define a estratégia que joga os turnos do jogador IA (ex.: RegistroDeEstrategias.criar(nivel)). */
+    public void setEstrategiaIA(Jogador jogador, EstrategiaIA estrategia) {
+        estrategias.put(jogador, estrategia);
+    }
+
+    /** Estratégia do jogador; sem nenhuma definida, usa o IABot com a ConfiguracaoIA padrão. */
+    public EstrategiaIA getEstrategiaIA(Jogador jogador) {
+        return estrategias.computeIfAbsent(jogador, j -> new EstrategiaHeuristica(ConfiguracaoIA.PADRAO));
+    }
+
+    // --- PONTE COM O EstadoCompacto (uso interno do pacote) ---
+
+    int getIndiceJogadorAtual() { return indiceJogadorAtual; }
+    boolean isConquistouTerritorioNesteTurno() { return conquistouTerritorioNesteTurno; }
+    int getContadorGlobalDeTrocas() { return contadorGlobalDeTrocas; }
+    Queue<LoteReforco> getFilaDeReforcos() { return filaDeReforcos; }
+    Map<Territorio, Integer> getTropasInicioMovimentacao() { return tropasInicioMovimentacao; }
+    Map<Jogador, Jogador> getHistoricoDeEliminacoes() { return historicoDeEliminacoes; }
+
+    /** Troca o fluxo de dados (ver FonteAleatoria.ressemearDados); a AtaqueLogica é recriada com o novo fluxo. */
+    void ressemearDados(long semente) {
+        aleatorio.ressemearDados(semente);
+        this.ataque = null;
+    }
+
+    /**
+     * Sobrescreve o estado do turno. Não dispara IA nem recalcula reforços:
+     * quem restaura (EstadoCompacto.aplicarEm) também preenche a fila de reforços.
+     */
+    void restaurarTurno(int indiceJogador, EstadoTurno estado, boolean primeiraRodada,
+                        boolean conquistou, int contadorDeTrocas) {
+        this.indiceJogadorAtual = indiceJogador;
+        this.jogadorAtual = this.jogadores.get(indiceJogador);
+        this.estadoTurno = estado;
+        this.primeiraRodada = primeiraRodada;
+        this.conquistouTerritorioNesteTurno = conquistou;
+        this.contadorGlobalDeTrocas = contadorDeTrocas;
+        recalcularHash();
+    }
 }
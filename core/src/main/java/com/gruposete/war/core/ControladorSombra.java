@@ -0,0 +1,209 @@
+package com.gruposete.war.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cópia privada de uma partida onde uma EstrategiaIA joga o turno fora da thread do jogo.
+ * É criada uma vez por partida real e, a cada turno, recebe o estado dela por EstadoCompacto.aplicarEm.
+ * Grava cada ação (chamada de fora ao controlador) com ids de territórios e cartas e o hash do estado
+ * antes dela, para que o turno seja reproduzido depois na partida real (ver PlanejadorEmSegundoPlano).
+ *
+ * Ações chamadas de dentro de outras (ex.: alocarTropas que passa a vez na primeira rodada)
+ * não são gravadas: na reprodução, a ação de fora as repete sozinha.
+ */
+class ControladorSombra extends ControladorDePartida {
+
+    // --- AÇÕES GRAVADAS: {tipo, a, b, c, d, e} ---
+    static final int ALOCAR = 0;              // a = território, b = quantidade
+    static final int TROCAR_CARTAS = 1;       // a, b, c = ids das cartas
+    static final int ATACAR = 2;              // a = origem, b = destino; d, e = perdas esperadas
+    static final int ATACAR_COMPLETO = 3;     // a, b; c = limite de parada (negativo = amostrar desfecho); d, e
+    static final int MOVER_APOS_CONQUISTA = 4; // a, b, c = quantidade
+    static final int MOVER = 5;               // a, b, c
+    static final int PROXIMA_FASE = 6;
+    static final int PASSAR_A_VEZ = 7;
+    static final int DESCARTAR_REFORCOS = 8;
+
+    private final List<int[]> acoes = new ArrayList<>();
+    private long[] hashesAntes = new long[64];  // hashesAntes[i] = getHash() antes de acoes[i]
+    private boolean gravando;
+    private int profundidade;
+
+    /**
+     * 'replicas' vem de replicar(). Barato: o iniciarPartida() fica para a thread que vai usar a sombra,
+     * e os dados da partida vêm depois, por EstadoCompacto.aplicarEm.
+     */
+    ControladorSombra(List<Jogador> replicas, long semente) {
+        super(replicas, LogDePartida.SILENCIOSO, new FonteAleatoria(semente));
+        setTurnoIAAutomatico(false);
+    }
+
+    /** Jogadores novos com os mesmos ids (EstadoCompacto associa posse, mãos e eliminações por id). */
+    static List<Jogador> replicar(List<Jogador> jogadoresReais) {
+        List<Jogador> copia = new ArrayList<>(jogadoresReais.size());
+        for (Jogador j : jogadoresReais) {
+            copia.add(new Jogador(j.getNome(), j.getCor(), j.getPlayerId(), j.getIsAI()));
+        }
+        return copia;
+    }
+
+    /** Começa a gravar a partir do estado atual (as ações anteriores são descartadas). */
+    void gravar() {
+        acoes.clear();
+        gravando = true;
+        profundidade = 0;
+    }
+
+    /** Cópia das ações gravadas desde gravar(). */
+    List<int[]> getAcoes() {
+        return new ArrayList<>(acoes);
+    }
+
+    /** Cópia dos hashes de antes de cada ação gravada (mesmos índices de getAcoes()). */
+    long[] getHashesAntes() {
+        return Arrays.copyOf(hashesAntes, acoes.size());
+    }
+
+    // Só grava a chamada mais externa
+    private boolean entrar() {
+        return gravando && profundidade++ == 0;
+    }
+
+    private void sair() {
+        if (gravando) profundidade--;
+    }
+
+    private void registrar(long hashAntes, int tipo, int a, int b, int c, int d, int e) {
+        if (acoes.size() == hashesAntes.length) hashesAntes = Arrays.copyOf(hashesAntes, hashesAntes.length * 2);
+        hashesAntes[acoes.size()] = hashAntes;
+        acoes.add(new int[] {tipo, a, b, c, d, e});
+    }
+
+    // --- AÇÕES ---
+
+    @Override
+    public boolean alocarTropas(Territorio territorio, int quantidade) {
+        boolean externa = entrar();
+        long hashAntes = getHash();
+        try {
+            boolean ok = super.alocarTropas(territorio, quantidade);
+            if (externa && ok) registrar(hashAntes, ALOCAR, territorio.getId(), quantidade, 0, 0, 0);
+            return ok;
+        } finally {
+            sair();
+        }
+    }
+
+    @Override
+    public boolean tentarTrocaDeCartas(List<Carta> cartasSelecionadas) {
+        boolean externa = entrar();
+        long hashAntes = getHash();
+        try {
+            // Ids antes da troca: as cartas voltam para o baralho
+            int[] ids = new int[3];
+            if (cartasSelecionadas != null && cartasSelecionadas.size() == 3) {
+                for (int i = 0; i < 3; i++) ids[i] = cartasSelecionadas.get(i).getId();
+            }
+            boolean ok = super.tentarTrocaDeCartas(cartasSelecionadas);
+            if (externa && ok) registrar(hashAntes, TROCAR_CARTAS, ids[0], ids[1], ids[2], 0, 0);
+            return ok;
+        } finally {
+            sair();
+        }
+    }
+
+    @Override
+    public ResultadoCombate realizarAtaque(Territorio atacante, Territorio defensor) {
+        boolean externa = entrar();
+        long hashAntes = getHash();
+        try {
+            ResultadoCombate r = super.realizarAtaque(atacante, defensor);
+            if (externa) {
+                registrar(hashAntes, ATACAR, atacante.getId(), defensor.getId(), 0, r.perdasAtacante, r.perdasDefensor);
+            }
+            return r;
+        } finally {
+            sair();
+        }
+    }
+
+    @Override
+    public ResultadoBatalha realizarAtaqueCompleto(Territorio atacante, Territorio defensor, int limiteDeParada, boolean amostrarDesfecho) {
+        boolean externa = entrar();
+        long hashAntes = getHash();
+        try {
+            ResultadoBatalha r = super.realizarAtaqueCompleto(atacante, defensor, limiteDeParada, amostrarDesfecho);
+            if (externa) {
+                int limite = amostrarDesfecho ? -1 - limiteDeParada : limiteDeParada;
+                registrar(hashAntes, ATACAR_COMPLETO, atacante.getId(), defensor.getId(), limite, r.perdasAtacante, r.perdasDefensor);
+            }
+            return r;
+        } finally {
+            sair();
+        }
+    }
+
+    @Override
+    public boolean moverTropasAposConquista(Territorio origem, Territorio destino, int tropasParaMover) {
+        boolean externa = entrar();
+        long hashAntes = getHash();
+        try {
+            boolean ok = super.moverTropasAposConquista(origem, destino, tropasParaMover);
+            if (externa && ok) registrar(hashAntes, MOVER_APOS_CONQUISTA, origem.getId(), destino.getId(), tropasParaMover, 0, 0);
+            return ok;
+        } finally {
+            sair();
+        }
+    }
+
+    @Override
+    public boolean moverTropasEstrategicas(Territorio origem, Territorio destino, int tropasParaMover) {
+        boolean externa = entrar();
+        long hashAntes = getHash();
+        try {
+            boolean ok = super.moverTropasEstrategicas(origem, destino, tropasParaMover);
+            if (externa && ok) registrar(hashAntes, MOVER, origem.getId(), destino.getId(), tropasParaMover, 0, 0);
+            return ok;
+        } finally {
+            sair();
+        }
+    }
+
+    @Override
+    public void proximaFaseTurno() {
+        boolean externa = entrar();
+        long hashAntes = getHash();
+        try {
+            super.proximaFaseTurno();
+            if (externa) registrar(hashAntes, PROXIMA_FASE, 0, 0, 0, 0, 0);
+        } finally {
+            sair();
+        }
+    }
+
+    @Override
+    public void passarAVez() {
+        boolean externa = entrar();
+        long hashAntes = getHash();
+        try {
+            super.passarAVez();
+            if (externa) registrar(hashAntes, PASSAR_A_VEZ, 0, 0, 0, 0, 0);
+        } finally {
+            sair();
+        }
+    }
+
+    @Override
+    public void descartarReforcosRestantes() {
+        boolean externa = entrar();
+        long hashAntes = getHash();
+        try {
+            super.descartarReforcosRestantes();
+            if (externa) registrar(hashAntes, DESCARTAR_REFORCOS, 0, 0, 0, 0, 0);
+        } finally {
+            sair();
+        }
+    }
+}
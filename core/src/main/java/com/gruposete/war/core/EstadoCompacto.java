@@ -0,0 +1,268 @@
+package com.gruposete.war.core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estado da partida em arrays primitivos, indexados pelo ID estável do território (0..41).
+ *
+ * Feito para busca e simulação: copiar um estado é só um punhado de System.arraycopy,
+ * sem alocar nada (copiarPara reaproveita o destino).
+ *
+ * Convenções:
+ *  - Jogadores são identificados pelo playerId (1..6); 0 = sem dono / nenhum.
+ *  - Mãos de cartas: bit (idDaCarta - 1) ligado = carta na mão (IDs 1..44).
+ *  - Restrição de lote de reforço: Continente.ordinal(), ou SEM_RESTRICAO.
+ *
+ * Os objetivos não fazem parte do estado compacto: continuam nos objetos Jogador.
+ */
+public class EstadoCompacto {
+
+    public static final int MAX_JOGADORES = CorJogador.values().length;
+    public static final int MAX_LOTES = Continente.values().length + 1;   // um por continente + o global
+    public static final byte SEM_RESTRICAO = -1;
+    public static final int SEM_LIMITE = -1;
+
+    private static final ControladorDePartida.EstadoTurno[] FASES = ControladorDePartida.EstadoTurno.values();
+    private static final Continente[] CONTINENTES = Continente.values();
+
+    // --- TERRITÓRIOS ---
+    private final byte[] dono = new byte[Mapa.NUM_TERRITORIOS];
+    private final int[] tropas = new int[Mapa.NUM_TERRITORIOS];
+    // Tropas no início da movimentação (limite de saída por território); SEM_LIMITE se não registrado
+    private final int[] limiteMovimento = new int[Mapa.NUM_TERRITORIOS];
+
+    // --- TURNO ---
+    private int numJogadores;
+    private int indiceJogadorAtual;
+    private int fase;
+    private boolean primeiraRodada;
+    private boolean conquistouNesteTurno;
+    private int contadorDeTrocas;
+
+    // --- FILA DE REFORÇOS ---
+    private int numLotes;
+    private final int[] loteQuantidade = new int[MAX_LOTES];
+    private final byte[] loteRestricao = new byte[MAX_LOTES];
+
+    // --- CARTAS E ELIMINAÇÕES (índice = playerId - 1) ---
+    private final long[] maos = new long[MAX_JOGADORES];
+    private final byte[] eliminadoPor = new byte[MAX_JOGADORES];
+
+    public EstadoCompacto() {
+        Arrays.fill(limiteMovimento, SEM_LIMITE);
+    }
+
+    // --- CÓPIA ---
+
+    /** Copia este estado para 'destino' sem alocar. */
+    public void copiarPara(EstadoCompacto destino) {
+        System.arraycopy(dono, 0, destino.dono, 0, dono.length);
+        System.arraycopy(tropas, 0, destino.tropas, 0, tropas.length);
+        System.arraycopy(limiteMovimento, 0, destino.limiteMovimento, 0, limiteMovimento.length);
+        destino.numJogadores = numJogadores;
+        destino.indiceJogadorAtual = indiceJogadorAtual;
+        destino.fase = fase;
+        destino.primeiraRodada = primeiraRodada;
+        destino.conquistouNesteTurno = conquistouNesteTurno;
+        destino.contadorDeTrocas = contadorDeTrocas;
+        destino.numLotes = numLotes;
+        System.arraycopy(loteQuantidade, 0, destino.loteQuantidade, 0, numLotes);
+        System.arraycopy(loteRestricao, 0, destino.loteRestricao, 0, numLotes);
+        System.arraycopy(maos, 0, destino.maos, 0, maos.length);
+        System.arraycopy(eliminadoPor, 0, destino.eliminadoPor, 0, eliminadoPor.length);
+    }
+
+    public EstadoCompacto copia() {
+        EstadoCompacto c = new EstadoCompacto();
+        copiarPara(c);
+        return c;
+    }
+
+    // --- PONTE COM O MODELO DE OBJETOS ---
+
+    /** Cria um estado compacto a partir de uma partida já iniciada. */
+    public static EstadoCompacto capturar(ControladorDePartida controlador) {
+        EstadoCompacto estado = new EstadoCompacto();
+        estado.lerDe(controlador);
+        return estado;
+    }
+
+    /** Sobrescreve este estado com o da partida (que precisa ter sido iniciada). */
+    public void lerDe(ControladorDePartida controlador) {
+        for (Territorio t : controlador.getTerritorios()) {
+            dono[t.getId()] = (byte) t.getPlayerId();
+            tropas[t.getId()] = t.getTropas();
+        }
+
+        Arrays.fill(limiteMovimento, SEM_LIMITE);
+        for (Map.Entry<Territorio, Integer> e : controlador.getTropasInicioMovimentacao().entrySet()) {
+            limiteMovimento[e.getKey().getId()] = e.getValue();
+        }
+
+        List<Jogador> jogadores = controlador.getJogadores();
+        numJogadores = jogadores.size();
+        indiceJogadorAtual = controlador.getIndiceJogadorAtual();
+        fase = controlador.getEstadoTurno().ordinal();
+        primeiraRodada = controlador.isPrimeiraRodada();
+        conquistouNesteTurno = controlador.isConquistouTerritorioNesteTurno();
+        contadorDeTrocas = controlador.getContadorGlobalDeTrocas();
+
+        numLotes = 0;
+        for (LoteReforco lote : controlador.getFilaDeReforcos()) {
+            loteQuantidade[numLotes] = lote.quantidade;
+            loteRestricao[numLotes] = (lote.restricao != null) ? (byte) lote.restricao.ordinal() : SEM_RESTRICAO;
+            numLotes++;
+        }
+
+        Arrays.fill(maos, 0L);
+        Arrays.fill(eliminadoPor, (byte) 0);
+        for (Jogador j : jogadores) {
+            long mao = 0L;
+            for (Carta c : j.getCartas()) mao |= 1L << (c.getId() - 1);
+            maos[j.getPlayerId() - 1] = mao;
+        }
+        for (Map.Entry<Jogador, Jogador> e : controlador.getHistoricoDeEliminacoes().entrySet()) {
+            eliminadoPor[e.getKey().getPlayerId() - 1] = (byte) e.getValue().getPlayerId();
+        }
+    }
+
+    /**
+     * Escreve este estado de volta nos objetos da partida: territórios, listas dos jogadores,
+     * mãos, baralho e estado do turno. Não dispara a IA.
+     * A partida precisa ser a mesma (mesmos jogadores) de onde o estado foi capturado.
+     */
+    public void aplicarEm(ControladorDePartida controlador) {
+        List<Jogador> jogadores = controlador.getJogadores();
+        Mapa mapa = controlador.getMapa();
+        BaralhoDeTroca baralho = controlador.getBaralho();
+
+        // 1. Territórios e listas de posse (reconstruídas em ordem de ID)
+        for (Jogador j : jogadores) j.getTerritorios().clear();
+        for (int id = 0; id < Mapa.NUM_TERRITORIOS; id++) {
+            Territorio t = mapa.getTerritorioPorId(id);
+            t.setPlayerId(dono[id]);
+            t.setTropas(tropas[id]);
+            Jogador j = controlador.getJogadorPorId(dono[id]);
+            if (j != null) j.adicionarTerritorio(t);
+        }
+        controlador.recalcularMascaras();
+
+        Map<Territorio, Integer> snapshot = controlador.getTropasInicioMovimentacao();
+        snapshot.clear();
+        for (int id = 0; id < Mapa.NUM_TERRITORIOS; id++) {
+            if (limiteMovimento[id] != SEM_LIMITE) snapshot.put(mapa.getTerritorioPorId(id), limiteMovimento[id]);
+        }
+
+        // 2. Cartas: mãos e baralho
+        long todasAsMaos = 0L;
+        for (Jogador j : jogadores) {
+            long mao = maos[j.getPlayerId() - 1];
+            todasAsMaos |= mao;
+            j.getCartas().clear();
+            while (mao != 0) {
+                int bit = Long.numberOfTrailingZeros(mao);
+                j.adicionarCarta(baralho.getCartaPorId(bit + 1));
+                mao &= mao - 1;
+            }
+        }
+        baralho.restaurar(todasAsMaos);
+
+        // 3. Eliminações
+        Map<Jogador, Jogador> historico = controlador.getHistoricoDeEliminacoes();
+        historico.clear();
+        for (Jogador j : jogadores) {
+            Jogador eliminador = controlador.getJogadorPorId(eliminadoPor[j.getPlayerId() - 1]);
+            if (eliminador != null) historico.put(j, eliminador);
+        }
+
+        // 4. Fila de reforços e turno
+        controlador.getFilaDeReforcos().clear();
+        for (int i = 0; i < numLotes; i++) {
+            Continente restricao = (loteRestricao[i] != SEM_RESTRICAO) ? CONTINENTES[loteRestricao[i]] : null;
+            controlador.getFilaDeReforcos().offer(new LoteReforco(loteQuantidade[i], restricao));
+        }
+        controlador.restaurarTurno(indiceJogadorAtual, FASES[fase], primeiraRodada,
+                                   conquistouNesteTurno, contadorDeTrocas);
+    }
+
+    // --- ACESSO ---
+
+    public int getDono(int territorio) { return dono[territorio]; }
+    public void setDono(int territorio, int playerId) { dono[territorio] = (byte) playerId; }
+    public int getTropas(int territorio) { return tropas[territorio]; }
+    public void setTropas(int territorio, int quantidade) { tropas[territorio] = quantidade; }
+    public int getLimiteMovimento(int territorio) { return limiteMovimento[territorio]; }
+    public void setLimiteMovimento(int territorio, int limite) { limiteMovimento[territorio] = limite; }
+
+    public int getNumJogadores() { return numJogadores; }
+    public int getIndiceJogadorAtual() { return indiceJogadorAtual; }
+    public void setIndiceJogadorAtual(int indice) { this.indiceJogadorAtual = indice; }
+    /** playerId do jogador da vez (índice + 1, como no ControladorDePartida). */
+    public int getJogadorAtual() { return indiceJogadorAtual + 1; }
+    public ControladorDePartida.EstadoTurno getFase() { return FASES[fase]; }
+    public void setFase(ControladorDePartida.EstadoTurno fase) { this.fase = fase.ordinal(); }
+    public boolean isPrimeiraRodada() { return primeiraRodada; }
+    public void setPrimeiraRodada(boolean primeiraRodada) { this.primeiraRodada = primeiraRodada; }
+    public boolean isConquistouNesteTurno() { return conquistouNesteTurno; }
+    public void setConquistouNesteTurno(boolean conquistou) { this.conquistouNesteTurno = conquistou; }
+    public int getContadorDeTrocas() { return contadorDeTrocas; }
+    public void setContadorDeTrocas(int contador) { this.contadorDeTrocas = contador; }
+
+    public int getNumLotes() { return numLotes; }
+    public int getLoteQuantidade(int i) { return loteQuantidade[i]; }
+    public void setLoteQuantidade(int i, int quantidade) { loteQuantidade[i] = quantidade; }
+    /** Ordinal do continente do lote, ou SEM_RESTRICAO. */
+    public int getLoteRestricao(int i) { return loteRestricao[i]; }
+
+    public void adicionarLote(int quantidade, int restricao) {
+        loteQuantidade[numLotes] = quantidade;
+        loteRestricao[numLotes] = (byte) restricao;
+        numLotes++;
+    }
+
+    /** Remove o primeiro lote da fila (equivalente ao poll() do controlador). */
+    public void removerPrimeiroLote() {
+        numLotes--;
+        System.arraycopy(loteQuantidade, 1, loteQuantidade, 0, numLotes);
+        System.arraycopy(loteRestricao, 1, loteRestricao, 0, numLotes);
+    }
+
+    public void limparLotes() { numLotes = 0; }
+
+    public long getMao(int playerId) { return maos[playerId - 1]; }
+    public void setMao(int playerId, long mao) { maos[playerId - 1] = mao; }
+    public int getEliminadoPor(int playerId) { return eliminadoPor[playerId - 1]; }
+    public void setEliminadoPor(int playerId, int eliminador) { eliminadoPor[playerId - 1] = (byte) eliminador; }
+
+    // --- IGUALDADE ---
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EstadoCompacto)) return false;
+        EstadoCompacto e = (EstadoCompacto) o;
+        if (numJogadores != e.numJogadores || indiceJogadorAtual != e.indiceJogadorAtual || fase != e.fase
+            || primeiraRodada != e.primeiraRodada || conquistouNesteTurno != e.conquistouNesteTurno
+            || contadorDeTrocas != e.contadorDeTrocas || numLotes != e.numLotes) {
+            return false;
+        }
+        for (int i = 0; i < numLotes; i++) {
+            if (loteQuantidade[i] != e.loteQuantidade[i] || loteRestricao[i] != e.loteRestricao[i]) return false;
+        }
+        return Arrays.equals(dono, e.dono) && Arrays.equals(tropas, e.tropas)
+            && Arrays.equals(limiteMovimento, e.limiteMovimento)
+            && Arrays.equals(maos, e.maos) && Arrays.equals(eliminadoPor, e.eliminadoPor);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = Arrays.hashCode(dono);
+        h = 31 * h + Arrays.hashCode(tropas);
+        h = 31 * h + Arrays.hashCode(maos);
+        h = 31 * h + indiceJogadorAtual;
+        h = 31 * h + fase;
+        return h;
+    }
+}
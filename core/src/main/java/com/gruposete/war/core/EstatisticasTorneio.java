@@ -0,0 +1,118 @@
+package com.gruposete.war.core;
+
+import java.util.List;
+
+/**
+ * Acumulador de resultados de um torneio de IAs.
+ * Cada thread do TorneioIA preenche a sua própria instância (sem locks);
+ * no final as instâncias são somadas com combinar().
+ */
+public class EstatisticasTorneio {
+
+    private static final int NUM_CORES = CorJogador.values().length;
+    private static final int NUM_TIPOS_OBJETIVO = Objetivo.TipoDeObjetivo.values().length;
+
+    private long partidas;
+    private long partidasSemVencedor;
+    private long turnosTotais;
+
+    // Indexados por CorJogador.ordinal()
+    private final long[] partidasPorCor = new long[NUM_CORES];
+    private final long[] vitoriasPorCor = new long[NUM_CORES];
+
+    // Indexados por Objetivo.TipoDeObjetivo.ordinal() (objetivo final de cada jogador)
+    private final long[] sorteiosPorObjetivo = new long[NUM_TIPOS_OBJETIVO];
+    private final long[] vitoriasPorObjetivo = new long[NUM_TIPOS_OBJETIVO];
+
+    // Indexados pela posição da configuração na lista do torneio
+    private final long[] partidasPorConfiguracao;
+    private final long[] vitoriasPorConfiguracao;
+
+    public EstatisticasTorneio(int numConfiguracoes) {
+        this.partidasPorConfiguracao = new long[numConfiguracoes];
+        this.vitoriasPorConfiguracao = new long[numConfiguracoes];
+    }
+
+    /**
+     * Registra uma partida.
+     * @param configuracaoPorCor índice da configuração de IA usada por cada cor (CorJogador.ordinal())
+     */
+    public void registrar(ResultadoPartida resultado, int[] configuracaoPorCor) {
+        partidas++;
+        turnosTotais += resultado.turnosJogados;
+        if (resultado.vencedor == null) partidasSemVencedor++;
+
+        for (Jogador j : resultado.jogadores) {
+            int cor = j.getCor().ordinal();
+            int config = configuracaoPorCor[cor];
+            boolean venceu = (j == resultado.vencedor);
+
+            partidasPorCor[cor]++;
+            partidasPorConfiguracao[config]++;
+            if (j.getObjetivo() != null) sorteiosPorObjetivo[j.getObjetivo().getTipo().ordinal()]++;
+
+            if (venceu) {
+                vitoriasPorCor[cor]++;
+                vitoriasPorConfiguracao[config]++;
+                if (j.getObjetivo() != null) vitoriasPorObjetivo[j.getObjetivo().getTipo().ordinal()]++;
+            }
+        }
+    }
+
+    /** Soma as estatísticas de outro acumulador neste. */
+    public void combinar(EstatisticasTorneio outro) {
+        partidas += outro.partidas;
+        partidasSemVencedor += outro.partidasSemVencedor;
+        turnosTotais += outro.turnosTotais;
+        somar(partidasPorCor, outro.partidasPorCor);
+        somar(vitoriasPorCor, outro.vitoriasPorCor);
+        somar(sorteiosPorObjetivo, outro.sorteiosPorObjetivo);
+        somar(vitoriasPorObjetivo, outro.vitoriasPorObjetivo);
+        somar(partidasPorConfiguracao, outro.partidasPorConfiguracao);
+        somar(vitoriasPorConfiguracao, outro.vitoriasPorConfiguracao);
+    }
+
+    private static void somar(long[] destino, long[] origem) {
+        for (int i = 0; i < destino.length; i++) destino[i] += origem[i];
+    }
+
+    private static double taxa(long vitorias, long total) {
+        return (total == 0) ? 0.0 : (double) vitorias / total;
+    }
+
+    // --- GETTERS ---
+
+    public long getPartidas() { return partidas; }
+    public long getPartidasSemVencedor() { return partidasSemVencedor; }
+    public double getMediaDeTurnos() { return (partidas == 0) ? 0.0 : (double) turnosTotais / partidas; }
+
+    public long getPartidasDaCor(CorJogador cor) { return partidasPorCor[cor.ordinal()]; }
+    public long getVitoriasDaCor(CorJogador cor) { return vitoriasPorCor[cor.ordinal()]; }
+    public double getTaxaDeVitoriaDaCor(CorJogador cor) { return taxa(getVitoriasDaCor(cor), getPartidasDaCor(cor)); }
+
+    public long getSorteiosDoObjetivo(Objetivo.TipoDeObjetivo tipo) { return sorteiosPorObjetivo[tipo.ordinal()]; }
+    public long getVitoriasDoObjetivo(Objetivo.TipoDeObjetivo tipo) { return vitoriasPorObjetivo[tipo.ordinal()]; }
+    public double getTaxaDeVitoriaDoObjetivo(Objetivo.TipoDeObjetivo tipo) { return taxa(getVitoriasDoObjetivo(tipo), getSorteiosDoObjetivo(tipo)); }
+
+    public long getPartidasDaConfiguracao(int indice) { return partidasPorConfiguracao[indice]; }
+    public long getVitoriasDaConfiguracao(int indice) { return vitoriasPorConfiguracao[indice]; }
+    public double getTaxaDeVitoriaDaConfiguracao(int indice) { return taxa(getVitoriasDaConfiguracao(indice), getPartidasDaConfiguracao(indice)); }
+
+    /** Relatório legível (uma linha por cor, objetivo e configuração). */
+    public String resumo(List<String> nomes) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Partidas: %d | Sem vencedor: %d | Média de turnos: %.1f%n",
+            partidas, partidasSemVencedor, getMediaDeTurnos()));
+        for (CorJogador cor : CorJogador.values()) {
+            if (getPartidasDaCor(cor) == 0) continue;
+            sb.append(String.format("  Cor %-9s %6.2f%% (%d/%d)%n", cor, 100 * getTaxaDeVitoriaDaCor(cor), getVitoriasDaCor(cor), getPartidasDaCor(cor)));
+        }
+        for (Objetivo.TipoDeObjetivo tipo : Objetivo.TipoDeObjetivo.values()) {
+            sb.append(String.format("  Objetivo %-22s %6.2f%% (%d/%d)%n", tipo, 100 * getTaxaDeVitoriaDoObjetivo(tipo), getVitoriasDoObjetivo(tipo), getSorteiosDoObjetivo(tipo)));
+        }
+        for (int i = 0; i < partidasPorConfiguracao.length; i++) {
+            sb.append(String.format("  IA %-20s %6.2f%% (%d/%d)%n", nomes.get(i), 100 * getTaxaDeVitoriaDaConfiguracao(i), getVitoriasDaConfiguracao(i), getPartidasDaConfiguracao(i)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.gruposete.war.core;
+
+import com.badlogic.gdx.Gdx;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+/**
+ * O IABot guloso como EstrategiaIA. Um bot por partida e jogador, reaproveitado nos turnos seguintes
+ * (inclusive na sombra do PlanejadorEmSegundoPlano, que é a mesma partida a cada turno).
+ */
+public class EstrategiaHeuristica implements EstrategiaIA {
+
+    private final ConfiguracaoIA config;
+
+    // Índice = playerId; valem para a partida de 'mapaDosBots'
+    private final IABot[] bots = new IABot[EstadoCompacto.MAX_JOGADORES + 1];
+    private Mapa mapaDosBots;
+    private Executor threadDoJogo = r -> Gdx.app.postRunnable(r);
+
+    public EstrategiaHeuristica(ConfiguracaoIA config) {
+        this.config = config;
+    }
+
+    @Override
+    public String getNome() {
+        return config.getNome();
+    }
+
+    public ConfiguracaoIA getConfiguracao() {
+        return config;
+    }
+
+    @Override
+    public void jogarTurnoSincrono(ControladorDePartida controlador, Jogador jogador) {
+        getBot(controlador, jogador).jogarTurnoSincrono();
+    }
+
+    @Override
+    public void executarTurno(ControladorDePartida controlador, Jogador jogador) {
+        // O bot joga numa cópia da partida em segundo plano; as ações voltam pelo 'threadDoJogo'
+        PlanejadorEmSegundoPlano.jogarTurno(this, controlador, jogador, threadDoJogo);
+    }
+
+    /** Onde as ações planejadas em segundo plano são aplicadas (padrão: thread de render do libGDX). */
+    public void setThreadDoJogo(Executor threadDoJogo) {
+        this.threadDoJogo = threadDoJogo;
+    }
+
+    // O mapa identifica a partida: é criado de novo em cada iniciarPartida()
+    private IABot getBot(ControladorDePartida controlador, Jogador jogador) {
+        if (mapaDosBots != controlador.getMapa()) {
+            Arrays.fill(bots, null);
+            mapaDosBots = controlador.getMapa();
+        }
+        int id = jogador.getPlayerId();
+        if (bots[id] == null || bots[id].getJogador() != jogador) {
+            bots[id] = new IABot(controlador, jogador, config);
+        }
+        return bots[id];
+    }
+}
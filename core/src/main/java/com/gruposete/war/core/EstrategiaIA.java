@@ -0,0 +1,26 @@
+package com.gruposete.war.core;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Estratégia que joga o turno de um Jogador controlado pela IA (heurística, MCTS, busca, remota...).
+ *
+ * Uma instância fica associada ao jogador durante a partida inteira (ControladorDePartida.setEstrategiaIA),
+ * então pode guardar caches entre um turno e outro.
+ */
+public interface EstrategiaIA {
+
+    String getNome();
+
+    /** Joga o turno inteiro na thread atual e passa a vez (modo headless, testes, torneios). */
+    void jogarTurnoSincrono(ControladorDePartida controlador, Jogador jogador);
+
+    /**
+     * Joga o turno a partir do jogo com interface (chamado ao passar a vez).
+     * Padrão: joga o turno síncrono numa cópia da partida, em segundo plano, e reproduz as ações
+     * pelo Gdx.app.postRunnable (ver PlanejadorEmSegundoPlano). Nenhuma decisão é tomada na thread de render.
+     */
+    default void executarTurno(ControladorDePartida controlador, Jogador jogador) {
+        PlanejadorEmSegundoPlano.jogarTurno(this, controlador, jogador, r -> Gdx.app.postRunnable(r));
+    }
+}
@@ -0,0 +1,71 @@
+package com.gruposete.war.core;
+
+import com.badlogic.gdx.Gdx;
+import java.util.concurrent.Executor;
+
+/**
+ * A IAMonteCarlo como EstrategiaIA, com o orçamento de busca aplicado a cada decisão.
+ * A tabela de transposição (se o orçamento tiver memória para ela) vive enquanto a estratégia viver:
+ * é reaproveitada de um turno para o outro e só é limpa quando começa outra partida.
+ *
+ * No jogo com interface, a busca roda em segundo plano e as ações voltam pelo Gdx.app.postRunnable,
+ * então aumentar o orçamento não derruba a taxa de quadros.
+ */
+public class EstrategiaMonteCarlo implements EstrategiaIA {
+
+    private final OrcamentoIA orcamento;
+
+    private IAMonteCarlo ia;
+    private ControladorDePartida controladorDaIA;
+    private Mapa mapaDaIA;
+    private TabelaDeTransposicao transposicao;
+    private Executor threadDoJogo = r -> Gdx.app.postRunnable(r);
+
+    public EstrategiaMonteCarlo(OrcamentoIA orcamento) {
+        this.orcamento = orcamento;
+    }
+
+    @Override
+    public String getNome() {
+        return "MCTS (" + orcamento + ")";
+    }
+
+    public OrcamentoIA getOrcamento() {
+        return orcamento;
+    }
+
+    @Override
+    public void jogarTurnoSincrono(ControladorDePartida controlador, Jogador jogador) {
+        getIA(controlador, jogador).jogarTurnoSincrono();
+    }
+
+    @Override
+    public void executarTurno(ControladorDePartida controlador, Jogador jogador) {
+        getIA(controlador, jogador).executarTurno(threadDoJogo);
+    }
+
+    /** Onde as ações planejadas em segundo plano são aplicadas (padrão: thread de render do libGDX). */
+    public void setThreadDoJogo(Executor threadDoJogo) {
+        this.threadDoJogo = threadDoJogo;
+    }
+
+    private IAMonteCarlo getIA(ControladorDePartida controlador, Jogador jogador) {
+        if (ia == null || controladorDaIA != controlador || mapaDaIA != controlador.getMapa() || ia.getJogador() != jogador) {
+            ia = new IAMonteCarlo(controlador, jogador);
+            ia.setTempoPorDecisaoMs(orcamento.getTempoPorDecisaoMs());
+            ia.setIteracoesPorDecisao(orcamento.getIteracoesPorDecisao());
+            ia.setParalelismo(orcamento.getParalelismo());
+            if (orcamento.getMegabytesDeTransposicao() > 0) {
+                if (transposicao == null) {
+                    transposicao = new TabelaDeTransposicao(orcamento.getMegabytesDeTransposicao());
+                } else if (controladorDaIA != controlador || mapaDaIA != controlador.getMapa()) {
+                    transposicao.limpar();
+                }
+                ia.setTabelaDeTransposicao(transposicao);
+            }
+            controladorDaIA = controlador;
+            mapaDaIA = controlador.getMapa();
+        }
+        return ia;
+    }
+}
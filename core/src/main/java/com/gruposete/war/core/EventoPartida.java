@@ -0,0 +1,58 @@
+package com.gruposete.war.core;
+
+/**
+ * Evento de domínio publicado pelo ControladorDePartida no FluxoDeEventos.
+ *
+ * As instâncias são slots pré-alocados do buffer e são reutilizadas: um consumidor
+ * não deve guardar a referência, e sim copiar o que precisar (ou usar copiarDe).
+ *
+ * Territórios são IDs estáveis (0..41), jogadores são playerIds; -1 = não se aplica.
+ * Significado de cada campo por tipo:
+ *  - TROPAS_ALOCADAS:        jogador, destino, valor = quantidade
+ *  - TROPAS_MOVIDAS:         jogador, origem, destino, valor = quantidade
+ *  - ATAQUE_RESOLVIDO:       jogador = atacante, origem, destino, valor = perdas do atacante, extra = perdas do defensor
+ *  - TERRITORIO_CONQUISTADO: jogador = conquistador, origem, destino, valor = dono anterior
+ *  - JOGADOR_ELIMINADO:      jogador = eliminado, valor = eliminador
+ *  - CARTAS_TROCADAS:        jogador, valor = bônus recebido, extra = número da troca
+ *  - FASE_ALTERADA:          jogador, valor = EstadoTurno.ordinal() da nova fase
+ *  - VEZ_PASSADA:            jogador = novo jogador da vez, valor = jogador anterior
+ *  - ESTADO_REDEFINIDO:      o estado foi reconstruído por inteiro (início ou restauração); recalcule do zero
+ */
+public class EventoPartida {
+
+    public enum Tipo {
+        TROPAS_ALOCADAS,
+        TROPAS_MOVIDAS,
+        ATAQUE_RESOLVIDO,
+        TERRITORIO_CONQUISTADO,
+        JOGADOR_ELIMINADO,
+        CARTAS_TROCADAS,
+        FASE_ALTERADA,
+        VEZ_PASSADA,
+        ESTADO_REDEFINIDO
+    }
+
+    public Tipo tipo;
+    public long sequencia;
+    public int jogador;
+    public int origem;
+    public int destino;
+    public int valor;
+    public int extra;
+
+    public void copiarDe(EventoPartida outro) {
+        this.tipo = outro.tipo;
+        this.sequencia = outro.sequencia;
+        this.jogador = outro.jogador;
+        this.origem = outro.origem;
+        this.destino = outro.destino;
+        this.valor = outro.valor;
+        this.extra = outro.extra;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequencia + " " + tipo + " (jogador " + jogador + ", " + origem + " -> " + destino
+            + ", valor " + valor + ", extra " + extra + ")";
+    }
+}
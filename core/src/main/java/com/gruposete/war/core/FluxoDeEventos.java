@@ -0,0 +1,164 @@
+package com.gruposete.war.core;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Buffer circular de eventos da partida, pré-alocado, com um único produtor (a thread do jogo).
+ *
+ * Duas formas de consumir:
+ *  - Consumidores síncronos (adicionarConsumidor): chamados na própria thread do jogo, logo após a publicação.
+ *  - Leitores (criarLeitor): cada um com seu cursor, drenam quando quiserem, de qualquer thread
+ *    (renderização, estatísticas, replays). Sem locks.
+ *
+ * O produtor nunca espera: um leitor que fica mais de 'capacidade' eventos para trás perde os mais antigos
+ * (contados em Leitor.getPerdidos()). Publicar não aloca nada.
+ */
+public class FluxoDeEventos {
+
+    public static final int CAPACIDADE_PADRAO = 1024;
+
+    private final EventoPartida[] slots;
+    // Sequência gravada em cada slot; -1 enquanto o slot está sendo escrito
+    private final AtomicLongArray sequencias;
+    private final int mascara;
+    private final AtomicLong publicado = new AtomicLong(-1);
+    private long proxima;  // só o produtor escreve
+
+    private volatile ConsumidorDeEventos[] consumidores = new ConsumidorDeEventos[0];
+
+    public FluxoDeEventos() {
+        this(CAPACIDADE_PADRAO);
+    }
+
+    /** @param capacidade potência de 2 */
+    public FluxoDeEventos(int capacidade) {
+        if (capacidade <= 0 || Integer.bitCount(capacidade) != 1) {
+            throw new IllegalArgumentException("A capacidade deve ser uma potência de 2: " + capacidade);
+        }
+        this.slots = new EventoPartida[capacidade];
+        this.sequencias = new AtomicLongArray(capacidade);
+        this.mascara = capacidade - 1;
+        for (int i = 0; i < capacidade; i++) {
+            slots[i] = new EventoPartida();
+            sequencias.set(i, -1);
+        }
+    }
+
+    // --- PRODUTOR ---
+
+    public void publicar(EventoPartida.Tipo tipo, int jogador, int origem, int destino, int valor, int extra) {
+        long seq = proxima++;
+        int i = (int) (seq & mascara);
+
+        // Marca o slot como "em escrita" antes de tocar nos campos (leitores atrasados detectam a sobrescrita)
+        sequencias.set(i, -1);
+        VarHandle.storeStoreFence();
+
+        EventoPartida e = slots[i];
+        e.tipo = tipo;
+        e.sequencia = seq;
+        e.jogador = jogador;
+        e.origem = origem;
+        e.destino = destino;
+        e.valor = valor;
+        e.extra = extra;
+
+        sequencias.set(i, seq);
+        publicado.set(seq);
+
+        ConsumidorDeEventos[] atuais = consumidores;
+        for (int k = 0; k < atuais.length; k++) {
+            atuais[k].aoReceber(e);
+        }
+    }
+
+    // --- CONSUMO ---
+
+    /** Registra um consumidor síncrono (roda na thread do jogo a cada publicação). */
+    public synchronized void adicionarConsumidor(ConsumidorDeEventos consumidor) {
+        ConsumidorDeEventos[] novos = Arrays.copyOf(consumidores, consumidores.length + 1);
+        novos[novos.length - 1] = consumidor;
+        consumidores = novos;
+    }
+
+    public synchronized void removerConsumidor(ConsumidorDeEventos consumidor) {
+        for (int i = 0; i < consumidores.length; i++) {
+            if (consumidores[i] == consumidor) {
+                ConsumidorDeEventos[] novos = new ConsumidorDeEventos[consumidores.length - 1];
+                System.arraycopy(consumidores, 0, novos, 0, i);
+                System.arraycopy(consumidores, i + 1, novos, i, novos.length - i);
+                consumidores = novos;
+                return;
+            }
+        }
+    }
+
+    /** Cria um leitor que começa no próximo evento a ser publicado. */
+    public Leitor criarLeitor() {
+        return new Leitor(publicado.get() + 1);
+    }
+
+    /** Sequência do último evento publicado (-1 se nenhum). */
+    public long getUltimaSequencia() {
+        return publicado.get();
+    }
+
+    public int getCapacidade() {
+        return slots.length;
+    }
+
+    /**
+     * Cursor de leitura independente. Cada Leitor deve ser usado por uma única thread.
+     */
+    public final class Leitor {
+        private long proxima;
+        private long perdidos;
+        private final EventoPartida copia = new EventoPartida();
+
+        private Leitor(long inicio) {
+            this.proxima = inicio;
+        }
+
+        /**
+         * Entrega ao consumidor todos os eventos publicados desde a última drenagem, em ordem.
+         * @return quantos eventos foram entregues
+         */
+        public int drenar(ConsumidorDeEventos consumidor) {
+            int entregues = 0;
+            long limite = publicado.get();
+
+            while (proxima <= limite) {
+                int i = (int) (proxima & mascara);
+                if (sequencias.get(i) == proxima) {
+                    copia.copiarDe(slots[i]);
+                    VarHandle.acquireFence();
+                    if (sequencias.get(i) == proxima) {
+                        consumidor.aoReceber(copia);
+                        proxima++;
+                        entregues++;
+                        continue;
+                    }
+                }
+                // O produtor deu a volta no buffer: pula para o evento mais antigo ainda disponível
+                limite = publicado.get();
+                long maisAntigo = Math.max(proxima, limite - mascara);
+                perdidos += maisAntigo - proxima;
+                proxima = maisAntigo;
+            }
+            return entregues;
+        }
+
+        /** Eventos sobrescritos antes de serem lidos. */
+        public long getPerdidos() {
+            return perdidos;
+        }
+
+        /** Quantos eventos publicados ainda não foram lidos. */
+        public long getPendentes() {
+            return publicado.get() + 1 - proxima;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.gruposete.war.core;
+
+import com.badlogic.gdx.utils.Array;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fonte de aleatoriedade de uma partida: uma semente, com fluxos filhos independentes
+ * para dados, baralho, setup e IA (SplittableRandom.split()).
+ *
+ * Com a mesma semente a partida se repete exatamente, e partidas em paralelo
+ * não disputam um gerador compartilhado. Não é thread-safe: uma partida, uma thread.
+ */
+public class FonteAleatoria {
+
+    private final long semente;
+    private SplittableRandom dados;   // Pode ser ressemeado (ver ressemearDados)
+    private final SplittableRandom baralho;
+    private final SplittableRandom setup;
+    private final SplittableRandom ia;
+
+    /** Semente sorteada (use getSemente() para reproduzir a partida depois). */
+    public FonteAleatoria() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    public FonteAleatoria(long semente) {
+        this.semente = semente;
+        SplittableRandom raiz = new SplittableRandom(semente);
+        // A ordem dos split() faz parte do contrato de reprodutibilidade: não reordenar
+        this.dados = raiz.split();
+        this.baralho = raiz.split();
+        this.setup = raiz.split();
+        this.ia = raiz.split();
+    }
+
+    /**
+     * Recomeça o fluxo de dados a partir de 'semente'. Duas fontes ressemeadas com a mesma semente
+     * rolam os mesmos dados para a mesma sequência de ataques (ex.: planejar o turno numa cópia da partida).
+     */
+    void ressemearDados(long semente) {
+        this.dados = new SplittableRandom(semente);
+    }
+
+    public long getSemente() { return semente; }
+    public SplittableRandom getDados() { return dados; }
+    public SplittableRandom getBaralho() { return baralho; }
+    public SplittableRandom getSetup() { return setup; }
+    public SplittableRandom getIA() { return ia; }
+
+    /**
+     * Semente da partida de número 'indice' de uma série (ex.: torneio), derivada da semente da série.
+     * Não depende de qual thread joga a partida.
+     */
+    public static long sementeDerivada(long sementeBase, long indice) {
+        return new SplittableRandom(sementeBase + indice * 0x9E3779B97F4A7C15L).nextLong();
+    }
+
+    // --- EMBARALHAMENTO (Fisher-Yates) ---
+
+    public static <T> void embaralhar(List<T> lista, SplittableRandom random) {
+        for (int i = lista.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            T tmp = lista.get(i);
+            lista.set(i, lista.get(j));
+            lista.set(j, tmp);
+        }
+    }
+
+    public static <T> void embaralhar(Array<T> lista, SplittableRandom random) {
+        for (int i = lista.size - 1; i > 0; i--) {
+            lista.swap(i, random.nextInt(i + 1));
+        }
+    }
+}
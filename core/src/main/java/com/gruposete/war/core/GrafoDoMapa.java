@@ -0,0 +1,152 @@
+package com.gruposete.war.core;
+
+import java.util.Arrays;
+
+/**
+ * Conhecimento global do grafo do tabuleiro, calculado uma vez e consultado em O(1):
+ *  - Distância em passos entre quaisquer dois territórios (matriz 42x42 de bytes, BFS a partir de cada um).
+ *  - Pontos de estrangulamento: pontos de articulação do grafo (removido o território, o mapa se parte).
+ *  - Portas de cada continente: territórios dele com vizinho fora, e os de fora que fazem fronteira com ele.
+ *
+ * Só depende da adjacência, que é a mesma para todo Mapa criado do tabuleiro padrão: as tabelas ficam
+ * num cache estático e são reaproveitadas por todos os mapas (partidas, simulações, torneios).
+ */
+public final class GrafoDoMapa {
+
+    public static final int INALCANCAVEL = -1;
+
+    private static final int N = Mapa.NUM_TERRITORIOS;
+    private static final Continente[] CONTINENTES = Continente.values();
+
+    // Último grafo calculado (na prática, sempre o do tabuleiro padrão)
+    private static volatile GrafoDoMapa cache;
+
+    private final long[] adjacencia;
+    private final byte[] distancias = new byte[N * N];
+    private final long mascaraEstrangulamento;
+    private final long[] portas = new long[CONTINENTES.length];
+    private final long[] entradas = new long[CONTINENTES.length];
+
+    /** Grafo da adjacência dada (bit j de adjacencia[i] = j é vizinho de i), do cache se já foi calculado. */
+    public static GrafoDoMapa de(long[] adjacencia) {
+        GrafoDoMapa atual = cache;
+        if (atual != null && Arrays.equals(atual.adjacencia, adjacencia)) return atual;
+        atual = new GrafoDoMapa(adjacencia.clone());
+        cache = atual;
+        return atual;
+    }
+
+    private GrafoDoMapa(long[] adjacencia) {
+        this.adjacencia = adjacencia;
+        calcularDistancias();
+        this.mascaraEstrangulamento = calcularArticulacoes();
+        calcularPortas();
+    }
+
+    // --- CÁLCULO ---
+
+    // BFS por bitboards a partir de cada território: cada camada é a união das vizinhanças da anterior
+    private void calcularDistancias() {
+        Arrays.fill(distancias, (byte) INALCANCAVEL);
+        for (int origem = 0; origem < N; origem++) {
+            long visitados = 1L << origem;
+            long camada = visitados;
+            for (int d = 0; camada != 0; d++) {
+                for (long c = camada; c != 0; c &= c - 1) {
+                    distancias[origem * N + Long.numberOfTrailingZeros(c)] = (byte) d;
+                }
+                long proxima = 0L;
+                for (long c = camada; c != 0; c &= c - 1) proxima |= adjacencia[Long.numberOfTrailingZeros(c)];
+                camada = proxima & ~visitados;
+                visitados |= camada;
+            }
+        }
+    }
+
+    // Tarjan sobre o grafo não direcionado (fronteira em qualquer sentido liga os dois territórios)
+    private long calcularArticulacoes() {
+        long[] vizinhanca = new long[N];
+        for (int i = 0; i < N; i++) {
+            for (long c = adjacencia[i]; c != 0; c &= c - 1) {
+                int j = Long.numberOfTrailingZeros(c);
+                vizinhanca[i] |= 1L << j;
+                vizinhanca[j] |= 1L << i;
+            }
+        }
+
+        int[] descoberta = new int[N];
+        int[] menor = new int[N];
+        int[] pai = new int[N];
+        Arrays.fill(descoberta, -1);
+        long articulacoes = 0L;
+        int[] relogio = {0};
+        for (int raiz = 0; raiz < N; raiz++) {
+            if (descoberta[raiz] != -1) continue;
+            pai[raiz] = -1;
+            articulacoes |= visitar(raiz, vizinhanca, descoberta, menor, pai, relogio);
+        }
+        return articulacoes;
+    }
+
+    // Profundidade máxima = 42: recursão é segura aqui
+    private static long visitar(int u, long[] vizinhanca, int[] descoberta, int[] menor, int[] pai, int[] relogio) {
+        descoberta[u] = menor[u] = relogio[0]++;
+        long articulacoes = 0L;
+        int filhos = 0;
+        for (long c = vizinhanca[u]; c != 0; c &= c - 1) {
+            int v = Long.numberOfTrailingZeros(c);
+            if (descoberta[v] == -1) {
+                filhos++;
+                pai[v] = u;
+                articulacoes |= visitar(v, vizinhanca, descoberta, menor, pai, relogio);
+                menor[u] = Math.min(menor[u], menor[v]);
+                if (pai[u] != -1 && menor[v] >= descoberta[u]) articulacoes |= 1L << u;
+            } else if (v != pai[u]) {
+                menor[u] = Math.min(menor[u], descoberta[v]);
+            }
+        }
+        if (pai[u] == -1 && filhos > 1) articulacoes |= 1L << u;
+        return articulacoes;
+    }
+
+    // Continentes pelos IDs estáveis (faixas contíguas, ver Mapa.getContinentePorId)
+    private void calcularPortas() {
+        for (int t = 0; t < N; t++) {
+            int c = Mapa.getContinentePorId(t).ordinal();
+            for (long viz = adjacencia[t]; viz != 0; viz &= viz - 1) {
+                int v = Long.numberOfTrailingZeros(viz);
+                int cv = Mapa.getContinentePorId(v).ordinal();
+                if (cv == c) continue;
+                portas[c] |= 1L << t;
+                entradas[cv] |= 1L << t;
+            }
+        }
+    }
+
+    // --- CONSULTAS (O(1)) ---
+
+    /** Menor número de passos de 'a' até 'b' (0 se a == b), ou INALCANCAVEL. */
+    public int distancia(int a, int b) {
+        return distancias[a * N + b];
+    }
+
+    /** Ponto de articulação: sem ele, o grafo do mapa fica desconectado. */
+    public boolean isPontoDeEstrangulamento(int t) {
+        return (mascaraEstrangulamento & (1L << t)) != 0;
+    }
+
+    /** Bitboard de todos os pontos de estrangulamento. */
+    public long getMascaraEstrangulamento() {
+        return mascaraEstrangulamento;
+    }
+
+    /** Territórios do continente que fazem fronteira com outro continente (os que precisam ser defendidos). */
+    public long getPortasDoContinente(Continente c) {
+        return portas[c.ordinal()];
+    }
+
+    /** Territórios de fora que fazem fronteira com o continente (por onde ele é invadido). */
+    public long getEntradasDoContinente(Continente c) {
+        return entradas[c.ordinal()];
+    }
+}
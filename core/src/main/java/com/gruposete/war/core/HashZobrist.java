@@ -0,0 +1,114 @@
+package com.gruposete.war.core;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Hash Zobrist de 64 bits do estado da partida: XOR de uma chave aleatória por componente.
+ *
+ * Componentes: dono e faixa de tropas de cada território, jogador da vez, fase do turno
+ * e um resumo da mão de cada jogador (quantas cartas de cada símbolo, até 3).
+ * Como cada componente entra por XOR, quem altera o estado atualiza o hash em O(1):
+ * hash ^= chave(antigo) ^ chave(novo). Fila de reforços, objetivos e snapshot de movimentação ficam de fora.
+ *
+ * As chaves saem de uma semente fixa: o mesmo estado tem o mesmo hash em qualquer execução
+ * (serve para tabelas de transposição, deduplicar replays e comparar estados do simulador).
+ */
+public final class HashZobrist {
+
+    // Tropas 0..15 são exatas; depois, faixas que dobram (16-31, 32-63, 64-127, 128+)
+    static final int TROPAS_EXATAS = 16;
+    static final int NUM_FAIXAS_DE_TROPAS = TROPAS_EXATAS + 4;
+    // Resumo da mão: 2 bits (0..3 cartas) por símbolo
+    static final int NUM_RESUMOS_DE_MAO = 1 << (2 * SimboloCarta.values().length);
+
+    private static final long SEMENTE = 0x5EED_2A7B_0B1A_57L;
+    private static final int N = Mapa.NUM_TERRITORIOS;
+
+    private static final long[] DONO = new long[N * (EstadoCompacto.MAX_JOGADORES + 1)];
+    private static final long[] TROPAS = new long[N * NUM_FAIXAS_DE_TROPAS];
+    private static final long[] JOGADOR_DA_VEZ = new long[EstadoCompacto.MAX_JOGADORES];
+    private static final long[] FASE = new long[ControladorDePartida.EstadoTurno.values().length];
+    private static final long[] MAO = new long[(EstadoCompacto.MAX_JOGADORES + 1) * NUM_RESUMOS_DE_MAO];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEMENTE);
+        for (long[] tabela : new long[][] { DONO, TROPAS, JOGADOR_DA_VEZ, FASE, MAO }) {
+            for (int i = 0; i < tabela.length; i++) tabela[i] = random.nextLong();
+        }
+        // Mão vazia vale 0: jogadores sem carta não mexem no hash
+        for (int j = 0; j <= EstadoCompacto.MAX_JOGADORES; j++) MAO[j * NUM_RESUMOS_DE_MAO] = 0L;
+    }
+
+    private HashZobrist() {
+    }
+
+    // --- CHAVES ---
+
+    public static long dono(int territorio, int playerId) {
+        return DONO[territorio * (EstadoCompacto.MAX_JOGADORES + 1) + playerId];
+    }
+
+    public static long tropas(int territorio, int tropas) {
+        return TROPAS[territorio * NUM_FAIXAS_DE_TROPAS + faixaDeTropas(tropas)];
+    }
+
+    /** @param indice índice do jogador da vez na ordem de turnos (playerId - 1) */
+    public static long jogadorDaVez(int indice) {
+        return JOGADOR_DA_VEZ[indice];
+    }
+
+    public static long fase(ControladorDePartida.EstadoTurno fase) {
+        return FASE[fase.ordinal()];
+    }
+
+    /** @param resumo valor de resumoDaMao() */
+    public static long mao(int playerId, int resumo) {
+        return MAO[playerId * NUM_RESUMOS_DE_MAO + resumo];
+    }
+
+    // --- COMPONENTES ---
+
+    public static int faixaDeTropas(int tropas) {
+        if (tropas < TROPAS_EXATAS) return Math.max(0, tropas);
+        int faixa = TROPAS_EXATAS + (31 - Integer.numberOfLeadingZeros(tropas)) - 4;
+        return Math.min(faixa, NUM_FAIXAS_DE_TROPAS - 1);
+    }
+
+    public static int resumoDaMao(List<Carta> cartas) {
+        int resumo = 0;
+        for (Carta c : cartas) resumo = somarCarta(resumo, c.getSimbolo());
+        return resumo;
+    }
+
+    /** @param mao bit (idDaCarta - 1) ligado = carta na mão (convenção do EstadoCompacto) */
+    public static int resumoDaMao(long mao) {
+        int resumo = 0;
+        while (mao != 0) {
+            resumo = somarCarta(resumo, BaralhoDeTroca.getSimboloPorId(Long.numberOfTrailingZeros(mao) + 1));
+            mao &= mao - 1;
+        }
+        return resumo;
+    }
+
+    // Contador de 2 bits por símbolo, saturado em 3
+    private static int somarCarta(int resumo, SimboloCarta simbolo) {
+        int deslocamento = 2 * simbolo.ordinal();
+        int qtd = (resumo >>> deslocamento) & 3;
+        return (qtd == 3) ? resumo : resumo + (1 << deslocamento);
+    }
+
+    // --- CÁLCULO COMPLETO ---
+
+    /** Hash do estado compacto; bate com o ControladorDePartida.getHash() da partida capturada. */
+    public static long calcular(EstadoCompacto e) {
+        long hash = 0L;
+        for (int t = 0; t < N; t++) {
+            hash ^= dono(t, e.getDono(t)) ^ tropas(t, e.getTropas(t));
+        }
+        for (int j = 1; j <= e.getNumJogadores(); j++) {
+            hash ^= mao(j, resumoDaMao(e.getMao(j)));
+        }
+        return hash ^ jogadorDaVez(e.getIndiceJogadorAtual()) ^ fase(e.getFase());
+    }
+}
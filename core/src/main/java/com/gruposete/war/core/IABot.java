@@ -1,64 +1,59 @@
 package com.gruposete.war.core;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.Timer;
 import java.util.*;
 
 public class IABot {
 
-    private static class DadosTerritorio {
-        int distanciaAoFront = 9999;
-        float perigoBase = 0f;
-        Territorio territorio;
-        public DadosTerritorio(Territorio t) { this.territorio = t; }
-    }
-
     private final ControladorDePartida controlador;
     private final Jogador eu;
     private final Mapa mapa;
+    private final LogDePartida log;
+    private final ConfiguracaoIA config;
+    private final SplittableRandom random;  // Fluxo de IA da partida (desempates reproduzíveis)
 
-    // Constantes de comportamemnto da IA
+    // Constantes de comportamemnto da IA (os fatores ajustáveis ficam em ConfiguracaoIA)
     private static final float FATOR_DEFESA_ALIADOS = 2.0f;
-    private static final float FATOR_ATAQUE_ESMAGADOR = 4.0f;
-
-    // Delays
-    private static final float DELAY_DISTRIBUICAO = 0.03f;
-    private static final float DELAY_ATAQUE = 0.06f;
-    private static final float DELAY_MOVIMENTO = 0.1f;
 
     public IABot(ControladorDePartida controlador, Jogador jogadorIA) {
+        this(controlador, jogadorIA, ConfiguracaoIA.PADRAO);
+    }
+
+    public IABot(ControladorDePartida controlador, Jogador jogadorIA, ConfiguracaoIA config) {
         this.controlador = controlador;
         this.eu = jogadorIA;
         this.mapa = controlador.getMapa();
+        this.log = controlador.getLog();
+        this.config = config;
+        this.random = controlador.getFonteAleatoria().getIA();
+    }
+
+    public Jogador getJogador() {
+        return eu;
     }
 
-    public void executarTurno() {
-        Gdx.app.log("IA", ">>> INICIANDO TURNO DA IA (" + eu.getCor() + ") <<<");
+    /**
+     * Joga o turno inteiro de uma vez, na thread atual: troca, distribuição, ataque, movimentação e passa a vez.
+     * No jogo com interface roda numa cópia da partida, em segundo plano (ver PlanejadorEmSegundoPlano).
+     */
+    public void jogarTurnoSincrono() {
+        log.log("IA", ">>> INICIANDO TURNO DA IA (" + eu.getCor() + ") <<<");
 
         tentaTrocarCartas();
+        faseDistribuicao();
 
-        Timer.schedule(new Timer.Task() {
-            @Override public void run() { faseDistribuicao(); }
-        }, DELAY_DISTRIBUICAO);
-        if (controlador.isPrimeiraRodada()) return;
-        Timer.schedule(new Timer.Task() {
-            @Override public void run() { faseAtaque(); }
-        }, DELAY_ATAQUE);
-
-        Timer.schedule(new Timer.Task() {
-            @Override
-            public void run() {
-                faseMovimentacao();
-                Gdx.app.log("IA", "<<< ENCERRANDO TURNO DA IA >>>");
-                controlador.passarAVez();
-            }
-        }, DELAY_MOVIMENTO);
+        // Na primeira rodada a própria distribuição já passa a vez
+        if (controlador.getJogadorAtual() != eu) return;
+
+        faseAtaque();
+        faseMovimentacao();
+        log.log("IA", "<<< ENCERRANDO TURNO DA IA >>>");
+        controlador.passarAVez();
     }
 
     // --- FASE 1 DA IA: TROCA ---
-    private void tentaTrocarCartas() {
+    // Visível no pacote: a IAMonteCarlo usa a mesma lógica de troca
+    void tentaTrocarCartas() {
         List<Carta> mao = eu.getCartas();
         if (mao.size() < 3) return;
 
@@ -79,7 +74,7 @@ public class IABot {
     // --- FASE 2 DISTRIBUIÇÂO ---
     private void faseDistribuicao() {
 
-        Gdx.app.log("IA", "Iniciando Distribuição. Total Geral: " + controlador.getTropasADistribuirTotal());
+        if (log.isAtivo()) log.log("IA", "Iniciando Distribuição. Total Geral: " + controlador.getTropasADistribuirTotal());
 
         int safetyCounter = 0;
 
@@ -87,12 +82,12 @@ public class IABot {
 
             safetyCounter++;
             if (safetyCounter > 300) {
-                Gdx.app.log("IA", "ALERTA: Loop de distribuição travou. Forçando saída.");
+                log.log("IA", "ALERTA: Loop de distribuição travou. Forçando saída.");
                 controlador.descartarReforcosRestantes();
                 break;
             }
 
-            String restricao = controlador.getRestricaoAtual();
+            Continente restricao = controlador.getContinenteRestricaoAtual();
 
             if (restricao != null) {
 
@@ -112,7 +107,7 @@ public class IABot {
 
                 if (melhorAtk != null) {
                     Territorio vizinhoFraco = getVizinhoInimigoMaisFraco(melhorAtk);
-                    if (vizinhoFraco != null && melhorAtk.getTropas() > (3 * vizinhoFraco.getTropas())) {
+                    if (vizinhoFraco != null && melhorAtk.getTropas() > (config.getFatorAtaqueGarantido() * vizinhoFraco.getTropas())) {
                         ataqueGarantido = true;
                     }
                 }
@@ -137,8 +132,10 @@ public class IABot {
     private Territorio getTerritorioComMaisTropas() {
         Territorio melhor = null;
         int maior = -1;
+        List<Territorio> meus = eu.getTerritorios();
 
-        for (Territorio t : eu.getTerritorios()) {
+        for (int i = 0; i < meus.size(); i++) {
+            Territorio t = meus.get(i);
             if (t.getTropas() > maior) {
                 maior = t.getTropas();
                 melhor = t;
@@ -149,9 +146,11 @@ public class IABot {
     }
 
 
-    private void alocarFallbackRestrito(String continenteNome) {
-        for (Territorio t : eu.getTerritorios()) {
-            if (t.getContinente().equalsIgnoreCase(continenteNome)) {
+    private void alocarFallbackRestrito(Continente continente) {
+        List<Territorio> meus = eu.getTerritorios();
+        for (int i = 0; i < meus.size(); i++) {
+            Territorio t = meus.get(i);
+            if (t.getContinente() == continente) {
                 controlador.alocarTropas(t, 1);
                 return;
             }
@@ -162,25 +161,28 @@ public class IABot {
         }
     }
 
-    private Territorio getMelhorTerritorioDefesaNovaFormula(String filtroContinente) {
+    // Chamado uma vez por tropa distribuída: não pode alocar (visível no pacote para o teste de alocação)
+    Territorio getMelhorTerritorioDefesaNovaFormula(Continente filtroContinente) {
+        CampoDeFronteira campo = controlador.getCampoDeFronteira();
         Territorio melhor = null;
         float maiorScore = -1f;
+        List<Territorio> meus = eu.getTerritorios();
 
-        for (Territorio t : eu.getTerritorios()) {
-            if (filtroContinente != null && !t.getContinente().equalsIgnoreCase(filtroContinente)) {
+        for (int i = 0; i < meus.size(); i++) {
+            Territorio t = meus.get(i);
+            if (filtroContinente != null && t.getContinente() != filtroContinente) {
                 continue;
             }
 
-            Array<Territorio> inimigos = mapa.getInimigosAdj(t);
-            if (inimigos.size == 0) continue;
+            int numInimigos = campo.getNumInimigos(t.getId());
+            if (numInimigos == 0) continue;
 
-            int totalInimigos = 0;
-            for (Territorio ini : inimigos) totalInimigos += ini.getTropas();
-            int totalAliados = mapa.getAlidadosAdj(t).size;
+            int totalInimigos = campo.getPressao(t.getId());
+            int totalAliados = mapa.getNumVizinhos(t.getId()) - numInimigos;
             int minhas = Math.max(1, t.getTropas());
 
             float score = totalInimigos * ((float)(totalAliados + 1) / (minhas * 3));
-            score += MathUtils.random(0.01f);
+            score += random.nextFloat() * 0.01f;
 
             if (score > maiorScore) {
                 maiorScore = score;
@@ -190,17 +192,20 @@ public class IABot {
         return melhor;
     }
 
-    private Territorio getMelhorTerritorioAtaqueAllIn(int tropasReserva) {
+    // Idem: sem alocação por chamada
+    Territorio getMelhorTerritorioAtaqueAllIn(int tropasReserva) {
         Territorio melhor = null;
         float maiorScore = -1f;
+        List<Territorio> meus = eu.getTerritorios();
 
-        for (Territorio t : eu.getTerritorios()) {
+        for (int i = 0; i < meus.size(); i++) {
+            Territorio t = meus.get(i);
             Territorio vizinhoFraco = getVizinhoInimigoMaisFraco(t);
             if (vizinhoFraco != null) {
                 float minhaForcaPotencial = t.getTropas() + tropasReserva;
                 float forcaInimiga = Math.max(vizinhoFraco.getTropas(), 0.1f);
 
-                float score = (minhaForcaPotencial / forcaInimiga) + MathUtils.random(0.01f);
+                float score = (minhaForcaPotencial / forcaInimiga) + random.nextFloat() * 0.01f;
                 if (score > maiorScore) {
                     maiorScore = score;
                     melhor = t;
@@ -231,17 +236,26 @@ public class IABot {
 
             // Logica de decisão: Agressivo até conseguir carta, dps só com vantagem
             boolean atacar = (!conquistouCarta) ? (origem.getTropas() > alvo.getTropas())
-                : (origem.getTropas() >= alvo.getTropas() * FATOR_ATAQUE_ESMAGADOR);
-
-            if (atacar) {
-                Gdx.app.log("IA", "ATAQUE: " + origem.getNome() + " -> " + alvo.getNome());
+                : temVantagem(origem, alvo, config.getFatorAtaqueEsmagador());
+
+            if (atacar && conquistouCarta && config.isAtaqueProbabilistico()) {
+                // A chance da tabela já é a da batalha até o fim: resolve tudo numa chamada
+                log.log("IA", "ATAQUE RELÂMPAGO: " + origem.getNome() + " -> " + alvo.getNome());
+                ResultadoBatalha batalha = controlador.realizarAtaqueCompleto(origem, alvo);
+                if (batalha.estado == AtaqueEstado.TERRITORIO_CONQUISTADO) {
+                    int disponivel = origem.getTropas() - 1;
+                    int mover = MathUtils.clamp(Math.min(disponivel / 2, 3), 1, disponivel);
+                    controlador.moverTropasAposConquista(origem, alvo, mover);
+                }
+            } else if (atacar) {
+                log.log("IA", "ATAQUE: " + origem.getNome() + " -> " + alvo.getNome());
 
                 while (origem.getTropas() > 1) {
                     // Condição de parada
                     if (!conquistouCarta) {
                         if (origem.getTropas() <= alvo.getTropas()) break;
                     } else {
-                        if (origem.getTropas() < alvo.getTropas() * 3) break;
+                        if (!temVantagem(origem, alvo, config.getFatorContinuarAtaque())) break;
                     }
 
                     ResultadoCombate resultado = controlador.realizarAtaque(origem, alvo);
@@ -263,57 +277,60 @@ public class IABot {
         controlador.proximaFaseTurno();
     }
 
+    /** Vantagem pela razão de tropas ou, na configuração probabilística, pela chance exata de conquista. */
+    private boolean temVantagem(Territorio origem, Territorio alvo, float fator) {
+        if (config.isAtaqueProbabilistico()) {
+            return TabelaProbabilidadeCombate.padrao().getChanceDeConquista(origem.getTropas(), alvo.getTropas())
+                >= config.getChanceMinimaDeConquista();
+        }
+        return origem.getTropas() >= alvo.getTropas() * fator;
+    }
+
     private int getVantagemSobreVizinhoMaisFraco(Territorio t) {
         Territorio alvo = getVizinhoInimigoMaisFraco(t);
         return (alvo == null) ? -999 : (t.getTropas() - alvo.getTropas());
     }
 
     private Territorio getVizinhoInimigoMaisFraco(Territorio t) {
-        Array<Territorio> inimigos = mapa.getInimigosAdj(t);
-        Territorio fraco = null;
-        int min = Integer.MAX_VALUE;
-        for (Territorio ini : inimigos) {
-            if (ini.getTropas() < min) {
-                min = ini.getTropas();
-                fraco = ini;
-            }
-        }
-        return fraco;
+        return mapa.getInimigoAdjMaisFraco(t);
     }
 
     // --- Fase 4, Difusão de tropas para as fronteiras ---
+    // Distância ao front e pressão vêm do CampoDeFronteira (não mudam com a movimentação do próprio jogador)
     private void faseMovimentacao() {
-        Gdx.app.log("IA", "--- Fase de Movimentação ---");
-        Map<Territorio, DadosTerritorio> mapaDados = analisarTerreno();
+        log.log("IA", "--- Fase de Movimentação ---");
+        CampoDeFronteira campo = controlador.getCampoDeFronteira();
+        int jogador = eu.getPlayerId();
 
         // Ordena: Interior (Distancia grande) e Fronteira (Distancia 0)
         List<Territorio> meusTerritorios = new ArrayList<>(eu.getTerritorios());
-        meusTerritorios.sort((t1, t2) -> Integer.compare(mapaDados.get(t2).distanciaAoFront, mapaDados.get(t1).distanciaAoFront));
+        meusTerritorios.sort((t1, t2) -> Integer.compare(campo.getDistanciaAoFront(jogador, t2.getId()), campo.getDistanciaAoFront(jogador, t1.getId())));
 
         for (Territorio origem : meusTerritorios) {
-            DadosTerritorio dadosOrigem = mapaDados.get(origem);
             int maxMover = Math.min(controlador.getTropasIniciaisMovimentacao(origem), origem.getTropas() - 1);
 
             if (maxMover <= 0) continue;
 
-            if (dadosOrigem.distanciaAoFront > 0) {
-                moverInteriorParaFront(origem, maxMover, mapaDados);
+            if (campo.getDistanciaAoFront(jogador, origem.getId()) > 0) {
+                moverInteriorParaFront(origem, maxMover, campo);
             } else {
-                moverEntreFronts(origem, maxMover, mapaDados);
+                moverEntreFronts(origem, maxMover, campo);
             }
         }
     }
 
-    private void moverInteriorParaFront(Territorio origem, int qtdTotal, Map<Territorio, DadosTerritorio> mapaDados) {
-        DadosTerritorio dadosOrigem = mapaDados.get(origem);
-        Array<Territorio> vizinhos = mapa.getAlidadosAdj(origem);
-        Map<Territorio, Float> candidatos = new HashMap<>();
+    private void moverInteriorParaFront(Territorio origem, int qtdTotal, CampoDeFronteira campo) {
+        int jogador = origem.getPlayerId();
+        int distanciaOrigem = campo.getDistanciaAoFront(jogador, origem.getId());
+        Map<Territorio, Float> candidatos = new LinkedHashMap<>();  // Ordem de inserção: movimentos reproduzíveis
         float somaInversos = 0f;
 
-        for (Territorio vizinho : vizinhos) {
-            DadosTerritorio dadosVizinho = mapaDados.get(vizinho);
-            if (dadosVizinho.distanciaAoFront < dadosOrigem.distanciaAoFront) {
-                float peso = 1.0f / Math.max(0.1f, (float) dadosVizinho.distanciaAoFront);
+        for (int k = mapa.getInicioVizinhos(origem.getId()); k < mapa.getFimVizinhos(origem.getId()); k++) {
+            Territorio vizinho = mapa.getVizinho(k);
+            if (vizinho.getPlayerId() != jogador) continue;
+            int distanciaVizinho = campo.getDistanciaAoFront(jogador, vizinho.getId());
+            if (distanciaVizinho < distanciaOrigem) {
+                float peso = 1.0f / Math.max(0.1f, (float) distanciaVizinho);
                 candidatos.put(vizinho, peso);
                 somaInversos += peso;
             }
@@ -335,20 +352,19 @@ public class IABot {
         }
     }
 
-    private void moverEntreFronts(Territorio origem, int qtdDisponivel, Map<Territorio, DadosTerritorio> mapaDados) {
-        DadosTerritorio dadosOrigem = mapaDados.get(origem);
-        Array<Territorio> vizinhos = mapa.getAlidadosAdj(origem);
+    private void moverEntreFronts(Territorio origem, int qtdDisponivel, CampoDeFronteira campo) {
         List<Territorio> grupoFront = new ArrayList<>();
         grupoFront.add(origem);
 
-        float totalPerigo = dadosOrigem.perigoBase;
+        float totalPerigo = campo.getPressao(origem.getId());
         int totalTropas = origem.getTropas();
 
-        for (Territorio vizinho : vizinhos) {
-            DadosTerritorio dadosVizinho = mapaDados.get(vizinho);
-            if (dadosVizinho.distanciaAoFront == 0) {
+        for (int k = mapa.getInicioVizinhos(origem.getId()); k < mapa.getFimVizinhos(origem.getId()); k++) {
+            Territorio vizinho = mapa.getVizinho(k);
+            if (vizinho.getPlayerId() != origem.getPlayerId()) continue;
+            if (campo.isFronteira(vizinho.getId())) {
                 grupoFront.add(vizinho);
-                totalPerigo += dadosVizinho.perigoBase;
+                totalPerigo += campo.getPressao(vizinho.getId());
                 totalTropas += vizinho.getTropas();
             }
         }
@@ -356,15 +372,15 @@ public class IABot {
         if (grupoFront.size() <= 1) return;
 
         float ratioAlvo = (float) totalTropas / Math.max(1.0f, totalPerigo);
-        float meuRatio = (float) origem.getTropas() / Math.max(1.0f, dadosOrigem.perigoBase);
+        float meuRatio = (float) origem.getTropas() / Math.max(1.0f, campo.getPressao(origem.getId()));
         if (meuRatio <= ratioAlvo) return;
 
         // Calcula deficit de tropa
-        Map<Territorio, Integer> demandas = new HashMap<>();
+        Map<Territorio, Integer> demandas = new LinkedHashMap<>();
         int demandaTotal = 0;
         for (Territorio vizinho : grupoFront) {
             if (vizinho == origem) continue;
-            int deficit = Math.round(mapaDados.get(vizinho).perigoBase * ratioAlvo) - vizinho.getTropas();
+            int deficit = Math.round(campo.getPressao(vizinho.getId()) * ratioAlvo) - vizinho.getTropas();
             if (deficit > 0) {
                 demandas.put(vizinho, deficit);
                 demandaTotal += deficit;
@@ -387,40 +403,4 @@ public class IABot {
             }
         }
     }
-
-    // --- MAPEIA (Busca em largura) ---
-    private Map<Territorio, DadosTerritorio> analisarTerreno() {
-        Map<Territorio, DadosTerritorio> dados = new HashMap<>();
-        List<Territorio> meusTerritorios = eu.getTerritorios();
-        Queue<Territorio> fila = new LinkedList<>();
-
-        for (Territorio t : meusTerritorios) {
-            dados.put(t, new DadosTerritorio(t));
-        }
-
-        // 1. Identifica as fronteira
-        for (Territorio t : meusTerritorios) {
-            Array<Territorio> inimigos = mapa.getInimigosAdj(t);
-            if (inimigos.size > 0) {
-                DadosTerritorio dt = dados.get(t);
-                dt.distanciaAoFront = 0;
-                for (Territorio ini : inimigos) dt.perigoBase += ini.getTropas();
-                fila.add(t);
-            }
-        }
-
-        // 2. BFS Distancias
-        while (!fila.isEmpty()) {
-            Territorio atual = fila.poll();
-            DadosTerritorio dadosAtual = dados.get(atual);
-            for (Territorio vizinho : mapa.getAlidadosAdj(atual)) {
-                DadosTerritorio dadosVizinho = dados.get(vizinho);
-                if (dadosVizinho.distanciaAoFront > dadosAtual.distanciaAoFront + 1) {
-                    dadosVizinho.distanciaAoFront = dadosAtual.distanciaAoFront + 1;
-                    fila.add(vizinho);
-                }
-            }
-        }
-        return dados;
-    }
 }
@@ -0,0 +1,480 @@
+package com.gruposete.war.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * IA por busca em árvore Monte Carlo (MCTS), alternativa ao IABot guloso.
+ *
+ * A cada decisão do turno (um lote de reforço, um ataque ou parar, uma movimentação ou passar)
+ * captura o EstadoCompacto da partida e roda a busca sobre SimulacaoRapida:
+ *  - A árvore cobre as decisões do próprio turno; os resultados das batalhas são sorteados de novo
+ *    a cada iteração (árvore "open loop": os filhos são indexados pela ação, não pelo estado).
+ *  - Depois do turno, um rollout joga 'rodadasDeRollout' rodadas com a política gulosa e avalia o estado.
+ *  - Paralelização na raiz: cada worker monta a sua própria árvore com o seu gerador; no fim as
+ *    visitas dos filhos da raiz são somadas e a ação mais visitada é jogada na partida real.
+ *
+ * Orçamento por decisão: tempo (ms) ou, se iteracoesPorDecisao > 0, um número fixo de iterações
+ * por worker (aí a jogada só depende da semente, bom para testes e torneios reproduzíveis).
+ *
+ * Tabela de transposição (opcional): o valor do rollout é guardado pelo hash do estado ao fim do turno.
+ * Ordens diferentes das mesmas jogadas (ex.: os mesmos lotes alocados em outra ordem) caem na mesma
+ * entrada, e o valor devolvido à árvore é a média de todos os rollouts daquele estado, de todos os
+ * workers e das decisões anteriores. Com amostras suficientes, o rollout é pulado.
+ * Compartilhada entre threads, ela torna a busca paralela não reproduzível mesmo com iterações fixas.
+ * Trocas de cartas ficam com a lógica do IABot.
+ *
+ * Com interface, use executarTurno(threadDoJogo): a busca roda fora da thread de render, sobre uma cópia
+ * (EstadoCompacto) do estado, e só a ação escolhida volta para a thread do jogo para ser aplicada.
+ */
+public class IAMonteCarlo {
+
+    // --- CODIFICAÇÃO DAS AÇÕES ---
+    private static final int N = Mapa.NUM_TERRITORIOS;
+    private static final int TIPO_ALOCAR = 0;
+    private static final int TIPO_ATACAR = 1;
+    private static final int TIPO_MOVER = 2;
+    private static final int PARAR_ATAQUES = 3 * N * N;     // Vai para a movimentação
+    private static final int PASSAR_A_VEZ = PARAR_ATAQUES + 1;
+    private static final int NUM_CODIGOS = PASSAR_A_VEZ + 1;
+    private static final int MAX_ACOES = N * 8 + 2;
+
+    // Ataques com chance menor que esta nem entram na árvore (corta ramos inúteis)
+    private static final double CHANCE_MINIMA_NA_ARVORE = 0.25;
+    // Com esta quantidade de rollouts guardados para o estado, usa a média e não simula de novo
+    static final int AMOSTRAS_PARA_REUSO = 16;
+    // Separa as entradas de cada jogador (o valor é do ponto de vista de quem busca)
+    private static final long SAL_DO_JOGADOR = 0x9E3779B97F4A7C15L;
+
+    private static final ControladorDePartida.EstadoTurno DISTRIBUINDO = ControladorDePartida.EstadoTurno.DISTRIBUINDO;
+    private static final int MAX_DECISOES_POR_TURNO = 500;
+
+    private final ControladorDePartida controlador;
+    private final Jogador eu;
+    private final Mapa mapa;
+    private final LogDePartida log;
+    private final SplittableRandom random;  // Fluxo de IA da partida: só é lido na thread do jogo
+
+    private long tempoPorDecisaoMs = 50;
+    private int iteracoesPorDecisao = 0;
+    private int paralelismo = Runtime.getRuntime().availableProcessors();
+    private int rodadasDeRollout = 2;
+    private double constanteExploracao = Math.sqrt(2);
+    private TabelaDeTransposicao transposicao;
+
+    public IAMonteCarlo(ControladorDePartida controlador, Jogador jogadorIA) {
+        this.controlador = controlador;
+        this.eu = jogadorIA;
+        this.mapa = controlador.getMapa();
+        this.log = controlador.getLog();
+        this.random = controlador.getFonteAleatoria().getIA();
+    }
+
+    /**
+     * Joga o turno inteiro na thread atual (a busca em si usa 'paralelismo' threads) e passa a vez.
+     */
+    public void jogarTurnoSincrono() {
+        iniciarTurno();
+
+        EstadoCompacto raiz = new EstadoCompacto();
+        for (int decisoes = 0; precisaDecidir(decisoes); decisoes++) {
+            raiz.lerDe(controlador);
+            aplicarDecisao(decidir(raiz, sementesDosTrabalhadores()));
+        }
+    }
+
+    /**
+     * Joga o turno sem travar a thread do jogo: cada decisão é buscada em segundo plano sobre uma
+     * cópia do estado, e a ação escolhida é aplicada pelo 'threadDoJogo' (ex.: Gdx.app::postRunnable),
+     * que também dispara a busca seguinte. Retorna logo; o turno termina com passarAVez() na thread do jogo.
+     * Deve ser chamado na thread do jogo.
+     */
+    public void executarTurno(Executor threadDoJogo) {
+        iniciarTurno();
+        planejarProximaDecisao(threadDoJogo, 0);
+    }
+
+    private void iniciarTurno() {
+        log.log("IA-MCTS", ">>> INICIANDO TURNO DA IA (" + eu.getCor() + ") <<<");
+        new IABot(controlador, eu).tentaTrocarCartas();
+        if (transposicao != null) transposicao.novaGeracao();
+    }
+
+    private void planejarProximaDecisao(Executor threadDoJogo, int decisoes) {
+        if (!precisaDecidir(decisoes)) return;
+
+        // Cópia tirada na thread do jogo; a busca só lê a cópia
+        EstadoCompacto raiz = EstadoCompacto.capturar(controlador);
+        long hashDaRaiz = controlador.getHash();
+        long[] sementes = sementesDosTrabalhadores();
+
+        CompletableFuture.supplyAsync(() -> decidir(raiz, sementes), PlanejadorEmSegundoPlano.PLANEJAMENTO).whenComplete((acao, erro) ->
+            threadDoJogo.execute(() -> {
+                // Turno ou partida encerrados por fora durante a busca: o plano não vale mais
+                if (controlador.getJogadorAtual() != eu || controlador.verificarVitoria() != null) return;
+                if (controlador.getHash() != hashDaRaiz) {
+                    // Estado alterado por fora, mas ainda é a vez desta IA: busca de novo a partir dele
+                    log.log("IA-MCTS", "Partida mudou durante a busca. Buscando de novo.");
+                    planejarProximaDecisao(threadDoJogo, decisoes + 1);
+                    return;
+                }
+                if (erro != null) {
+                    log.error("IA-MCTS", "Falha na busca: " + erro + ". Passando a vez.");
+                    controlador.passarAVez();
+                    return;
+                }
+                aplicarDecisao(acao);
+                planejarProximaDecisao(threadDoJogo, decisoes + 1);
+            }));
+    }
+
+    /**
+     * true se ainda é a vez deste jogador e há algo a decidir. Avança sozinho as fases sem escolha
+     * (distribuição sem tropas) e encerra o turno se ele passar do limite de decisões.
+     */
+    private boolean precisaDecidir(int decisoes) {
+        while (controlador.getJogadorAtual() == eu && controlador.verificarVitoria() == null) {
+            if (decisoes > MAX_DECISOES_POR_TURNO) {
+                log.error("IA-MCTS", "Turno não terminou. Passando a vez.");
+                controlador.passarAVez();
+                return false;
+            }
+            ControladorDePartida.EstadoTurno fase = controlador.getEstadoTurno();
+            if (fase != DISTRIBUINDO || controlador.getTropasADistribuirTotal() > 0) return true;
+            avancarFase(fase);
+            decisoes++;
+        }
+        return false;
+    }
+
+    private void aplicarDecisao(int acao) {
+        ControladorDePartida.EstadoTurno fase = controlador.getEstadoTurno();
+        if (!executar(acao)) {
+            // Ação recusada pelo controlador (não deveria acontecer): segue o fluxo sem ela
+            log.error("IA-MCTS", "Ação recusada: " + acao);
+            if (fase == DISTRIBUINDO) controlador.descartarReforcosRestantes();
+            avancarFase(fase);
+        }
+    }
+
+    /** Avança a fase; se o controlador recusar (ex.: troca obrigatória), encerra o turno. */
+    private void avancarFase(ControladorDePartida.EstadoTurno fase) {
+        controlador.proximaFaseTurno();
+        if (controlador.getJogadorAtual() == eu && controlador.getEstadoTurno() == fase) {
+            controlador.passarAVez();
+        }
+    }
+
+    private boolean executar(int acao) {
+        if (acao == PARAR_ATAQUES) {
+            controlador.proximaFaseTurno();
+            return true;
+        }
+        if (acao == PASSAR_A_VEZ) {
+            controlador.passarAVez();
+            return true;
+        }
+
+        int tipo = acao / (N * N);
+        Territorio origem = mapa.getTerritorioPorId((acao / N) % N);
+        Territorio destino = mapa.getTerritorioPorId(acao % N);
+
+        switch (tipo) {
+            case TIPO_ALOCAR:
+                return controlador.alocarTropas(destino, controlador.getTropasADistribuir());
+            case TIPO_ATACAR: {
+                ResultadoBatalha batalha = controlador.realizarAtaqueCompleto(origem, destino);
+                if (batalha.estado == AtaqueEstado.TERRITORIO_CONQUISTADO) {
+                    controlador.moverTropasAposConquista(origem, destino, Math.min(3, origem.getTropas() - 1));
+                }
+                return batalha.perdasAtacante + batalha.perdasDefensor > 0;
+            }
+            case TIPO_MOVER: {
+                int quantidade = Math.min(controlador.getTropasIniciaisMovimentacao(origem), origem.getTropas() - 1);
+                if (!controlador.moverTropasEstrategicas(origem, destino, quantidade)) return false;
+                controlador.passarAVez();
+                return true;
+            }
+            default:
+                return false;
+        }
+    }
+
+    // --- BUSCA ---
+
+    /**
+     * Uma semente por worker, tiradas do fluxo de IA da partida. Chamado na thread do jogo:
+     * o SplittableRandom não é thread-safe e o jogo pode usar o mesmo fluxo durante a busca.
+     */
+    long[] sementesDosTrabalhadores() {
+        long[] sementes = new long[Math.max(1, paralelismo)];
+        for (int i = 0; i < sementes.length; i++) sementes[i] = random.nextLong();
+        return sementes;
+    }
+
+    /** Ação escolhida para o estado 'raiz' (que deve ser a vez deste jogador), com um worker por semente. */
+    int decidir(EstadoCompacto raiz, long[] sementes) {
+        Trabalhador unico = new Trabalhador(raiz, new SplittableRandom(sementes[0]));
+        int numAcoes = unico.gerarAcoes(raiz, unico.acoes);
+        if (numAcoes == 1) return unico.acoes[0];
+        int[] legais = Arrays.copyOf(unico.acoes, numAcoes);  // 'acoes' é buffer da busca
+
+        int workers = sementes.length;
+        List<Trabalhador> trabalhadores = new ArrayList<>(workers);
+        trabalhadores.add(unico);
+        for (int i = 1; i < workers; i++) {
+            trabalhadores.add(new Trabalhador(raiz, new SplittableRandom(sementes[i])));
+        }
+
+        long prazo = System.nanoTime() + tempoPorDecisaoMs * 1_000_000L;
+        if (workers == 1) {
+            unico.buscar(prazo);
+        } else {
+            List<ForkJoinTask<?>> tarefas = new ArrayList<>(workers);
+            for (Trabalhador t : trabalhadores) tarefas.add(ForkJoinPool.commonPool().submit(() -> t.buscar(prazo)));
+            for (ForkJoinTask<?> tarefa : tarefas) tarefa.join();
+        }
+
+        // Soma as visitas dos filhos da raiz de todas as árvores
+        int[] visitas = new int[NUM_CODIGOS];
+        int melhor = legais[0];
+        for (Trabalhador t : trabalhadores) {
+            No r = t.raiz;
+            for (int i = 0; i < r.numFilhos; i++) visitas[r.filhos[i].acao] += r.filhos[i].visitas;
+        }
+        for (int acao : legais) {
+            if (visitas[acao] > visitas[melhor]) melhor = acao;
+        }
+        return melhor;
+    }
+
+    private static final class No {
+        final int acao;
+        int visitas;
+        double soma;
+        No[] filhos = new No[4];
+        int numFilhos;
+
+        No(int acao) {
+            this.acao = acao;
+        }
+
+        No adicionar(int acao) {
+            if (numFilhos == filhos.length) filhos = Arrays.copyOf(filhos, numFilhos * 2);
+            No filho = new No(acao);
+            filhos[numFilhos++] = filho;
+            return filho;
+        }
+    }
+
+    /** Uma árvore independente (paralelização na raiz): estado de trabalho, gerador e buffers próprios. */
+    private final class Trabalhador {
+        final EstadoCompacto inicio;
+        final EstadoCompacto estado = new EstadoCompacto();
+        final SplittableRandom rnd;
+        final No raiz = new No(-1);
+        final int[] acoes = new int[MAX_ACOES];
+        final int[] marca = new int[NUM_CODIGOS];
+        final No[] caminho = new No[64];
+        int carimbo;
+
+        Trabalhador(EstadoCompacto inicio, SplittableRandom rnd) {
+            this.inicio = inicio;
+            this.rnd = rnd;
+        }
+
+        void buscar(long prazo) {
+            int jogador = inicio.getJogadorAtual();
+            for (int iteracao = 0; ; iteracao++) {
+                if (iteracoesPorDecisao > 0) {
+                    if (iteracao >= iteracoesPorDecisao) break;
+                } else if ((iteracao & 15) == 0 && System.nanoTime() >= prazo) {
+                    break;
+                }
+                iterar(jogador);
+            }
+        }
+
+        private void iterar(int jogador) {
+            inicio.copiarPara(estado);
+            No no = raiz;
+            int profundidade = 0;
+            caminho[profundidade++] = no;
+
+            // Seleção / expansão enquanto ainda é o turno deste jogador
+            while (estado.getJogadorAtual() == jogador && profundidade < caminho.length) {
+                int n = gerarAcoes(estado, acoes);
+                carimbo++;
+                for (int i = 0; i < n; i++) marca[acoes[i]] = carimbo;
+
+                // Filhos com ação legal neste estado; os que já existem são desmarcados
+                No melhor = null;
+                double melhorUct = Double.NEGATIVE_INFINITY;
+                double logPai = Math.log(Math.max(1, no.visitas));
+                for (int i = 0; i < no.numFilhos; i++) {
+                    No f = no.filhos[i];
+                    if (marca[f.acao] != carimbo) continue;
+                    marca[f.acao] = -carimbo;
+                    double uct = f.soma / f.visitas + constanteExploracao * Math.sqrt(logPai / f.visitas);
+                    if (uct > melhorUct) {
+                        melhorUct = uct;
+                        melhor = f;
+                    }
+                }
+
+                // Há ação legal ainda sem filho? Expande uma (sorteada) e vai para o rollout
+                int naoExpandidas = 0;
+                for (int i = 0; i < n; i++) if (marca[acoes[i]] == carimbo) acoes[naoExpandidas++] = acoes[i];
+                if (naoExpandidas > 0) {
+                    int acao = acoes[rnd.nextInt(naoExpandidas)];
+                    no = no.adicionar(acao);
+                    caminho[profundidade++] = no;
+                    aplicar(estado, acao);
+                    break;
+                }
+
+                if (melhor == null) break;
+                no = melhor;
+                caminho[profundidade++] = no;
+                aplicar(estado, no.acao);
+            }
+
+            // Termina o turno atual (se a árvore parou no meio dele) e joga as rodadas seguintes
+            if (estado.getJogadorAtual() == jogador) SimulacaoRapida.jogarTurnoGuloso(estado, mapa, rnd);
+            double valor = avaliarFimDoTurno(jogador);
+            for (int i = 0; i < profundidade; i++) {
+                caminho[i].visitas++;
+                caminho[i].soma += valor;
+            }
+        }
+
+        /** Valor do estado ao fim do turno: rollout, ou média da tabela de transposição. */
+        private double avaliarFimDoTurno(int jogador) {
+            long chave = 0L;
+            if (transposicao != null) {
+                chave = HashZobrist.calcular(estado) ^ (jogador * SAL_DO_JOGADOR);
+                long dados = transposicao.sondar(chave);
+                if (TabelaDeTransposicao.amostras(dados) >= AMOSTRAS_PARA_REUSO) return TabelaDeTransposicao.media(dados);
+            }
+
+            int turnos = rodadasDeRollout * estado.getNumJogadores();
+            for (int i = 0; i < turnos && SimulacaoRapida.isVivo(estado, jogador); i++) {
+                SimulacaoRapida.jogarTurnoGuloso(estado, mapa, rnd);
+            }
+            double valor = SimulacaoRapida.avaliar(estado, mapa, jogador);
+            return (transposicao != null) ? transposicao.registrar(chave, valor) : valor;
+        }
+
+        /** Ações legais do jogador da vez na fase atual. Preenche 'saida' e devolve quantas são. */
+        int gerarAcoes(EstadoCompacto e, int[] saida) {
+            int jogador = e.getJogadorAtual();
+            int[] offsets = mapa.getOffsets();
+            int[] vizinhos = mapa.getVizinhos();
+            int n = 0;
+
+            switch (e.getFase()) {
+                case DISTRIBUINDO: {
+                    int restricao = e.getLoteRestricao(0);
+                    for (int t = 0; t < N; t++) {
+                        if (e.getDono(t) != jogador) continue;
+                        if (restricao != EstadoCompacto.SEM_RESTRICAO && Mapa.getContinentePorId(t).ordinal() != restricao) continue;
+                        if (SimulacaoRapida.isFronteira(e, mapa, t)) saida[n++] = codigo(TIPO_ALOCAR, t, t);
+                    }
+                    // Sem fronteira no continente do lote: qualquer território dele serve
+                    if (n == 0) {
+                        for (int t = 0; t < N; t++) {
+                            if (e.getDono(t) != jogador) continue;
+                            if (restricao != EstadoCompacto.SEM_RESTRICAO && Mapa.getContinentePorId(t).ordinal() != restricao) continue;
+                            saida[n++] = codigo(TIPO_ALOCAR, t, t);
+                            break;
+                        }
+                    }
+                    break;
+                }
+                case ATACANDO: {
+                    TabelaProbabilidadeCombate tabela = TabelaProbabilidadeCombate.padrao();
+                    for (int t = 0; t < N; t++) {
+                        if (e.getDono(t) != jogador || e.getTropas(t) < 2) continue;
+                        for (int k = offsets[t]; k < offsets[t + 1]; k++) {
+                            int v = vizinhos[k];
+                            if (e.getDono(v) == jogador) continue;
+                            if (tabela.getChanceDeConquista(e.getTropas(t), e.getTropas(v)) < CHANCE_MINIMA_NA_ARVORE) continue;
+                            if (n < MAX_ACOES - 1) saida[n++] = codigo(TIPO_ATACAR, t, v);
+                        }
+                    }
+                    saida[n++] = PARAR_ATAQUES;
+                    break;
+                }
+                default: {
+                    // Movimentação: leva as tropas livres de um território interior para um vizinho de fronteira
+                    for (int t = 0; t < N; t++) {
+                        if (e.getDono(t) != jogador || SimulacaoRapida.tropasMoveis(e, t) <= 0) continue;
+                        if (SimulacaoRapida.isFronteira(e, mapa, t)) continue;
+                        for (int k = offsets[t]; k < offsets[t + 1]; k++) {
+                            int v = vizinhos[k];
+                            if (SimulacaoRapida.isFronteira(e, mapa, v) && n < MAX_ACOES - 1) saida[n++] = codigo(TIPO_MOVER, t, v);
+                        }
+                    }
+                    saida[n++] = PASSAR_A_VEZ;
+                    break;
+                }
+            }
+            return n;
+        }
+
+        void aplicar(EstadoCompacto e, int acao) {
+            if (acao == PARAR_ATAQUES) {
+                SimulacaoRapida.iniciarMovimentacao(e);
+                return;
+            }
+            if (acao == PASSAR_A_VEZ) {
+                SimulacaoRapida.passarAVez(e, mapa);
+                return;
+            }
+            int tipo = acao / (N * N);
+            int origem = (acao / N) % N;
+            int destino = acao % N;
+            if (tipo == TIPO_ALOCAR) {
+                SimulacaoRapida.alocarLote(e, mapa, destino);
+            } else if (tipo == TIPO_ATACAR) {
+                SimulacaoRapida.atacar(e, origem, destino, rnd);
+            } else {
+                SimulacaoRapida.mover(e, origem, destino, SimulacaoRapida.tropasMoveis(e, origem));
+                SimulacaoRapida.passarAVez(e, mapa);
+            }
+        }
+    }
+
+    private static int codigo(int tipo, int origem, int destino) {
+        return tipo * N * N + origem * N + destino;
+    }
+
+    // --- CONFIGURAÇÃO ---
+
+    public Jogador getJogador() { return eu; }
+
+    public void setTempoPorDecisaoMs(long tempoPorDecisaoMs) { this.tempoPorDecisaoMs = tempoPorDecisaoMs; }
+    public long getTempoPorDecisaoMs() { return tempoPorDecisaoMs; }
+
+    /** Se > 0, cada worker roda exatamente este número de iterações por decisão (ignora o tempo). */
+    public void setIteracoesPorDecisao(int iteracoesPorDecisao) { this.iteracoesPorDecisao = iteracoesPorDecisao; }
+    public int getIteracoesPorDecisao() { return iteracoesPorDecisao; }
+
+    public void setParalelismo(int paralelismo) { this.paralelismo = paralelismo; }
+    public int getParalelismo() { return paralelismo; }
+
+    public void setRodadasDeRollout(int rodadasDeRollout) { this.rodadasDeRollout = rodadasDeRollout; }
+    public int getRodadasDeRollout() { return rodadasDeRollout; }
+
+    public void setConstanteExploracao(double constanteExploracao) { this.constanteExploracao = constanteExploracao; }
+
+    /** Tabela de transposição usada pela busca (null = nenhuma). Pode ser a mesma em vários turnos. */
+    public void setTabelaDeTransposicao(TabelaDeTransposicao transposicao) { this.transposicao = transposicao; }
+    public TabelaDeTransposicao getTabelaDeTransposicao() { return transposicao; }
+}
@@ -0,0 +1,62 @@
+package com.gruposete.war.core;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Saída de log usada pela lógica da partida (Controlador, IA, Baralho, Setup).
+ * Desacopla o núcleo do jogo do Gdx.app, permitindo rodar partidas sem aplicação libGDX.
+ */
+public interface LogDePartida {
+
+    void log(String tag, String mensagem);
+
+    void error(String tag, String mensagem);
+
+    /**
+     * Indica se as mensagens são de fato gravadas.
+     * Trechos quentes consultam isto antes de montar strings de log.
+     */
+    default boolean isAtivo() {
+        return true;
+    }
+
+    /** Encaminha para o Gdx.app (quando existir). Padrão do jogo com interface gráfica. */
+    LogDePartida GDX = new LogDePartida() {
+        @Override
+        public void log(String tag, String mensagem) {
+            if (Gdx.app != null) Gdx.app.log(tag, mensagem);
+        }
+
+        @Override
+        public void error(String tag, String mensagem) {
+            if (Gdx.app != null) Gdx.app.error(tag, mensagem);
+        }
+    };
+
+    /** Descarta tudo. Usado pelo motor headless e pelas simulações em lote. */
+    LogDePartida SILENCIOSO = new LogDePartida() {
+        @Override
+        public void log(String tag, String mensagem) { }
+
+        @Override
+        public void error(String tag, String mensagem) { }
+
+        @Override
+        public boolean isAtivo() {
+            return false;
+        }
+    };
+
+    /** Escreve no console (System.out / System.err). Útil para depurar partidas headless. */
+    LogDePartida CONSOLE = new LogDePartida() {
+        @Override
+        public void log(String tag, String mensagem) {
+            System.out.println("[" + tag + "] " + mensagem);
+        }
+
+        @Override
+        public void error(String tag, String mensagem) {
+            System.err.println("[" + tag + "] " + mensagem);
+        }
+    };
+}
@@ -1,31 +1,104 @@
 package com.gruposete.war.core;
 
 import java.util.Map;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.function.IntConsumer;
 import com.badlogic.gdx.utils.Array;
 import java.util.List;
 import java.util.ArrayList;
 
 public class Mapa {
+    public static final int NUM_TERRITORIOS = 42;
+
+    // Ordem canônica dos territórios: a posição aqui é o ID estável (0..41) usado nas estruturas compactas.
+    // Agrupada por continente, na mesma ordem do setupContinentes().
+    private static final String[] NOMES_POR_ID = {
+        "Alasca", "Mackenzie", "Vancouver", "Ottawa", "Labrador", "Groenlândia", "Nova Iorque", "California", "Mexico",
+        "Venezuela", "Peru", "Brasil", "Argentina",
+        "Argelia", "Congo", "Africa do Sul", "Sudão", "Egito", "Madagascar",
+        "Islândia", "Inglaterra", "França", "Alemanha", "Polônia", "Moscou", "Suécia",
+        "Oriente Médio", "India", "Aral", "Omsk", "Dudinka", "Mongólia", "Tchita", "China", "Vietnã", "Japão", "Vladvostok", "Sibéria",
+        "Australia", "Nova Guiné", "Sumatra", "Borneo"
+    };
+    private static final Map<String, Integer> ID_POR_NOME = new HashMap<>();
+    // Como os IDs vêm agrupados na ordem do enum, cada continente ocupa uma faixa contígua
+    private static final Continente[] CONTINENTE_POR_ID = new Continente[NUM_TERRITORIOS];
+    static {
+        for (int i = 0; i < NOMES_POR_ID.length; i++) ID_POR_NOME.put(NOMES_POR_ID[i], i);
+        int id = 0;
+        for (Continente c : Continente.values()) {
+            for (int k = 0; k < c.getNumTerritorios(); k++) CONTINENTE_POR_ID[id++] = c;
+        }
+    }
+
     private Map<Territorio, Array<Territorio>> adjacencias;     // Mapa que armazena as adjacências entre os territórios
     private Map<String, Territorio> tNomes;                     // Mapa para buscar territórios pelo nome
+    private Territorio[] territoriosPorId;                      // Índice pelo ID estável
 
     private Map<Continente, List<Territorio>> territoriosPorContinente;
 
+    // --- ÍNDICES INTEIROS (por ID) ---
+    // CSR: os vizinhos do território 'id' são vizinhos[offsets[id]] .. vizinhos[offsets[id + 1] - 1]
+    private int[] offsets;
+    private int[] vizinhos;
+    // Matriz de adjacência em bits: bit j de adjacencia[i] ligado = j é vizinho de i
+    private long[] adjacencia;
+    // Bitboard de cada continente (índice = Continente.ordinal()), montado a partir de territoriosPorContinente
+    private final long[] mascaraContinente = new long[Continente.values().length];
+    // Distâncias, pontos de estrangulamento e portas dos continentes (compartilhado entre mapas iguais)
+    private GrafoDoMapa grafo;
+
     // Construtor: inicializa o mapa com a lista de territórios
     public Mapa(Array<Territorio> territorios){
         this.tNomes = new HashMap<>();
+        this.territoriosPorId = new Territorio[NUM_TERRITORIOS];
 
         // Preenche o mapa de nomes para facilitar a busca
         for (Territorio t : territorios) {
             this.tNomes.put(t.getNome(), t);
+            if (t.getId() >= 0) this.territoriosPorId[t.getId()] = t;
         }
 
-        this.territoriosPorContinente = new HashMap<>();
+        this.territoriosPorContinente = new EnumMap<>(Continente.class);
         setupContinentes();
+        for (Map.Entry<Continente, List<Territorio>> e : territoriosPorContinente.entrySet()) {
+            mascaraContinente[e.getKey().ordinal()] = mascaraDe(e.getValue());
+        }
 
         // Inicializa a estrutura de adjacências
         this.adjacencias = inicializarMapa(territorios);
+        construirIndices();
+        this.grafo = GrafoDoMapa.de(adjacencia);
+    }
+
+    // Converte as listas de adjacência em CSR + bitset, preservando a direção das listas originais
+    private void construirIndices() {
+        offsets = new int[NUM_TERRITORIOS + 1];
+        adjacencia = new long[NUM_TERRITORIOS];
+
+        int total = 0;
+        for (int id = 0; id < NUM_TERRITORIOS; id++) {
+            offsets[id] = total;
+            Array<Territorio> adj = (territoriosPorId[id] != null) ? adjacencias.get(territoriosPorId[id]) : null;
+            if (adj == null) continue;
+            for (Territorio v : adj) {
+                if (v != null && v.getId() >= 0) total++;
+            }
+        }
+        offsets[NUM_TERRITORIOS] = total;
+
+        vizinhos = new int[total];
+        for (int id = 0; id < NUM_TERRITORIOS; id++) {
+            Array<Territorio> adj = (territoriosPorId[id] != null) ? adjacencias.get(territoriosPorId[id]) : null;
+            if (adj == null) continue;
+            int k = offsets[id];
+            for (Territorio v : adj) {
+                if (v == null || v.getId() < 0) continue;
+                vizinhos[k++] = v.getId();
+                adjacencia[id] |= 1L << v.getId();
+            }
+        }
     }
 
     private void setupContinentes() {
@@ -402,12 +475,11 @@ public class Mapa {
 
     public Array<Territorio> getAlidadosAdj(Territorio territorio){
         Array<Territorio> aliados_adj = new Array<>();
-        Array<Territorio> adj = adjacencias.get(territorio);
+        if (!pertence(territorio)) return aliados_adj;
         int tID = territorio.getPlayerId();
 
-        if (adj == null) return aliados_adj;
-
-        for (Territorio t : adj){
+        for (int k = offsets[territorio.getId()], fim = offsets[territorio.getId() + 1]; k < fim; k++){
+            Territorio t = territoriosPorId[vizinhos[k]];
             if (t.getPlayerId() == tID){
                 aliados_adj.add(t);
             }
@@ -417,12 +489,11 @@ public class Mapa {
 
     public Array<Territorio> getInimigosAdj(Territorio territorio){
         Array<Territorio> inimigos_adj = new Array<>();
-        Array<Territorio> adj = adjacencias.get(territorio);
+        if (!pertence(territorio)) return inimigos_adj;
         int tID = territorio.getPlayerId();
 
-        if (adj == null) return inimigos_adj;
-
-        for (Territorio t : adj){
+        for (int k = offsets[territorio.getId()], fim = offsets[territorio.getId() + 1]; k < fim; k++){
+            Territorio t = territoriosPorId[vizinhos[k]];
             if (t.getPlayerId() != tID){
                 inimigos_adj.add(t);
             }
@@ -430,22 +501,199 @@ public class Mapa {
         return inimigos_adj;
     }
 
+    // --- CONSULTAS DE VIZINHANÇA SEM ALOCAÇÃO ---
+    // "Inimigo" e "aliado" seguem o mesmo critério de getInimigosAdj/getAlidadosAdj (playerId diferente/igual).
+
+    /** Chama 'acao' com o ID de cada vizinho inimigo. */
+    public void forEachInimigoAdj(Territorio territorio, IntConsumer acao) {
+        if (!pertence(territorio)) return;
+        int tID = territorio.getPlayerId();
+        for (int k = offsets[territorio.getId()], fim = offsets[territorio.getId() + 1]; k < fim; k++) {
+            if (territoriosPorId[vizinhos[k]].getPlayerId() != tID) acao.accept(vizinhos[k]);
+        }
+    }
+
+    /** Chama 'acao' com o ID de cada vizinho aliado. */
+    public void forEachAliadoAdj(Territorio territorio, IntConsumer acao) {
+        if (!pertence(territorio)) return;
+        int tID = territorio.getPlayerId();
+        for (int k = offsets[territorio.getId()], fim = offsets[territorio.getId() + 1]; k < fim; k++) {
+            if (territoriosPorId[vizinhos[k]].getPlayerId() == tID) acao.accept(vizinhos[k]);
+        }
+    }
+
+    public int contarInimigosAdj(Territorio territorio) {
+        if (!pertence(territorio)) return 0;
+        int tID = territorio.getPlayerId();
+        int total = 0;
+        for (int k = offsets[territorio.getId()], fim = offsets[territorio.getId() + 1]; k < fim; k++) {
+            if (territoriosPorId[vizinhos[k]].getPlayerId() != tID) total++;
+        }
+        return total;
+    }
+
+    public int contarAliadosAdj(Territorio territorio) {
+        if (!pertence(territorio)) return 0;
+        return getNumVizinhos(territorio.getId()) - contarInimigosAdj(territorio);
+    }
+
+    /** Soma das tropas de todos os vizinhos inimigos. */
+    public int somaTropasInimigasAdj(Territorio territorio) {
+        if (!pertence(territorio)) return 0;
+        int tID = territorio.getPlayerId();
+        int soma = 0;
+        for (int k = offsets[territorio.getId()], fim = offsets[territorio.getId() + 1]; k < fim; k++) {
+            Territorio v = territoriosPorId[vizinhos[k]];
+            if (v.getPlayerId() != tID) soma += v.getTropas();
+        }
+        return soma;
+    }
+
+    /** Vizinho inimigo com menos tropas (o primeiro em caso de empate), ou null se não houver. */
+    public Territorio getInimigoAdjMaisFraco(Territorio territorio) {
+        if (!pertence(territorio)) return null;
+        int tID = territorio.getPlayerId();
+        Territorio fraco = null;
+        for (int k = offsets[territorio.getId()], fim = offsets[territorio.getId() + 1]; k < fim; k++) {
+            Territorio v = territoriosPorId[vizinhos[k]];
+            if (v.getPlayerId() != tID && (fraco == null || v.getTropas() < fraco.getTropas())) fraco = v;
+        }
+        return fraco;
+    }
+
+    /**
+     * Versão com buffer do getInimigosAdj: escreve os vizinhos inimigos em 'destino'
+     * (tamanho mínimo = número de vizinhos) e devolve quantos foram escritos.
+     */
+    public int getInimigosAdj(Territorio territorio, Territorio[] destino) {
+        if (!pertence(territorio)) return 0;
+        int tID = territorio.getPlayerId();
+        int n = 0;
+        for (int k = offsets[territorio.getId()], fim = offsets[territorio.getId() + 1]; k < fim; k++) {
+            Territorio v = territoriosPorId[vizinhos[k]];
+            if (v.getPlayerId() != tID) destino[n++] = v;
+        }
+        return n;
+    }
+
+    /** Versão com buffer do getAlidadosAdj (ver getInimigosAdj(Territorio, Territorio[])). */
+    public int getAlidadosAdj(Territorio territorio, Territorio[] destino) {
+        if (!pertence(territorio)) return 0;
+        int tID = territorio.getPlayerId();
+        int n = 0;
+        for (int k = offsets[territorio.getId()], fim = offsets[territorio.getId() + 1]; k < fim; k++) {
+            Territorio v = territoriosPorId[vizinhos[k]];
+            if (v.getPlayerId() == tID) destino[n++] = v;
+        }
+        return n;
+    }
+
+    // Cursor sobre o CSR: for (int k = getInicioVizinhos(id); k < getFimVizinhos(id); k++) getVizinho(k)
+    public int getInicioVizinhos(int id) { return offsets[id]; }
+    public int getFimVizinhos(int id) { return offsets[id + 1]; }
+    public Territorio getVizinho(int k) { return territoriosPorId[vizinhos[k]]; }
+
+    /** Maior número de vizinhos de um território (tamanho seguro para os buffers). */
+    public int getMaxVizinhos() {
+        int max = 0;
+        for (int id = 0; id < NUM_TERRITORIOS; id++) max = Math.max(max, getNumVizinhos(id));
+        return max;
+    }
+
+    // O(1): consulta um bit da matriz de adjacência
     public boolean isAdjacente(Territorio territorioA, Territorio territorioB){
-        Array<Territorio> adj = adjacencias.get(territorioA);
-        if (adj == null) return false;
+        if (!pertence(territorioA) || !pertence(territorioB)) return false;
+        return isAdjacente(territorioA.getId(), territorioB.getId());
+    }
 
-        for (Territorio t : adj){
-            if (t.equals(territorioB)){
-                return true;
-            }
+    public boolean isAdjacente(int idA, int idB){
+        return (adjacencia[idA] & (1L << idB)) != 0;
+    }
+
+    /** Bitboard com os territórios do continente (bit = ID do território). */
+    public long getMascaraContinente(Continente continente) {
+        return mascaraContinente[continente.ordinal()];
+    }
+
+    /** Monta o bitboard de uma coleção de territórios. Territórios sem ID são ignorados. */
+    public static long mascaraDe(Iterable<Territorio> territorios) {
+        long mascara = 0L;
+        for (Territorio t : territorios) {
+            if (t.getId() >= 0) mascara |= 1L << t.getId();
         }
-        return false;
+        return mascara;
+    }
+
+    // --- ACESSO AOS ÍNDICES INTEIROS (somente leitura, não alterar os arrays) ---
+
+    /** Máscara de bits dos vizinhos do território (bit = ID do vizinho). */
+    public long getMascaraAdjacencia(int id) {
+        return adjacencia[id];
+    }
+
+    public int getNumVizinhos(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Offsets CSR (tamanho NUM_TERRITORIOS + 1). Visível só no pacote: é o array interno, para os laços
+     * quentes da IA e do CampoDeFronteira; de fora, use getInicioVizinhos/getFimVizinhos/getVizinho.
+     */
+    int[] getOffsets() {
+        return offsets;
+    }
+
+    /** IDs dos vizinhos, em CSR (ver getOffsets). Array interno: não alterar. */
+    int[] getVizinhos() {
+        return vizinhos;
+    }
+
+    // --- CONHECIMENTO GLOBAL DO GRAFO (O(1), ver GrafoDoMapa) ---
+
+    /** Menor número de passos de 'a' até 'b', ou GrafoDoMapa.INALCANCAVEL. */
+    public int distancia(int a, int b) {
+        return grafo.distancia(a, b);
+    }
+
+    public boolean isPontoDeEstrangulamento(int id) {
+        return grafo.isPontoDeEstrangulamento(id);
+    }
+
+    /** Bitboard dos territórios do continente que fazem fronteira com outro continente. */
+    public long getPortasDoContinente(Continente continente) {
+        return grafo.getPortasDoContinente(continente);
+    }
+
+    public GrafoDoMapa getGrafo() {
+        return grafo;
+    }
+
+    // Garante que o território é deste mapa (e não só um com o mesmo nome)
+    private boolean pertence(Territorio t) {
+        return t != null && t.getId() >= 0 && territoriosPorId[t.getId()] == t;
     }
 
     public Map<Continente, List<Territorio>> getTerritoriosPorContinente() {
         return territoriosPorContinente;
     }
 
+    public Territorio getTerritorioPorId(int id) {
+        return territoriosPorId[id];
+    }
+
+    /** Continente do território de ID estável 'id'. */
+    public static Continente getContinentePorId(int id) {
+        return CONTINENTE_POR_ID[id];
+    }
+
+    /**
+     * ID estável (0..41) de um território pelo nome, ou -1 se o nome não faz parte do mapa.
+     */
+    public static int getIdPorNome(String nome) {
+        Integer id = ID_POR_NOME.get(nome);
+        return (id != null) ? id : -1;
+    }
+
 }
 
 
@@ -0,0 +1,107 @@
+package com.gruposete.war.core;
+
+import java.util.Arrays;
+
+/**
+ * Máscara de ids dos territórios, rasterizada uma vez (por linhas de varredura) numa grade sobre o mapa.
+ * Responde "qual território está no ponto (x, y)?" com uma leitura de array, em vez de testar
+ * Polygon.contains em todos os territórios (clique, pinça, hover).
+ *
+ * Cada célula guarda o território que contém o seu centro, com a mesma regra par-ímpar de Polygon.contains;
+ * se dois polígonos se sobrepõem, vale o primeiro da lista (como no laço linear que ela substitui).
+ */
+public class MascaraDeTerritorios {
+
+    public static final int NENHUM = -1;
+
+    private final int largura;   // Em células
+    private final int altura;
+    private final float celulasPorUnidade;
+    private final byte[] celulas;
+
+    // Cruzamentos da linha atual com as arestas (reaproveitado entre linhas e polígonos)
+    private float[] cruzamentos = new float[16];
+
+    /**
+     * @param larguraMundo largura da área coberta, em unidades do mundo (a partir de x = 0)
+     * @param alturaMundo altura da área coberta (a partir de y = 0)
+     * @param celulasPorUnidade resolução da grade (1 = uma célula por unidade do mundo)
+     */
+    public MascaraDeTerritorios(Iterable<Territorio> territorios, float larguraMundo, float alturaMundo, float celulasPorUnidade) {
+        if (celulasPorUnidade <= 0) {
+            throw new IllegalArgumentException("Resolução inválida para a máscara: " + celulasPorUnidade);
+        }
+        this.celulasPorUnidade = celulasPorUnidade;
+        this.largura = (int) Math.ceil(larguraMundo * celulasPorUnidade);
+        this.altura = (int) Math.ceil(alturaMundo * celulasPorUnidade);
+        this.celulas = new byte[largura * altura];
+        Arrays.fill(celulas, (byte) NENHUM);
+
+        for (Territorio t : territorios) {
+            if (t.getId() < 0 || t.getId() > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Território sem id válido para a máscara: " + t.getNome());
+            }
+            rasterizar(t.getArea().getTransformedVertices(), (byte) t.getId());
+        }
+    }
+
+    // --- RASTERIZAÇÃO ---
+
+    private void rasterizar(float[] v, byte id) {
+        int n = v.length / 2;
+        float minY = Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            minY = Math.min(minY, v[i * 2 + 1]);
+            maxY = Math.max(maxY, v[i * 2 + 1]);
+        }
+        if (cruzamentos.length < n) cruzamentos = new float[n];
+
+        int linhaInicial = Math.max(0, (int) Math.floor(minY * celulasPorUnidade));
+        int linhaFinal = Math.min(altura - 1, (int) Math.ceil(maxY * celulasPorUnidade));
+        for (int linha = linhaInicial; linha <= linhaFinal; linha++) {
+            float y = centro(linha);
+
+            // Mesmo teste de aresta e mesma conta de Polygon.contains
+            int qtd = 0;
+            for (int i = 0, j = n - 1; i < n; j = i++) {
+                float xi = v[i * 2], yi = v[i * 2 + 1];
+                float xj = v[j * 2], yj = v[j * 2 + 1];
+                if ((yi > y) != (yj > y)) {
+                    cruzamentos[qtd++] = (xj - xi) * (y - yi) / (yj - yi) + xi;
+                }
+            }
+            Arrays.sort(cruzamentos, 0, qtd);
+
+            // Dentro = número ímpar de cruzamentos à direita do ponto: entre cruzamentos[2k] (inclusive) e [2k+1]
+            int base = linha * largura;
+            for (int k = 0; k + 1 < qtd; k += 2) {
+                int coluna = Math.max(0, (int) Math.floor(cruzamentos[k] * celulasPorUnidade));
+                int fim = Math.min(largura - 1, (int) Math.ceil(cruzamentos[k + 1] * celulasPorUnidade));
+                for (; coluna <= fim; coluna++) {
+                    float x = centro(coluna);
+                    if (x >= cruzamentos[k] && x < cruzamentos[k + 1] && celulas[base + coluna] == NENHUM) {
+                        celulas[base + coluna] = id;
+                    }
+                }
+            }
+        }
+    }
+
+    private float centro(int celula) {
+        return (celula + 0.5f) / celulasPorUnidade;
+    }
+
+    // --- CONSULTA ---
+
+    /** Id do território no ponto do mundo, ou NENHUM (fora de todos os territórios ou fora da grade). */
+    public int getIdEm(float x, float y) {
+        if (x < 0 || y < 0) return NENHUM;
+        int coluna = (int) (x * celulasPorUnidade);
+        int linha = (int) (y * celulasPorUnidade);
+        if (coluna >= largura || linha >= altura) return NENHUM;
+        return celulas[linha * largura + coluna];
+    }
+
+    public int getLargura() { return largura; }
+    public int getAltura() { return altura; }
+}
@@ -0,0 +1,94 @@
+package com.gruposete.war.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Executa uma partida completa sem interface gráfica, sem Gdx.app e sem Timer.
+ * Todos os assentos são jogados pela IA, de forma síncrona na thread que chamou executar().
+ * Pensado para simulações em lote (IA contra IA).
+ */
+public class MotorHeadless {
+
+    public static final int LIMITE_PADRAO_DE_TURNOS = 2000;
+
+    private final List<Jogador> jogadores;
+    private final LogDePartida log;
+    private int limiteDeTurnos = LIMITE_PADRAO_DE_TURNOS;
+    private long semente = new FonteAleatoria().getSemente();
+    private final Map<Jogador, EstrategiaIA> estrategias = new HashMap<>();
+
+    private ControladorDePartida controlador;
+
+    public MotorHeadless(List<Jogador> jogadores) {
+        this(jogadores, LogDePartida.SILENCIOSO);
+    }
+
+    public MotorHeadless(List<Jogador> jogadores, LogDePartida log) {
+        this.jogadores = jogadores;
+        this.log = log;
+    }
+
+    /**
+     * Joga a partida do iniciarPartida() até o vencedor de verificarVitoria()
+     * (ou até o limite de turnos, para evitar partidas travadas).
+     */
+    public ResultadoPartida executar() {
+        controlador = new ControladorDePartida(jogadores, log, new FonteAleatoria(semente));
+        controlador.setTurnoIAAutomatico(false);
+        estrategias.forEach(controlador::setEstrategiaIA);
+        controlador.iniciarPartida();
+
+        int turnos = 0;
+        Jogador vencedor = controlador.verificarVitoria();
+
+        while (vencedor == null && turnos < limiteDeTurnos) {
+            Jogador atual = controlador.getJogadorAtual();
+            controlador.getEstrategiaIA(atual).jogarTurnoSincrono(controlador, atual);
+            turnos++;
+            vencedor = controlador.verificarVitoria();
+        }
+
+        return new ResultadoPartida(vencedor, controlador.getJogadores(), turnos, vencedor == null, semente);
+    }
+
+    /** Define a estratégia que joga por este jogador (padrão: IABot com ConfiguracaoIA.PADRAO). */
+    public void setEstrategiaIA(Jogador jogador, EstrategiaIA estrategia) {
+        estrategias.put(jogador, estrategia);
+    }
+
+    /** Atalho para o IABot com os parâmetros dados. */
+    public void setConfiguracaoIA(Jogador jogador, ConfiguracaoIA config) {
+        setEstrategiaIA(jogador, new EstrategiaHeuristica(config));
+    }
+
+    public ConfiguracaoIA getConfiguracaoIA(Jogador jogador) {
+        EstrategiaIA estrategia = estrategias.get(jogador);
+        return (estrategia instanceof EstrategiaHeuristica)
+            ? ((EstrategiaHeuristica) estrategia).getConfiguracao()
+            : ConfiguracaoIA.PADRAO;
+    }
+
+    public void setLimiteDeTurnos(int limiteDeTurnos) {
+        this.limiteDeTurnos = limiteDeTurnos;
+    }
+
+    public int getLimiteDeTurnos() {
+        return limiteDeTurnos;
+    }
+
+    /** Mesma semente (e mesmos jogadores/configurações) = mesma partida, lance a lance. */
+    public void setSemente(long semente) {
+        this.semente = semente;
+    }
+
+    public long getSemente() {
+        return semente;
+    }
+
+    /** Controlador da última partida executada (para inspeção do estado final). */
+    public ControladorDePartida getControlador() {
+        return controlador;
+    }
+}
@@ -0,0 +1,26 @@
+package com.gruposete.war.core;
+
+/**
+ * Níveis de dificuldade da IA: qual estratégia do RegistroDeEstrategias e com quanto orçamento.
+ */
+public enum NivelDeDificuldade {
+    FACIL("Fácil", RegistroDeEstrategias.HEURISTICA, OrcamentoIA.porTempo(0, 1)),
+    MEDIO("Médio", RegistroDeEstrategias.PROBABILISTICA, OrcamentoIA.porTempo(0, 1)),
+    DIFICIL("Difícil", RegistroDeEstrategias.MCTS, OrcamentoIA.porTempo(40, 1).comTransposicao(16)),
+    MUITO_DIFICIL("Muito difícil", RegistroDeEstrategias.MCTS,
+                  OrcamentoIA.porTempo(150, Runtime.getRuntime().availableProcessors()).comTransposicao(64));
+
+    private final String nome;
+    private final String estrategia;
+    private final OrcamentoIA orcamento;
+
+    NivelDeDificuldade(String nome, String estrategia, OrcamentoIA orcamento) {
+        this.nome = nome;
+        this.estrategia = estrategia;
+        this.orcamento = orcamento;
+    }
+
+    public String getNome() { return nome; }
+    public String getEstrategia() { return estrategia; }
+    public OrcamentoIA getOrcamento() { return orcamento; }
+}
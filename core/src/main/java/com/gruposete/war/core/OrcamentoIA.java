@@ -0,0 +1,58 @@
+package com.gruposete.war.core;
+
+/**
+ * Quanto uma estratégia de busca pode gastar: tempo, iterações e threads por decisão,
+ * e memória fora do heap para a tabela de transposição.
+ * Estratégias sem busca (ex.: heurística) ignoram o orçamento.
+ */
+public class OrcamentoIA {
+
+    public static final OrcamentoIA PADRAO = porTempo(50, Runtime.getRuntime().availableProcessors());
+
+    private final long tempoPorDecisaoMs;
+    private final int iteracoesPorDecisao;   // > 0: ignora o tempo (resultado reproduzível pela semente)
+    private final int paralelismo;
+    private final int megabytesDeTransposicao;   // 0 = sem tabela de transposição
+
+    public OrcamentoIA(long tempoPorDecisaoMs, int iteracoesPorDecisao, int paralelismo) {
+        this(tempoPorDecisaoMs, iteracoesPorDecisao, paralelismo, 0);
+    }
+
+    public OrcamentoIA(long tempoPorDecisaoMs, int iteracoesPorDecisao, int paralelismo, int megabytesDeTransposicao) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("Paralelismo inválido: " + paralelismo);
+        }
+        if (megabytesDeTransposicao < 0) {
+            throw new IllegalArgumentException("Memória inválida para a tabela de transposição: " + megabytesDeTransposicao);
+        }
+        this.tempoPorDecisaoMs = tempoPorDecisaoMs;
+        this.iteracoesPorDecisao = iteracoesPorDecisao;
+        this.paralelismo = paralelismo;
+        this.megabytesDeTransposicao = megabytesDeTransposicao;
+    }
+
+    public static OrcamentoIA porTempo(long ms, int paralelismo) {
+        return new OrcamentoIA(ms, 0, paralelismo);
+    }
+
+    public static OrcamentoIA porIteracoes(int iteracoes, int paralelismo) {
+        return new OrcamentoIA(0, iteracoes, paralelismo);
+    }
+
+    /** Mesmo orçamento, com uma tabela de transposição de 'megabytes' MB (fora do heap). */
+    public OrcamentoIA comTransposicao(int megabytes) {
+        return new OrcamentoIA(tempoPorDecisaoMs, iteracoesPorDecisao, paralelismo, megabytes);
+    }
+
+    public long getTempoPorDecisaoMs() { return tempoPorDecisaoMs; }
+    public int getIteracoesPorDecisao() { return iteracoesPorDecisao; }
+    public int getParalelismo() { return paralelismo; }
+    public int getMegabytesDeTransposicao() { return megabytesDeTransposicao; }
+
+    @Override
+    public String toString() {
+        return (iteracoesPorDecisao > 0 ? iteracoesPorDecisao + " iterações" : tempoPorDecisaoMs + " ms")
+            + " x " + paralelismo + " threads"
+            + (megabytesDeTransposicao > 0 ? ", TT " + megabytesDeTransposicao + " MB" : "");
+    }
+}
@@ -0,0 +1,168 @@
+package com.gruposete.war.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Joga o turno de uma EstrategiaIA fora da thread do jogo, para a IA não travar o render.
+ *
+ * Na thread do jogo tira uma cópia do estado (EstadoCompacto) e a semente dos dados; em segundo plano a cópia
+ * é aplicada na ControladorSombra da partida (uma por partida real, reaproveitada a cada turno), onde a estratégia
+ * joga o turno inteiro (jogarTurnoSincrono) e as ações são gravadas; de volta à thread
+ * do jogo (ex.: Gdx.app.postRunnable) as ações são reproduzidas na partida real, uma por execução do
+ * 'threadDoJogo' (um quadro no jogo com interface), para o turno da IA aparecer passo a passo.
+ *
+ * A partida real e a sombra recebem a mesma semente de dados, então os ataques reproduzidos rolam os
+ * mesmos dados que a estratégia viu. Antes de cada ação o hash da partida é comparado com o da sombra;
+ * se a reprodução divergir (ou a partida mudar por fora), o turno é planejado de novo a partir do estado atual.
+ */
+final class PlanejadorEmSegundoPlano {
+
+    // Uma thread basta: só um jogador joga por vez. Também coordena as buscas da IAMonteCarlo.
+    static final ExecutorService PLANEJAMENTO = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "IA-planejamento");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final int MAX_TENTATIVAS = 3;
+
+    // Sombra de cada partida real. O mapa só é usado na thread do jogo; a sombra, só na PLANEJAMENTO
+    private static final Map<ControladorDePartida, ControladorSombra> SOMBRAS = new WeakHashMap<>();
+
+    private PlanejadorEmSegundoPlano() {}
+
+    /**
+     * Planeja o turno de 'jogador' em segundo plano e reproduz as ações pelo 'threadDoJogo'.
+     * Retorna logo; deve ser chamado na thread do jogo.
+     */
+    static void jogarTurno(EstrategiaIA estrategia, ControladorDePartida controlador, Jogador jogador, Executor threadDoJogo) {
+        planejar(estrategia, controlador, jogador, threadDoJogo, 1);
+    }
+
+    private static void planejar(EstrategiaIA estrategia, ControladorDePartida controlador, Jogador jogador,
+                                 Executor threadDoJogo, int tentativa) {
+        // Tudo o que vem da partida real é lido aqui, na thread do jogo
+        EstadoCompacto raiz = EstadoCompacto.capturar(controlador);
+        long sementeDados = controlador.getFonteAleatoria().getDados().nextLong();
+        controlador.ressemearDados(sementeDados);
+        ControladorSombra sombra = SOMBRAS.computeIfAbsent(controlador, c -> new ControladorSombra(
+            ControladorSombra.replicar(c.getJogadores()),
+            FonteAleatoria.sementeDerivada(c.getFonteAleatoria().getSemente(), 1)));
+        int id = jogador.getPlayerId();
+
+        CompletableFuture.supplyAsync(() -> {
+            if (!sombra.isIniciada()) sombra.iniciarPartida();
+            raiz.aplicarEm(sombra);
+            sombra.ressemearDados(sementeDados);
+            sombra.gravar();
+            estrategia.jogarTurnoSincrono(sombra, sombra.getJogadorPorId(id));
+            // Copia o plano: a sombra já pode estar planejando o próximo turno quando ele for reproduzido
+            return new Reproducao(estrategia, controlador, jogador, threadDoJogo, tentativa,
+                sombra.getAcoes(), sombra.getHashesAntes());
+        }, PLANEJAMENTO).whenComplete((reproducao, erro) -> threadDoJogo.execute(() -> {
+            if (erro != null) {
+                controlador.getLog().error("IA", "Falha no planejamento do turno: " + erro);
+                if (controlador.getJogadorAtual() == jogador && controlador.verificarVitoria() == null) {
+                    controlador.passarAVez();
+                }
+                return;
+            }
+            reproducao.run();
+        }));
+    }
+
+    /** Reproduz o plano gravado na partida real, uma ação por execução, e se reagenda até o plano acabar. */
+    private static final class Reproducao implements Runnable {
+        private final EstrategiaIA estrategia;
+        private final ControladorDePartida controlador;
+        private final Jogador jogador;
+        private final Executor threadDoJogo;
+        private final int tentativa;
+        private final List<int[]> acoes;
+        private final long[] hashesAntes;
+        private int proxima;
+
+        Reproducao(EstrategiaIA estrategia, ControladorDePartida controlador, Jogador jogador,
+                   Executor threadDoJogo, int tentativa, List<int[]> acoes, long[] hashesAntes) {
+            this.estrategia = estrategia;
+            this.controlador = controlador;
+            this.jogador = jogador;
+            this.threadDoJogo = threadDoJogo;
+            this.tentativa = tentativa;
+            this.acoes = acoes;
+            this.hashesAntes = hashesAntes;
+        }
+
+        @Override
+        public void run() {
+            // Turno ou partida encerrados (pelo próprio plano ou por fora): nada mais a fazer
+            if (controlador.getJogadorAtual() != jogador || controlador.verificarVitoria() != null) return;
+
+            if (proxima == acoes.size()) {
+                // Plano acabou sem passar a vez: encerra o turno
+                controlador.passarAVez();
+                return;
+            }
+
+            boolean ok = controlador.getHash() == hashesAntes[proxima]
+                && executar(controlador, acoes.get(proxima));
+            proxima++;
+            if (ok) {
+                threadDoJogo.execute(this);
+            } else if (tentativa < MAX_TENTATIVAS) {
+                controlador.getLog().log("IA", "Plano não se repetiu na partida. Planejando de novo.");
+                planejar(estrategia, controlador, jogador, threadDoJogo, tentativa + 1);
+            } else {
+                controlador.getLog().error("IA", "Plano divergiu " + tentativa + " vezes. Passando a vez.");
+                controlador.passarAVez();
+            }
+        }
+    }
+
+    /** Aplica uma ação gravada; false se o controlador recusou ou o resultado saiu diferente do planejado. */
+    private static boolean executar(ControladorDePartida controlador, int[] acao) {
+        Mapa mapa = controlador.getMapa();
+        switch (acao[0]) {
+            case ControladorSombra.ALOCAR:
+                return controlador.alocarTropas(mapa.getTerritorioPorId(acao[1]), acao[2]);
+            case ControladorSombra.TROCAR_CARTAS: {
+                BaralhoDeTroca baralho = controlador.getBaralho();
+                return controlador.tentarTrocaDeCartas(new ArrayList<>(List.of(
+                    baralho.getCartaPorId(acao[1]), baralho.getCartaPorId(acao[2]), baralho.getCartaPorId(acao[3]))));
+            }
+            case ControladorSombra.ATACAR: {
+                ResultadoCombate r = controlador.realizarAtaque(mapa.getTerritorioPorId(acao[1]), mapa.getTerritorioPorId(acao[2]));
+                return r.perdasAtacante == acao[4] && r.perdasDefensor == acao[5];
+            }
+            case ControladorSombra.ATACAR_COMPLETO: {
+                boolean amostrar = acao[3] < 0;
+                int limite = amostrar ? -1 - acao[3] : acao[3];
+                ResultadoBatalha r = controlador.realizarAtaqueCompleto(
+                    mapa.getTerritorioPorId(acao[1]), mapa.getTerritorioPorId(acao[2]), limite, amostrar);
+                return r.perdasAtacante == acao[4] && r.perdasDefensor == acao[5];
+            }
+            case ControladorSombra.MOVER_APOS_CONQUISTA:
+                return controlador.moverTropasAposConquista(mapa.getTerritorioPorId(acao[1]), mapa.getTerritorioPorId(acao[2]), acao[3]);
+            case ControladorSombra.MOVER:
+                return controlador.moverTropasEstrategicas(mapa.getTerritorioPorId(acao[1]), mapa.getTerritorioPorId(acao[2]), acao[3]);
+            case ControladorSombra.PROXIMA_FASE:
+                controlador.proximaFaseTurno();
+                return true;
+            case ControladorSombra.PASSAR_A_VEZ:
+                controlador.passarAVez();
+                return true;
+            case ControladorSombra.DESCARTAR_REFORCOS:
+                controlador.descartarReforcosRestantes();
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.gruposete.war.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Catálogo de estratégias de IA por nome. Cada criar() devolve uma instância nova
+ * (uma por jogador e partida), montada com o orçamento pedido.
+ *
+ * Registre tudo antes de usar: depois disso o registro pode ser lido por várias threads (ex.: torneios).
+ */
+public class RegistroDeEstrategias {
+
+    public static final String HEURISTICA = "heuristica";
+    public static final String PROBABILISTICA = "probabilistica";
+    public static final String MCTS = "mcts";
+
+    private final Map<String, Function<OrcamentoIA, EstrategiaIA>> fabricas = new LinkedHashMap<>();
+
+    /** Registro com as estratégias que já vêm no jogo. */
+    public static RegistroDeEstrategias comEstrategiasPadrao() {
+        RegistroDeEstrategias registro = new RegistroDeEstrategias();
+        registro.registrar(HEURISTICA, orcamento -> new EstrategiaHeuristica(ConfiguracaoIA.PADRAO));
+        registro.registrar(PROBABILISTICA, orcamento -> new EstrategiaHeuristica(ConfiguracaoIA.PROBABILISTICA));
+        registro.registrar(MCTS, EstrategiaMonteCarlo::new);
+        return registro;
+    }
+
+    /** Registra (ou substitui) uma estratégia. A fábrica recebe o orçamento de cada jogador. */
+    public void registrar(String nome, Function<OrcamentoIA, EstrategiaIA> fabrica) {
+        fabricas.put(nome, fabrica);
+    }
+
+    public EstrategiaIA criar(String nome, OrcamentoIA orcamento) {
+        Function<OrcamentoIA, EstrategiaIA> fabrica = fabricas.get(nome);
+        if (fabrica == null) {
+            throw new IllegalArgumentException("Estratégia de IA desconhecida: " + nome);
+        }
+        return fabrica.apply(orcamento);
+    }
+
+    public EstrategiaIA criar(NivelDeDificuldade nivel) {
+        return criar(nivel.getEstrategia(), nivel.getOrcamento());
+    }
+
+    public boolean contem(String nome) {
+        return fabricas.containsKey(nome);
+    }
+
+    public List<String> getNomes() {
+        return new ArrayList<>(fabricas.keySet());
+    }
+}
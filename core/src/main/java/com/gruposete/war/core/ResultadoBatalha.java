@@ -0,0 +1,30 @@
+package com.gruposete.war.core;
+
+/**
+ * Resultado agregado de uma batalha resolvida de uma vez (ataque relâmpago): só as perdas totais, sem dados.
+ *
+ * A AtaqueLogica reutiliza a mesma instância a cada batalha: copie o que precisar guardar.
+ */
+public class ResultadoBatalha {
+    public AtaqueEstado estado;  // TERRITORIO_CONQUISTADO, TROPAS_INSUFICIENTES, ATAQUE_ENCERRADO_MANUALMENTE (parou no limite) ou SEM_ADJACENCIA
+    public int perdasAtacante;
+    public int perdasDefensor;
+
+    public ResultadoBatalha() {
+    }
+
+    public ResultadoBatalha(AtaqueEstado estado, int perdasAtacante, int perdasDefensor) {
+        definir(estado, perdasAtacante, perdasDefensor);
+    }
+
+    void definir(AtaqueEstado estado, int perdasAtacante, int perdasDefensor) {
+        this.estado = estado;
+        this.perdasAtacante = perdasAtacante;
+        this.perdasDefensor = perdasDefensor;
+    }
+
+    /** Cópia independente (a instância devolvida pela AtaqueLogica é reutilizada). */
+    public ResultadoBatalha copia() {
+        return new ResultadoBatalha(estado, perdasAtacante, perdasDefensor);
+    }
+}
@@ -1,17 +1,77 @@
 package com.gruposete.war.core;
 
+/**
+ * Resultado de uma rodada de dados.
+ *
+ * Os dados ficam empacotados num int (3 bits por dado, em ordem decrescente):
+ *   bits 0-8   = até 3 dados do atacante, bits 9-17 = até 3 dados do defensor,
+ *   bits 18-19 = quantidade de dados do atacante, bits 20-21 = quantidade do defensor.
+ * A visão Integer[] (getDadosAtacante/getDadosDefensor) só é criada se alguém pedir (ex.: a UI).
+ *
+ * A AtaqueLogica reutiliza a mesma instância a cada rodada: copie o que precisar guardar.
+ */
 public class ResultadoCombate {
     public AtaqueEstado estado;
-    public Integer[] dadosAtacante;
-    public Integer[] dadosDefensor;
     public int perdasAtacante;
     public int perdasDefensor;
+    private int dados;
 
-    public ResultadoCombate(AtaqueEstado estado, Integer[] dadosA, Integer[] dadosD, int perdasA, int perdasD) {
+    private Integer[] dadosAtacante;  // Visão para a UI, criada sob demanda
+    private Integer[] dadosDefensor;
+
+    public ResultadoCombate() {
+    }
+
+    public ResultadoCombate(AtaqueEstado estado, int dados, int perdasA, int perdasD) {
+        definir(estado, dados, perdasA, perdasD);
+    }
+
+    void definir(AtaqueEstado estado, int dados, int perdasA, int perdasD) {
         this.estado = estado;
-        this.dadosAtacante = dadosA;
-        this.dadosDefensor = dadosD;
+        this.dados = dados;
         this.perdasAtacante = perdasA;
         this.perdasDefensor = perdasD;
+        this.dadosAtacante = null;
+        this.dadosDefensor = null;
+    }
+
+    // --- EMPACOTAMENTO ---
+
+    /** @param ordenadosA dados do atacante já empacotados (3 bits cada, decrescentes), idem ordenadosD */
+    public static int empacotarDados(int ordenadosA, int qtdA, int ordenadosD, int qtdD) {
+        return ordenadosA | (ordenadosD << 9) | (qtdA << 18) | (qtdD << 20);
+    }
+
+    public int getDadosEmpacotados() { return dados; }
+    public int getQtdDadosAtacante() { return (dados >>> 18) & 3; }
+    public int getQtdDadosDefensor() { return (dados >>> 20) & 3; }
+
+    /** i-ésimo maior dado do atacante (0 = maior). */
+    public int getDadoAtacante(int i) { return (dados >>> (3 * i)) & 7; }
+
+    /** i-ésimo maior dado do defensor (0 = maior). */
+    public int getDadoDefensor(int i) { return (dados >>> (9 + 3 * i)) & 7; }
+
+    // --- VISÃO PARA A UI ---
+
+    public Integer[] getDadosAtacante() {
+        if (dadosAtacante == null) {
+            dadosAtacante = new Integer[getQtdDadosAtacante()];
+            for (int i = 0; i < dadosAtacante.length; i++) dadosAtacante[i] = getDadoAtacante(i);
+        }
+        return dadosAtacante;
+    }
+
+    public Integer[] getDadosDefensor() {
+        if (dadosDefensor == null) {
+            dadosDefensor = new Integer[getQtdDadosDefensor()];
+            for (int i = 0; i < dadosDefensor.length; i++) dadosDefensor[i] = getDadoDefensor(i);
+        }
+        return dadosDefensor;
+    }
+
+    /** Cópia independente (a instância devolvida pela AtaqueLogica é reutilizada). */
+    public ResultadoCombate copia() {
+        return new ResultadoCombate(estado, dados, perdasAtacante, perdasDefensor);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.gruposete.war.core;
+
+import java.util.List;
+
+/**
+ * Resultado de uma partida jogada pelo MotorHeadless.
+ */
+public class ResultadoPartida {
+    public final Jogador vencedor;           // null se a partida bateu o limite de turnos
+    public final List<Jogador> jogadores;    // Na ordem de turno (ID 1 = índice 0)
+    public final int turnosJogados;
+    public final boolean atingiuLimite;
+    public final long semente;               // Reproduz a partida com MotorHeadless.setSemente()
+
+    public ResultadoPartida(Jogador vencedor, List<Jogador> jogadores, int turnosJogados, boolean atingiuLimite) {
+        this(vencedor, jogadores, turnosJogados, atingiuLimite, 0L);
+    }
+
+    public ResultadoPartida(Jogador vencedor, List<Jogador> jogadores, int turnosJogados, boolean atingiuLimite, long semente) {
+        this.vencedor = vencedor;
+        this.jogadores = jogadores;
+        this.turnosJogados = turnosJogados;
+        this.atingiuLimite = atingiuLimite;
+        this.semente = semente;
+    }
+}
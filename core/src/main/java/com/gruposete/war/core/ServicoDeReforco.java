@@ -2,27 +2,31 @@ package com.gruposete.war.core;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 public class ServicoDeReforco {
 
+    private static final Continente[] CONTINENTES = Continente.values();
+
     /**
      * Calcula todos os reforços do turno, separando por restrições de continente.
      * Retorna uma lista (fila) de lotes para o Controlador gerenciar.
      */
     public static List<LoteReforco> calcularReforcos(Jogador jogador, Mapa mapa) {
+        return calcularReforcos(Mapa.mascaraDe(jogador.getTerritorios()), mapa);
+    }
+
+    /**
+     * Mesmo cálculo, a partir do bitboard de posse do jogador (bit = ID do território).
+     */
+    public static List<LoteReforco> calcularReforcos(long mascaraJogador, Mapa mapa) {
         List<LoteReforco> filaDeReforcos = new ArrayList<>();
 
         // 1. Bônus por Continente (Prioridade: Restritos primeiro)
-        Map<Continente, List<Territorio>> mapaContinentes = mapa.getTerritoriosPorContinente();
-
-        for (Map.Entry<Continente, List<Territorio>> entry : mapaContinentes.entrySet()) {
-            Continente continente = entry.getKey();
-            List<Territorio> territoriosDoContinente = entry.getValue();
+        for (Continente continente : Continente.values()) {
+            long mascaraContinente = mapa.getMascaraContinente(continente);
 
-            // Verifica se o jogador possui todos os territórios do continente (pelo ID)
-            boolean domina = territoriosDoContinente.stream()
-                .allMatch(t -> t.getPlayerId() == jogador.getPlayerId());
+            // Domina se possui todos os territórios do continente
+            boolean domina = mascaraContinente != 0 && (mascaraJogador & mascaraContinente) == mascaraContinente;
 
             if (domina) {
                 filaDeReforcos.add(new LoteReforco(continente.getBonusExercitos(), continente));
@@ -30,7 +34,7 @@ public class ServicoDeReforco {
         }
 
         // 2. Reforço Base Global (Sem restrição)
-        int numTerritorios = jogador.getTerritorios().size();
+        int numTerritorios = Long.bitCount(mascaraJogador);
 
         // Regra padrão War: Total / 2 (Arredondado para baixo). Mínimo de 3.
         int bonusBase = numTerritorios / 3;
@@ -44,4 +48,18 @@ public class ServicoDeReforco {
 
         return filaDeReforcos;
     }
+
+    /**
+     * Total de tropas do turno (todos os lotes somados), sem montar a fila. Não aloca.
+     */
+    public static int totalDeReforcos(long mascaraJogador, Mapa mapa) {
+        int total = Math.max(3, Long.bitCount(mascaraJogador) / 3);
+        for (Continente continente : CONTINENTES) {
+            long mascaraContinente = mapa.getMascaraContinente(continente);
+            if (mascaraContinente != 0 && (mascaraJogador & mascaraContinente) == mascaraContinente) {
+                total += continente.getBonusExercitos();
+            }
+        }
+        return total;
+    }
 }
@@ -2,7 +2,7 @@ package com.gruposete.war.core;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.SplittableRandom;
 import com.badlogic.gdx.utils.Array;
 
 import com.gruposete.war.core.Jogador;
@@ -23,10 +23,22 @@ public class SetupPartida {
     private Array<Territorio> todosOsTerritorios;
     private List<Objetivo> deckDeObjetivos;
     private Mapa mapaAdjacencias; 
+    private final LogDePartida log;
+    private final SplittableRandom random;  // Sorteios do setup (ordem, objetivos, territórios)
 
     // Construtor, recebe lista de jogadores (criada pela UI)
     public SetupPartida(List<Jogador> jogadores) {
+        this(jogadores, LogDePartida.GDX);
+    }
+
+    public SetupPartida(List<Jogador> jogadores, LogDePartida log) {
+        this(jogadores, log, new FonteAleatoria().getSetup());
+    }
+
+    public SetupPartida(List<Jogador> jogadores, LogDePartida log, SplittableRandom random) {
         this.jogadores = jogadores; // Recebe os jogadores 
+        this.log = log;
+        this.random = random;
         
         carregarRecursosDoJogo();
         definirOrdemDosTurnos();
@@ -37,7 +49,7 @@ public class SetupPartida {
     // Carrega territórios e objetivos
     private void carregarRecursosDoJogo() {
         this.todosOsTerritorios = Utils.geradorTerritorios();
-        System.out.println("SETUP: " + this.todosOsTerritorios.size + " territórios carregados do Utils.");
+        log.log("SETUP", this.todosOsTerritorios.size + " territórios carregados do Utils.");
 
         // Gera o mapa de adjacencias
         this.mapaAdjacencias = new Mapa(todosOsTerritorios);
@@ -62,13 +74,13 @@ public class SetupPartida {
         idObjetivos++;
         this.deckDeObjetivos.add(new Objetivo(idObjetivos, "Conquistar 18 territorios e ocupar cada um deles com pelo menos 2 exércitos", "assets\\Carta\\52.png", 18));
 
-        System.out.println("SETUP: Cartas de objetivo (reais) carregadas.");
+        log.log("SETUP", "Cartas de objetivo (reais) carregadas.");
     }
 
     // Define a sequência de turnos embaralhando a lista de jogadores.
     private void definirOrdemDosTurnos() {
-    System.out.println("SETUP: Embaralhando ordem dos turnos...");
-    Collections.shuffle(this.jogadores); // Embaralha a ordem de turnos
+    log.log("SETUP", "Embaralhando ordem dos turnos...");
+    FonteAleatoria.embaralhar(this.jogadores, random); // Embaralha a ordem de turnos
 
     for (int i = 0; i < this.jogadores.size(); i++) {
         Jogador jogador = this.jogadores.get(i);
@@ -84,22 +96,25 @@ public class SetupPartida {
     }
     // FIM DA SINCRONIZAÇÃO
     
-    System.out.print("SETUP: Ordem definida: ");
-    for (int i = 0; i < this.jogadores.size(); i++) {
-        System.out.print((i + 1) + "º: " + this.jogadores.get(i).getNome() + " (ID: " + this.jogadores.get(i).getPlayerId() + ") | ");
+    if (log.isAtivo()) {
+        StringBuilder ordem = new StringBuilder("Ordem definida: ");
+        for (int i = 0; i < this.jogadores.size(); i++) {
+            ordem.append(i + 1).append("º: ").append(this.jogadores.get(i).getNome())
+                 .append(" (ID: ").append(this.jogadores.get(i).getPlayerId()).append(") | ");
+        }
+        log.log("SETUP", ordem.toString());
     }
-    System.out.println();
 }
 
     // Sorteia e distribui as cartas de objetivo.
     private void distribuirObjetivos() {
-        System.out.println("SETUP: Distribuindo objetivos...");
+        log.log("SETUP", "Distribuindo objetivos...");
         
-        Collections.shuffle(this.deckDeObjetivos);
+        FonteAleatoria.embaralhar(this.deckDeObjetivos, random);
 
         for (Jogador jogador : this.jogadores) {
             if (this.deckDeObjetivos.isEmpty()) {
-                System.err.println("ERRO DE SETUP: Não há cartas de objetivo suficientes para todos os jogadores!"); 
+                log.error("SETUP", "Não há cartas de objetivo suficientes para todos os jogadores!"); 
                 break;
             }
             
@@ -109,7 +124,7 @@ public class SetupPartida {
             // Verificação para que um jogador não receba um Objetivo de eliminar a sí mesmo
             if (objetivoSorteado.getTipo() == TipoDeObjetivo.ELIMINAR_JOGAOR && objetivoSorteado.getCorJogadorAlvo() == jogador.getCor()){
                 if (this.deckDeObjetivos.isEmpty()) {
-                    System.err.println("ERRO DE SETUP: Jogador foi sorteado com um Objetivo para eliminar a sí mesmo e não há mais cartas de objetivo suficientes!"); 
+                    log.error("SETUP", "Jogador foi sorteado com um Objetivo para eliminar a sí mesmo e não há mais cartas de objetivo suficientes!"); 
                     break;
                 }
                 
@@ -129,9 +144,9 @@ public class SetupPartida {
 
     // Sorteia e distribui os territórios.
     private void distribuirTerritorios() {
-        System.out.println("SETUP: Distribuindo territórios...");
+        log.log("SETUP", "Distribuindo territórios...");
         
-        this.todosOsTerritorios.shuffle();
+        FonteAleatoria.embaralhar(this.todosOsTerritorios, random);
         int numJogadores = this.jogadores.size();
         
         for (int i = 0; i < this.todosOsTerritorios.size; i++) {
@@ -153,7 +168,7 @@ public class SetupPartida {
             territorio.incrementarTropas(); 
         }
         
-        System.out.println("SETUP: Distribuição de territórios CONCLUÍDA.");
+        log.log("SETUP", "Distribuição de territórios CONCLUÍDA.");
     }
 
     
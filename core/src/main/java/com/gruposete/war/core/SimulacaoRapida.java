@@ -0,0 +1,253 @@
+package com.gruposete.war.core;
+
+import java.util.SplittableRandom;
+
+/**
+ * Regras simplificadas do jogo aplicadas direto sobre um EstadoCompacto, para busca (IAMonteCarlo).
+ * Nada aqui aloca: pode ser chamado milhões de vezes por segundo, em várias threads
+ * (cada thread com o seu EstadoCompacto e o seu SplittableRandom; o Mapa só é lido).
+ *
+ * Simplificações em relação ao ControladorDePartida:
+ *  - Cartas e trocas são ignoradas (nenhum bônus de troca).
+ *  - Objetivos são ignorados: o estado é avaliado por uma heurística (avaliar()).
+ *  - Batalhas são resolvidas de uma vez (TabelaProbabilidadeCombate.sortearDesfecho);
+ *    depois da conquista o atacante move o máximo permitido (até 3).
+ */
+public class SimulacaoRapida {
+
+    private static final Continente[] CONTINENTES = Continente.values();
+    private static final ControladorDePartida.EstadoTurno DISTRIBUINDO = ControladorDePartida.EstadoTurno.DISTRIBUINDO;
+
+    // Na política gulosa dos rollouts, só ataca com pelo menos esta chance de conquista
+    static final double CHANCE_MINIMA_ROLLOUT = 0.6;
+
+    private SimulacaoRapida() {
+    }
+
+    // --- CONSULTAS ---
+
+    public static long mascaraDe(EstadoCompacto e, int jogador) {
+        long mascara = 0L;
+        for (int t = 0; t < Mapa.NUM_TERRITORIOS; t++) {
+            if (e.getDono(t) == jogador) mascara |= 1L << t;
+        }
+        return mascara;
+    }
+
+    public static boolean isVivo(EstadoCompacto e, int jogador) {
+        for (int t = 0; t < Mapa.NUM_TERRITORIOS; t++) {
+            if (e.getDono(t) == jogador) return true;
+        }
+        return false;
+    }
+
+    /** Território do dono atual com pelo menos um vizinho inimigo. */
+    public static boolean isFronteira(EstadoCompacto e, Mapa mapa, int t) {
+        int dono = e.getDono(t);
+        int[] offsets = mapa.getOffsets();
+        int[] vizinhos = mapa.getVizinhos();
+        for (int k = offsets[t]; k < offsets[t + 1]; k++) {
+            if (e.getDono(vizinhos[k]) != dono) return true;
+        }
+        return false;
+    }
+
+    /** Vizinho inimigo com menos tropas, ou -1. */
+    public static int inimigoMaisFraco(EstadoCompacto e, Mapa mapa, int t) {
+        int dono = e.getDono(t);
+        int[] offsets = mapa.getOffsets();
+        int[] vizinhos = mapa.getVizinhos();
+        int melhor = -1;
+        for (int k = offsets[t]; k < offsets[t + 1]; k++) {
+            int v = vizinhos[k];
+            if (e.getDono(v) != dono && (melhor < 0 || e.getTropas(v) < e.getTropas(melhor))) melhor = v;
+        }
+        return melhor;
+    }
+
+    // --- AÇÕES ---
+
+    /** Coloca o lote atual inteiro no território e avança a fila (e a fase, se a fila acabou). */
+    public static void alocarLote(EstadoCompacto e, Mapa mapa, int territorio) {
+        e.setTropas(territorio, e.getTropas(territorio) + e.getLoteQuantidade(0));
+        e.removerPrimeiroLote();
+        if (e.getNumLotes() == 0) {
+            if (e.isPrimeiraRodada()) {
+                passarAVez(e, mapa);
+            } else {
+                e.setFase(ControladorDePartida.EstadoTurno.ATACANDO);
+            }
+        }
+    }
+
+    /**
+     * Batalha até o fim; na conquista move min(3, tropas - 1) para o território conquistado.
+     * @return true se conquistou
+     */
+    public static boolean atacar(EstadoCompacto e, int origem, int alvo, SplittableRandom random) {
+        int desfecho = TabelaProbabilidadeCombate.sortearDesfecho(e.getTropas(origem), e.getTropas(alvo), 1, random);
+        int restantes = TabelaProbabilidadeCombate.atacanteDoDesfecho(desfecho);
+        int defensor = TabelaProbabilidadeCombate.defensorDoDesfecho(desfecho);
+
+        if (defensor > 0) {
+            e.setTropas(origem, restantes);
+            e.setTropas(alvo, defensor);
+            return false;
+        }
+        int mover = Math.min(3, restantes - 1);
+        e.setTropas(origem, restantes - mover);
+        e.setTropas(alvo, mover);
+        e.setDono(alvo, e.getDono(origem));
+        e.setConquistouNesteTurno(true);
+        return true;
+    }
+
+    /** Entra na movimentação: registra o limite de saída de cada território do jogador da vez. */
+    public static void iniciarMovimentacao(EstadoCompacto e) {
+        int jogador = e.getJogadorAtual();
+        for (int t = 0; t < Mapa.NUM_TERRITORIOS; t++) {
+            e.setLimiteMovimento(t, e.getDono(t) == jogador ? e.getTropas(t) : EstadoCompacto.SEM_LIMITE);
+        }
+        e.setFase(ControladorDePartida.EstadoTurno.MOVIMENTANDO);
+    }
+
+    /** Quantas tropas podem sair do território na movimentação (mesma regra do controlador). */
+    public static int tropasMoveis(EstadoCompacto e, int t) {
+        int limite = e.getLimiteMovimento(t);
+        int disponivel = e.getTropas(t) - 1;
+        return (limite == EstadoCompacto.SEM_LIMITE) ? disponivel : Math.min(limite, disponivel);
+    }
+
+    public static void mover(EstadoCompacto e, int origem, int destino, int quantidade) {
+        e.setTropas(origem, e.getTropas(origem) - quantidade);
+        e.setTropas(destino, e.getTropas(destino) + quantidade);
+        int limite = e.getLimiteMovimento(origem);
+        if (limite != EstadoCompacto.SEM_LIMITE) e.setLimiteMovimento(origem, limite - quantidade);
+    }
+
+    /** Passa para o próximo jogador vivo, já com a fila de reforços calculada. */
+    public static void passarAVez(EstadoCompacto e, Mapa mapa) {
+        int n = e.getNumJogadores();
+        int indice = e.getIndiceJogadorAtual();
+        for (int i = 0; i < n; i++) {
+            if (indice + 1 == n) e.setPrimeiraRodada(false);
+            indice = (indice + 1) % n;
+            if (isVivo(e, indice + 1)) break;
+        }
+        e.setIndiceJogadorAtual(indice);
+        e.setFase(DISTRIBUINDO);
+        e.setConquistouNesteTurno(false);
+        for (int t = 0; t < Mapa.NUM_TERRITORIOS; t++) e.setLimiteMovimento(t, EstadoCompacto.SEM_LIMITE);
+
+        e.limparLotes();
+        long mascara = mascaraDe(e, indice + 1);
+        for (Continente c : CONTINENTES) {
+            long mc = mapa.getMascaraContinente(c);
+            if (mc != 0 && (mascara & mc) == mc) e.adicionarLote(c.getBonusExercitos(), c.ordinal());
+        }
+        e.adicionarLote(Math.max(3, Long.bitCount(mascara) / 3), EstadoCompacto.SEM_RESTRICAO);
+    }
+
+    // --- POLÍTICA GULOSA (ROLLOUTS) ---
+
+    /**
+     * Joga o turno do jogador da vez até o fim, a partir de qualquer fase, e passa a vez:
+     * cada lote vai para a fronteira com o melhor ataque, depois ataca enquanto houver
+     * chance >= CHANCE_MINIMA_ROLLOUT. Não movimenta (na movimentação, só passa a vez).
+     */
+    public static void jogarTurnoGuloso(EstadoCompacto e, Mapa mapa, SplittableRandom random) {
+        if (e.getFase() == ControladorDePartida.EstadoTurno.MOVIMENTANDO) {
+            passarAVez(e, mapa);
+            return;
+        }
+        TabelaProbabilidadeCombate tabela = TabelaProbabilidadeCombate.padrao();
+        int jogador = e.getJogadorAtual();
+
+        if (e.getFase() == DISTRIBUINDO) {
+            boolean primeira = e.isPrimeiraRodada();
+            while (e.getNumLotes() > 0) {
+                int restricao = e.getLoteRestricao(0);
+                int melhor = -1;
+                double melhorChance = -1;
+                for (int t = 0; t < Mapa.NUM_TERRITORIOS; t++) {
+                    if (e.getDono(t) != jogador) continue;
+                    if (restricao != EstadoCompacto.SEM_RESTRICAO && Mapa.getContinentePorId(t).ordinal() != restricao) continue;
+                    int alvo = inimigoMaisFraco(e, mapa, t);
+                    // Interior só serve se não houver nenhuma fronteira (chance -0.5 < qualquer fronteira)
+                    double chance = (alvo < 0) ? -0.5
+                        : tabela.getChanceDeConquista(e.getTropas(t) + e.getLoteQuantidade(0), e.getTropas(alvo));
+                    if (chance > melhorChance) {
+                        melhorChance = chance;
+                        melhor = t;
+                    }
+                }
+                if (melhor < 0) {
+                    e.removerPrimeiroLote();
+                    continue;
+                }
+                e.setTropas(melhor, e.getTropas(melhor) + e.getLoteQuantidade(0));
+                e.removerPrimeiroLote();
+            }
+            if (primeira) {
+                passarAVez(e, mapa);
+                return;
+            }
+        }
+
+        int[] offsets = mapa.getOffsets();
+        int[] vizinhos = mapa.getVizinhos();
+        for (int ataques = 0; ataques < Mapa.NUM_TERRITORIOS; ataques++) {
+            int melhorOrigem = -1, melhorAlvo = -1;
+            double melhorChance = CHANCE_MINIMA_ROLLOUT;
+            for (int t = 0; t < Mapa.NUM_TERRITORIOS; t++) {
+                if (e.getDono(t) != jogador || e.getTropas(t) < 2) continue;
+                for (int k = offsets[t]; k < offsets[t + 1]; k++) {
+                    int v = vizinhos[k];
+                    if (e.getDono(v) == jogador) continue;
+                    double chance = tabela.getChanceDeConquista(e.getTropas(t), e.getTropas(v));
+                    if (chance >= melhorChance) {
+                        melhorChance = chance;
+                        melhorOrigem = t;
+                        melhorAlvo = v;
+                    }
+                }
+            }
+            if (melhorOrigem < 0) break;
+            atacar(e, melhorOrigem, melhorAlvo, random);
+        }
+
+        passarAVez(e, mapa);
+    }
+
+    // --- AVALIAÇÃO ---
+
+    /**
+     * Valor do estado para o jogador, entre 0 (eliminado) e 1 (dono do mapa todo):
+     * média das suas parcelas de territórios, de tropas e de reforços por turno.
+     */
+    public static double avaliar(EstadoCompacto e, Mapa mapa, int jogador) {
+        long mascara = mascaraDe(e, jogador);
+        if (mascara == 0L) return 0.0;
+        int meus = Long.bitCount(mascara);
+        if (meus == Mapa.NUM_TERRITORIOS) return 1.0;
+
+        int minhasTropas = 0, totalTropas = 0;
+        for (int t = 0; t < Mapa.NUM_TERRITORIOS; t++) {
+            totalTropas += e.getTropas(t);
+            if (e.getDono(t) == jogador) minhasTropas += e.getTropas(t);
+        }
+
+        int meuReforco = 0, totalReforco = 0;
+        for (int j = 1; j <= e.getNumJogadores(); j++) {
+            long m = (j == jogador) ? mascara : mascaraDe(e, j);
+            if (m == 0L) continue;
+            int r = ServicoDeReforco.totalDeReforcos(m, mapa);
+            totalReforco += r;
+            if (j == jogador) meuReforco = r;
+        }
+
+        return ((double) meus / Mapa.NUM_TERRITORIOS
+            + (double) minhasTropas / Math.max(1, totalTropas)
+            + (double) meuReforco / Math.max(1, totalReforco)) / 3.0;
+    }
+}
@@ -0,0 +1,169 @@
+package com.gruposete.war.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Tabela de transposição de tamanho fixo, fora do heap (ByteBuffer direto), para IAs de busca.
+ * Guarda, por hash de estado (HashZobrist), a média dos valores já observados e quantas amostras ela tem,
+ * para reaproveitar avaliações entre ramos irmãos, entre workers e entre turnos seguidos.
+ *
+ * Layout: baldes de 4 entradas de 16 bytes (uma linha de cache). Cada entrada guarda
+ * [chave ^ dados][dados]; 'dados' = média (float, 32 bits) | geração (8 bits) | amostras (24 bits).
+ *
+ * Sem locks: leituras e escritas concorrentes de 64 bits são atômicas (VarHandle opaco), e uma entrada
+ * escrita pela metade por outra thread não confere no XOR da chave e é tratada como ausente.
+ * Atualizações simultâneas da mesma entrada podem perder uma amostra, o que não atrapalha a busca.
+ *
+ * Substituição: a chave já presente no balde; senão uma entrada vazia; senão a de geração mais antiga
+ * (empate: a com menos amostras). A geração avança com novaGeracao() (ex.: a cada turno).
+ */
+public class TabelaDeTransposicao {
+
+    public static final long NAO_ENCONTRADO = 0L;
+
+    private static final int BYTES_POR_ENTRADA = 16;
+    private static final int ENTRADAS_POR_BALDE = 4;
+    private static final int BYTES_POR_BALDE = BYTES_POR_ENTRADA * ENTRADAS_POR_BALDE;
+    // Um ByteBuffer indexa no máximo 2 GB: tabelas maiores são divididas em segmentos de 1 GB
+    private static final int BITS_SEGMENTO = 30;
+    static final int MAX_AMOSTRAS = (1 << 24) - 1;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer[] segmentos;
+    private final long numBaldes;             // Potência de 2
+    private final int baldesPorSegmentoBits;
+    private volatile int geracao;
+
+    /** @param megabytes orçamento de memória; arredondado para baixo para uma potência de 2 de baldes */
+    public TabelaDeTransposicao(long megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Tamanho inválido para a tabela de transposição: " + megabytes + " MB");
+        }
+        long baldes = Long.highestOneBit(megabytes * 1024 * 1024 / BYTES_POR_BALDE);
+        long bytes = baldes * BYTES_POR_BALDE;
+        int numSegmentos = (int) Math.max(1, bytes >>> BITS_SEGMENTO);
+        int bytesPorSegmento = (int) (bytes / numSegmentos);
+
+        this.numBaldes = baldes;
+        this.baldesPorSegmentoBits = Integer.numberOfTrailingZeros(bytesPorSegmento / BYTES_POR_BALDE);
+        this.segmentos = new ByteBuffer[numSegmentos];
+        for (int i = 0; i < numSegmentos; i++) {
+            segmentos[i] = ByteBuffer.allocateDirect(bytesPorSegmento).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    // --- CONSULTA E GRAVAÇÃO ---
+
+    /** Dados da entrada da chave (ver media()/amostras()), ou NAO_ENCONTRADO. */
+    public long sondar(long chave) {
+        ByteBuffer seg = segmento(chave);
+        int base = deslocamento(chave);
+        for (int i = 0; i < ENTRADAS_POR_BALDE; i++) {
+            int pos = base + i * BYTES_POR_ENTRADA;
+            long dados = (long) LONGS.getOpaque(seg, pos + 8);
+            if (dados != NAO_ENCONTRADO && ((long) LONGS.getOpaque(seg, pos) ^ dados) == chave) return dados;
+        }
+        return NAO_ENCONTRADO;
+    }
+
+    /**
+     * Soma uma amostra de valor (0..1) à entrada da chave, criando-a se preciso.
+     * @return a média atualizada
+     */
+    public double registrar(long chave, double valor) {
+        ByteBuffer seg = segmento(chave);
+        int base = deslocamento(chave);
+        int gen = geracao;
+
+        // 1. A chave já está no balde: acumula a amostra
+        for (int i = 0; i < ENTRADAS_POR_BALDE; i++) {
+            int pos = base + i * BYTES_POR_ENTRADA;
+            long dados = (long) LONGS.getOpaque(seg, pos + 8);
+            if (dados != NAO_ENCONTRADO && ((long) LONGS.getOpaque(seg, pos) ^ dados) == chave) {
+                int n = amostras(dados);
+                double media = (media(dados) * n + valor) / (n + 1);
+                gravar(seg, pos, chave, empacotar(media, gen, Math.min(MAX_AMOSTRAS, n + 1)));
+                return media;
+            }
+        }
+
+        // 2. Entrada nova: vaga livre, senão a mais velha (empate: a com menos amostras)
+        int alvo = base;
+        int piorIdade = -1, menosAmostras = Integer.MAX_VALUE;
+        for (int i = 0; i < ENTRADAS_POR_BALDE; i++) {
+            int pos = base + i * BYTES_POR_ENTRADA;
+            long dados = (long) LONGS.getOpaque(seg, pos + 8);
+            if (dados == NAO_ENCONTRADO) {
+                alvo = pos;
+                break;
+            }
+            int idade = (gen - geracao(dados)) & 0xFF;
+            if (idade > piorIdade || (idade == piorIdade && amostras(dados) < menosAmostras)) {
+                alvo = pos;
+                piorIdade = idade;
+                menosAmostras = amostras(dados);
+            }
+        }
+        gravar(seg, alvo, chave, empacotar(valor, gen, 1));
+        return valor;
+    }
+
+    private static void gravar(ByteBuffer seg, int pos, long chave, long dados) {
+        LONGS.setOpaque(seg, pos, chave ^ dados);
+        LONGS.setOpaque(seg, pos + 8, dados);
+    }
+
+    /** Avança a geração: entradas de gerações anteriores passam a ser substituídas primeiro. */
+    public void novaGeracao() {
+        geracao = (geracao + 1) & 0xFF;
+    }
+
+    /** Apaga todas as entradas (ex.: nova partida). Não pode rodar junto com uma busca. */
+    public void limpar() {
+        for (ByteBuffer seg : segmentos) {
+            for (int pos = 0; pos < seg.capacity(); pos += 8) seg.putLong(pos, 0L);
+        }
+    }
+
+    public long getNumEntradas() {
+        return numBaldes * ENTRADAS_POR_BALDE;
+    }
+
+    // --- DADOS EMPACOTADOS ---
+
+    public static double media(long dados) {
+        return Float.intBitsToFloat((int) (dados >>> 32));
+    }
+
+    public static int amostras(long dados) {
+        return (int) dados & MAX_AMOSTRAS;
+    }
+
+    static int geracao(long dados) {
+        return (int) (dados >>> 24) & 0xFF;
+    }
+
+    // Amostras >= 1, então dados nunca é NAO_ENCONTRADO
+    private static long empacotar(double media, int geracao, int amostras) {
+        return ((long) Float.floatToIntBits((float) media) << 32) | ((long) geracao << 24) | amostras;
+    }
+
+    // --- ENDEREÇAMENTO ---
+
+    // Bits baixos da chave (Zobrist já é uniforme); a chave inteira é conferida na leitura
+    private long balde(long chave) {
+        return chave & (numBaldes - 1);
+    }
+
+    private ByteBuffer segmento(long chave) {
+        return segmentos[(int) (balde(chave) >>> baldesPorSegmentoBits)];
+    }
+
+    private int deslocamento(long chave) {
+        return (int) (balde(chave) & ((1L << baldesPorSegmentoBits) - 1)) * BYTES_POR_BALDE;
+    }
+}
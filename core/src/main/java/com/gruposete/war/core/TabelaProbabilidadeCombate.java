@@ -0,0 +1,324 @@
+package com.gruposete.war.core;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Probabilidades exatas de uma batalha levada até o fim (cadeia de Markov sobre as regras de AtaqueLogica):
+ * o atacante rola min(tropas - 1, 3) dados, o defensor min(tropas, 3), os maiores são comparados
+ * par a par e o empate é do defensor.
+ *
+ * "Até o fim" = o atacante ataca até conquistar ou ficar com 1 tropa no território.
+ * As tropas são as do território (o atacante com 'a' tropas ataca com a - 1).
+ *
+ * A tabela é calculada uma vez (programação dinâmica, O(limite²)) e as consultas são O(1).
+ *
+ * Também sorteia batalhas inteiras (ataque relâmpago) direto das distribuições exatas,
+ * sem rolar dados: ver simularBatalha() e sortearDesfecho().
+ */
+public class TabelaProbabilidadeCombate {
+
+    public static final int LIMITE_PADRAO = 200;
+
+    // PERDAS_DEFENSOR[dadosA][dadosD][k] = chance de o defensor perder k tropas numa rodada (o atacante perde o resto)
+    private static final double[][][] PERDAS_DEFENSOR = new double[4][4][];
+
+    static {
+        for (int na = 1; na <= 3; na++) {
+            for (int nd = 1; nd <= 3; nd++) {
+                PERDAS_DEFENSOR[na][nd] = distribuicaoDaRodada(na, nd);
+            }
+        }
+    }
+
+    // Distribuições de desfecho ficam numa tabela fixa até este tamanho de exército e esta parada
+    // (os casos comuns de jogo): no máximo 3 x 64 x 64 entradas, preenchidas no primeiro uso
+    static final int LIMITE_CACHE_DESFECHO = 64;
+    static final int PARADA_MAXIMA_CACHE = 3;
+    private static final DistribuicaoDesfecho[] CACHE_DESFECHO =
+        new DistribuicaoDesfecho[PARADA_MAXIMA_CACHE * LIMITE_CACHE_DESFECHO * LIMITE_CACHE_DESFECHO];
+
+    private static class Padrao {
+        static final TabelaProbabilidadeCombate INSTANCIA = new TabelaProbabilidadeCombate(LIMITE_PADRAO);
+    }
+
+    private final int limite;
+    private final int largura;
+    // Índice = tropasAtacante * largura + tropasDefensor
+    private final double[] chanceConquista;
+    private final double[] restantesAtacante;
+    private final double[] restantesDefensor;
+
+    /** Tabela compartilhada até LIMITE_PADRAO (calculada no primeiro uso). */
+    public static TabelaProbabilidadeCombate padrao() {
+        return Padrao.INSTANCIA;
+    }
+
+    public TabelaProbabilidadeCombate(int limite) {
+        if (limite < 1) {
+            throw new IllegalArgumentException("Limite inválido: " + limite);
+        }
+        this.limite = limite;
+        this.largura = limite + 1;
+        int tamanho = largura * largura;
+        this.chanceConquista = new double[tamanho];
+        this.restantesAtacante = new double[tamanho];
+        this.restantesDefensor = new double[tamanho];
+        calcular();
+    }
+
+    // --- PROGRAMAÇÃO DINÂMICA ---
+
+    private void calcular() {
+        // Todo resultado de rodada reduz a e/ou d, então percorrer 'a' e depois 'd' crescentes
+        // garante que os estados seguintes já foram calculados.
+        for (int a = 0; a <= limite; a++) {
+            for (int d = 0; d <= limite; d++) {
+                int i = a * largura + d;
+                if (d == 0) {
+                    chanceConquista[i] = (a > 0) ? 1.0 : 0.0;
+                    restantesAtacante[i] = a;
+                    continue;
+                }
+                if (a <= 1) {
+                    restantesAtacante[i] = a;
+                    restantesDefensor[i] = d;
+                    continue;
+                }
+
+                int na = Math.min(a - 1, 3);
+                int nd = Math.min(d, 3);
+                int comparacoes = Math.min(na, nd);
+                double[] perdas = PERDAS_DEFENSOR[na][nd];
+
+                double p = 0, ea = 0, ed = 0;
+                for (int k = 0; k <= comparacoes; k++) {
+                    int j = (a - (comparacoes - k)) * largura + (d - k);
+                    p += perdas[k] * chanceConquista[j];
+                    ea += perdas[k] * restantesAtacante[j];
+                    ed += perdas[k] * restantesDefensor[j];
+                }
+                chanceConquista[i] = p;
+                restantesAtacante[i] = ea;
+                restantesDefensor[i] = ed;
+            }
+        }
+    }
+
+    /** Enumera todas as 6^(na+nd) jogadas e conta quantas tropas o defensor perde em cada uma. */
+    private static double[] distribuicaoDaRodada(int na, int nd) {
+        int comparacoes = Math.min(na, nd);
+        long[] contagem = new long[comparacoes + 1];
+        int totalDados = na + nd;
+        int jogadas = 1;
+        for (int i = 0; i < totalDados; i++) jogadas *= 6;
+
+        int[] atk = new int[na];
+        int[] def = new int[nd];
+        for (int jogada = 0; jogada < jogadas; jogada++) {
+            int resto = jogada;
+            for (int i = 0; i < na; i++) { atk[i] = resto % 6; resto /= 6; }
+            for (int i = 0; i < nd; i++) { def[i] = resto % 6; resto /= 6; }
+            ordenarDecrescente(atk);
+            ordenarDecrescente(def);
+
+            int perdasD = 0;
+            for (int i = 0; i < comparacoes; i++) {
+                if (def[i] < atk[i]) perdasD++;
+            }
+            contagem[perdasD]++;
+        }
+
+        double[] distribuicao = new double[comparacoes + 1];
+        for (int k = 0; k <= comparacoes; k++) distribuicao[k] = (double) contagem[k] / jogadas;
+        return distribuicao;
+    }
+
+    private static void ordenarDecrescente(int[] v) {
+        for (int i = 1; i < v.length; i++) {
+            int x = v[i];
+            int j = i - 1;
+            while (j >= 0 && v[j] < x) { v[j + 1] = v[j]; j--; }
+            v[j + 1] = x;
+        }
+    }
+
+    // --- CONSULTAS ---
+
+    /**
+     * Chance de uma rodada com dadosAtacante x dadosDefensor (1..3 cada) terminar com o defensor
+     * perdendo 'perdasDefensor' tropas (o atacante perde as comparações restantes).
+     */
+    public static double getChanceDaRodada(int dadosAtacante, int dadosDefensor, int perdasDefensor) {
+        double[] perdas = PERDAS_DEFENSOR[dadosAtacante][dadosDefensor];
+        return (perdasDefensor < 0 || perdasDefensor >= perdas.length) ? 0.0 : perdas[perdasDefensor];
+    }
+
+    /** Chance de o atacante conquistar o território atacando até o fim. */
+    public double getChanceDeConquista(int tropasAtacante, int tropasDefensor) {
+        return chanceConquista[indice(tropasAtacante, tropasDefensor)];
+    }
+
+    /** Tropas esperadas no território atacante ao fim da batalha (contando a que nunca ataca). */
+    public double getTropasRestantesAtacante(int tropasAtacante, int tropasDefensor) {
+        return restantesAtacante[indice(tropasAtacante, tropasDefensor)] * escala(tropasAtacante, tropasDefensor);
+    }
+
+    /** Tropas esperadas no território defensor ao fim da batalha (0 quando conquistado). */
+    public double getTropasRestantesDefensor(int tropasAtacante, int tropasDefensor) {
+        return restantesDefensor[indice(tropasAtacante, tropasDefensor)] * escala(tropasAtacante, tropasDefensor);
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    // --- SORTEIO DE BATALHAS ---
+    // Os desfechos são empacotados num int: (tropasAtacante << 16) | tropasDefensor, ao fim da batalha.
+
+    public static int desfecho(int tropasAtacante, int tropasDefensor) {
+        return (tropasAtacante << 16) | tropasDefensor;
+    }
+
+    public static int atacanteDoDesfecho(int desfecho) {
+        return desfecho >>> 16;
+    }
+
+    public static int defensorDoDesfecho(int desfecho) {
+        return desfecho & 0xFFFF;
+    }
+
+    /** Sorteia quantas tropas o defensor perde numa rodada, com um único número aleatório (sem rolar dados). */
+    public static int sortearPerdasDefensor(int dadosAtacante, int dadosDefensor, SplittableRandom random) {
+        double[] perdas = PERDAS_DEFENSOR[dadosAtacante][dadosDefensor];
+        double u = random.nextDouble();
+        int k = 0;
+        while (k < perdas.length - 1 && u >= perdas[k]) {
+            u -= perdas[k];
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * Joga a batalha rodada a rodada (uma amostra por rodada) até a conquista ou até o atacante
+     * ficar com 'limiteDeParada' tropas ou menos (mínimo 1). Não aloca.
+     * @return o desfecho empacotado
+     */
+    public static int simularBatalha(int tropasAtacante, int tropasDefensor, int limiteDeParada, SplittableRandom random) {
+        int parada = Math.max(1, limiteDeParada);
+        int a = tropasAtacante, d = tropasDefensor;
+        while (d > 0 && a > parada) {
+            int na = Math.min(a - 1, 3);
+            int nd = Math.min(d, 3);
+            int perdasD = sortearPerdasDefensor(na, nd, random);
+            d -= perdasD;
+            a -= Math.min(na, nd) - perdasD;
+        }
+        return desfecho(a, d);
+    }
+
+    /**
+     * Sorteia o desfecho da batalha inteira com um único número aleatório, a partir da distribuição
+     * exata dos estados finais (mesmas regras de simularBatalha). A distribuição de cada
+     * (atacante, defensor, parada) é calculada uma vez e fica em cache; exércitos acima de
+     * LIMITE_CACHE_DESFECHO ou parada acima de PARADA_MAXIMA_CACHE caem em simularBatalha().
+     */
+    public static int sortearDesfecho(int tropasAtacante, int tropasDefensor, int limiteDeParada, SplittableRandom random) {
+        int parada = Math.max(1, limiteDeParada);
+        if (tropasDefensor == 0 || tropasAtacante <= parada) return desfecho(tropasAtacante, tropasDefensor);
+        if (tropasAtacante > LIMITE_CACHE_DESFECHO || tropasDefensor > LIMITE_CACHE_DESFECHO || parada > PARADA_MAXIMA_CACHE) {
+            return simularBatalha(tropasAtacante, tropasDefensor, parada, random);
+        }
+
+        int i = ((parada - 1) * LIMITE_CACHE_DESFECHO + (tropasAtacante - 1)) * LIMITE_CACHE_DESFECHO + (tropasDefensor - 1);
+        // Corrida entre threads só recalcula a mesma distribuição (campos final: publicação segura)
+        DistribuicaoDesfecho dist = CACHE_DESFECHO[i];
+        if (dist == null) {
+            dist = calcularDesfecho(tropasAtacante, tropasDefensor, parada);
+            CACHE_DESFECHO[i] = dist;
+        }
+        return dist.sortear(random);
+    }
+
+    /** Estados finais possíveis de uma batalha e a probabilidade acumulada de cada um. */
+    private static final class DistribuicaoDesfecho {
+        final int[] desfechos;
+        final double[] acumulada;
+
+        DistribuicaoDesfecho(int[] desfechos, double[] acumulada) {
+            this.desfechos = desfechos;
+            this.acumulada = acumulada;
+        }
+
+        int sortear(SplittableRandom random) {
+            double u = random.nextDouble() * acumulada[acumulada.length - 1];
+            int lo = 0, hi = acumulada.length - 1;
+            while (lo < hi) {
+                int meio = (lo + hi) >>> 1;
+                if (acumulada[meio] > u) hi = meio; else lo = meio + 1;
+            }
+            return desfechos[lo];
+        }
+    }
+
+    /** Propaga a probabilidade do estado inicial até os estados finais (mesma ordem de dependência da tabela). */
+    private static DistribuicaoDesfecho calcularDesfecho(int a0, int d0, int parada) {
+        int larg = d0 + 1;
+        double[] massa = new double[(a0 + 1) * larg];
+        massa[a0 * larg + d0] = 1.0;
+
+        int[] desfechos = new int[a0 + 2 * larg + 2];
+        double[] acumulada = new double[desfechos.length];
+        int n = 0;
+        double soma = 0;
+
+        for (int a = a0; a >= 1; a--) {
+            for (int d = d0; d >= 0; d--) {
+                double m = massa[a * larg + d];
+                if (m == 0) continue;
+
+                if (d == 0 || a <= parada) {
+                    if (n == desfechos.length) {
+                        desfechos = Arrays.copyOf(desfechos, n * 2);
+                        acumulada = Arrays.copyOf(acumulada, n * 2);
+                    }
+                    soma += m;
+                    desfechos[n] = desfecho(a, d);
+                    acumulada[n++] = soma;
+                    continue;
+                }
+
+                int na = Math.min(a - 1, 3);
+                int nd = Math.min(d, 3);
+                int comparacoes = Math.min(na, nd);
+                double[] perdas = PERDAS_DEFENSOR[na][nd];
+                for (int k = 0; k <= comparacoes; k++) {
+                    massa[(a - (comparacoes - k)) * larg + (d - k)] += m * perdas[k];
+                }
+            }
+        }
+        return new DistribuicaoDesfecho(Arrays.copyOf(desfechos, n), Arrays.copyOf(acumulada, n));
+    }
+
+    /**
+     * Acima do limite, a consulta usa o estado proporcional dentro da tabela
+     * (aproximação: com exércitos grandes o resultado depende quase só da razão entre eles).
+     */
+    private int indice(int a, int d) {
+        if (a < 0 || d < 0) {
+            throw new IllegalArgumentException("Tropas negativas: " + a + " x " + d);
+        }
+        int maior = Math.max(a, d);
+        if (maior > limite) {
+            a = (int) ((long) a * limite / maior);
+            d = (int) ((long) d * limite / maior);
+        }
+        return a * largura + d;
+    }
+
+    private double escala(int a, int d) {
+        int maior = Math.max(a, d);
+        return (maior > limite) ? (double) maior / limite : 1.0;
+    }
+}
@@ -9,6 +9,8 @@ import com.badlogic.gdx.math.Vector2;
 import com.gruposete.war.utils.Utils;
 
 public class Territorio {
+    private final int id;       // ID estável (0..41) no mapa padrão, -1 se desconhecido
+    private final Continente continente;
     private String nome;
     private Polygon area;
     private int tropas;
@@ -17,6 +19,8 @@ public class Territorio {
 
     public Territorio(String nome,Color color, float[] vertices){
         this.nome = nome;
+        this.id = Mapa.getIdPorNome(nome);
+        this.continente = (this.id >= 0) ? Mapa.getContinentePorId(this.id) : null;
         float[] corrected_vertices = Utils.multiplicarPontos(vertices, 1.3f);
         this.area = new Polygon(corrected_vertices);
         this.area.setOrigin(0, 0);
@@ -69,6 +73,7 @@ public class Territorio {
         this.color = color;
     }
 
+    public int getId(){ return this.id; }
     public String getNome(){ return this.nome; }
     public int getTropas(){ return this.tropas; }
     public Polygon getArea(){ return this.area; }
@@ -76,50 +81,14 @@ public class Territorio {
     public Color getColor(){ return this.color; }
     public int getPlayerId(){ return this.playerId; };
 
-    // Método para recuperar o continente de um território, usado em VerificadorObjetivos
-    public String getContinente() {
-        String nome = this.getNome();
+    // Continente resolvido uma vez no construtor; null se o território não é do mapa padrão
+    public Continente getContinente() { return this.continente; }
 
-        if (nome.equals("Mexico") || nome.equals("California") || 
-            nome.equals("Nova Iorque") || nome.equals("Vancouver") || 
-            nome.equals("Ottawa") || nome.equals("Labrador") || 
-            nome.equals("Mackenzie") || nome.equals("Alasca") ||
-            nome.equals("Groenlândia")) {
-            return "América do Norte";
+    // Nome do continente de um território (para exibição e log)
+    public String getNomeContinente() {
+        if (this.continente != null) {
+            return this.continente.getNome();
         }
-
-        if (nome.equals("Brasil") || nome.equals("Peru") || 
-            nome.equals("Argentina") || nome.equals("Venezuela")) {
-            return "América do Sul";
-        }
-
-        if (nome.equals("Argelia") || nome.equals("Congo") || 
-            nome.equals("Africa do Sul") || nome.equals("Sudão") || 
-            nome.equals("Egito") || nome.equals("Madagascar")) {
-            return "África";
-        }
-
-        if (nome.equals("Australia") || nome.equals("Nova Guiné") || 
-            nome.equals("Sumatra") || nome.equals("Borneo")) {
-            return "Oceania";
-        }
-
-        if (nome.equals("Islândia") || nome.equals("Inglaterra") || 
-            nome.equals("França") || nome.equals("Alemanha") || 
-            nome.equals("Polônia") || nome.equals("Moscou") || 
-            nome.equals("Suécia")) {
-            return "Europa";
-        }
-
-        if (nome.equals("Oriente Médio") || nome.equals("India") || 
-            nome.equals("Aral") || nome.equals("Omsk") || 
-            nome.equals("Dudinka") || nome.equals("Mongólia") || 
-            nome.equals("Tchita") || nome.equals("China") || 
-            nome.equals("Vietnã") || nome.equals("Japão") || 
-            nome.equals("Vladvostok") || nome.equals("Sibéria")) {
-            return "Ásia";
-        }
-
         return "ERRO: Não foi possível definir o continente do Território: " + nome;
     }
     
@@ -0,0 +1,122 @@
+package com.gruposete.war.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Roda muitas partidas IA contra IA em paralelo (todos os núcleos) usando o MotorHeadless,
+ * e agrega as taxas de vitória por cor, por tipo de objetivo e por configuração de IA.
+ * Cada configuração é uma EstrategiaIA: ConfiguracaoIA do IABot ou qualquer nome do RegistroDeEstrategias.
+ *
+ * As configurações giram entre as cores a cada partida, para que cor e configuração não se confundam.
+ * Cada thread acumula em seu próprio EstatisticasTorneio; os acumuladores só são somados no final.
+ * A semente de cada partida deriva da semente do torneio e do índice da partida, então o
+ * resultado não depende do paralelismo nem da thread que jogou cada partida.
+ */
+public class TorneioIA {
+
+    private final List<String> nomes = new ArrayList<>();
+    // Uma estratégia nova por jogador e partida (as estratégias guardam estado entre turnos)
+    private final List<Supplier<EstrategiaIA>> fabricas = new ArrayList<>();
+    private final int jogadoresPorPartida;
+    private int paralelismo = Runtime.getRuntime().availableProcessors();
+    private int limiteDeTurnos = MotorHeadless.LIMITE_PADRAO_DE_TURNOS;
+    private long semente = new FonteAleatoria().getSemente();
+
+    public TorneioIA(List<ConfiguracaoIA> configuracoes, int jogadoresPorPartida) {
+        this(jogadoresPorPartida);
+        for (ConfiguracaoIA config : configuracoes) {
+            nomes.add(config.getNome());
+            fabricas.add(() -> new EstrategiaHeuristica(config));
+        }
+        validarConfiguracoes();
+    }
+
+    /** Torneio entre estratégias do registro, cada uma com o orçamento dado. */
+    public TorneioIA(RegistroDeEstrategias registro, List<String> estrategias, OrcamentoIA orcamento, int jogadoresPorPartida) {
+        this(jogadoresPorPartida);
+        for (String nome : estrategias) {
+            registro.criar(nome, orcamento); // falha já aqui se o nome não existir
+            nomes.add(nome);
+            fabricas.add(() -> registro.criar(nome, orcamento));
+        }
+        validarConfiguracoes();
+    }
+
+    private TorneioIA(int jogadoresPorPartida) {
+        if (jogadoresPorPartida < 2 || jogadoresPorPartida > CorJogador.values().length) {
+            throw new IllegalArgumentException("Número de jogadores inválido: " + jogadoresPorPartida);
+        }
+        this.jogadoresPorPartida = jogadoresPorPartida;
+    }
+
+    private void validarConfiguracoes() {
+        if (fabricas.isEmpty()) {
+            throw new IllegalArgumentException("O torneio precisa de pelo menos uma configuração de IA.");
+        }
+    }
+
+    /**
+     * Joga as partidas e devolve as estatísticas agregadas.
+     * Bloqueia até todas as partidas terminarem.
+     */
+    public EstatisticasTorneio executar(int numeroDePartidas) {
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        try {
+            // O stream paralelo roda dentro do pool dedicado; collect() dá a cada worker o seu acumulador
+            return pool.submit(() -> IntStream.range(0, numeroDePartidas)
+                .parallel()
+                .collect(() -> new EstatisticasTorneio(fabricas.size()),
+                         this::jogarPartida,
+                         EstatisticasTorneio::combinar))
+                .join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Joga a partida de número 'indice' e registra no acumulador do worker atual. */
+    private void jogarPartida(EstatisticasTorneio acumulador, int indice) {
+        CorJogador[] cores = CorJogador.values();
+        int[] configuracaoPorCor = new int[cores.length];
+        List<Jogador> jogadores = new ArrayList<>(jogadoresPorPartida);
+
+        for (int i = 0; i < jogadoresPorPartida; i++) {
+            jogadores.add(new Jogador("IA " + cores[i], cores[i], i + 1, true));
+            configuracaoPorCor[i] = (indice + i) % fabricas.size();
+        }
+
+        MotorHeadless motor = new MotorHeadless(jogadores);
+        motor.setLimiteDeTurnos(limiteDeTurnos);
+        motor.setSemente(FonteAleatoria.sementeDerivada(semente, indice));
+        for (Jogador j : jogadores) {
+            motor.setEstrategiaIA(j, fabricas.get(configuracaoPorCor[j.getCor().ordinal()]).get());
+        }
+
+        acumulador.registrar(motor.executar(), configuracaoPorCor);
+    }
+
+    public void setParalelismo(int paralelismo) {
+        this.paralelismo = paralelismo;
+    }
+
+    public void setLimiteDeTurnos(int limiteDeTurnos) {
+        this.limiteDeTurnos = limiteDeTurnos;
+    }
+
+    public void setSemente(long semente) {
+        this.semente = semente;
+    }
+
+    public long getSemente() {
+        return semente;
+    }
+
+    /** Nome de cada configuração, na ordem dos índices do EstatisticasTorneio. */
+    public List<String> getNomes() {
+        return nomes;
+    }
+}
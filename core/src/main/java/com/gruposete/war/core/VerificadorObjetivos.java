@@ -1,10 +1,8 @@
 package com.gruposete.war.core;
 
 
-import java.util.ArrayList;
 import java.util.List;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.utils.Array;
 
 /**
@@ -19,11 +17,14 @@ public class VerificadorObjetivos {
     private List<Jogador> jogadores;
     private Array<Territorio> territorios;
     private ControladorDePartida controlador; // Integração com o Controlador
-    
+    // Bitboards dos continentes: os do mapa da partida; antes dela, de um mapa só com 'territorios'
+    private final Mapa mapa;
+
     public VerificadorObjetivos(List<Jogador> jogadores, Array<Territorio> territorios, ControladorDePartida controlador) {
         this.jogadores = jogadores;
         this.territorios = territorios;
         this.controlador = controlador;
+        this.mapa = controlador.isIniciada() ? controlador.getMapa() : new Mapa(territorios);
     }
 
     // Método para verificar se o jogador já completou seu próprio Objetivo
@@ -38,7 +39,7 @@ public class VerificadorObjetivos {
             case CONQUISTAR_TERRITORIOS:
                 return verificarConquistarTerritorios(jogador, objetivo.getQtdTerritoriosAlvo());
             default:
-                Gdx.app.log("Verificador de Objetivos", "Não foi possível verificar o tipo do Objetivo.");
+                controlador.getLog().log("Verificador de Objetivos", "Não foi possível verificar o tipo do Objetivo.");
                 break;
         }
 
@@ -56,9 +57,14 @@ public class VerificadorObjetivos {
         }
         else if (qtdTerritoriosAlvo == 18 && qtdTerritoriosJogador >= qtdTerritoriosAlvo) {
             int territoriosValidos = 0;
-            for (Territorio t : territoriosJogador){
-                if (t.getTropas() >= 2){
-                    territoriosValidos++;
+            if (controlador.isIniciada()) {
+                // Contador incremental mantido pelo controlador
+                territoriosValidos = controlador.getQtdTerritoriosComDuasTropas(jogador);
+            } else {
+                for (Territorio t : territoriosJogador){
+                    if (t.getTropas() >= 2){
+                        territoriosValidos++;
+                    }
                 }
             }
 
@@ -72,75 +78,61 @@ public class VerificadorObjetivos {
 
     // Verifica se determinado jogador conquistou os Continentes necessários para vencer
     private boolean verificarConquistaContinente(Jogador jogador, String[] continentesAlvo) {
-        List<String> continentesFixos = new ArrayList<>();
+        long mascaraJogador = mascaraDoJogador(jogador);
+        int continentesFixos = 0; // bit = Continente.ordinal()
         boolean temCoringa = false;
 
-        // Separa continentes fixos e conta coringas
-        for (String continente : continentesAlvo) {
-            if ("*".equals(continente)) {
+        // Verifica continentes fixos e anota os coringas
+        for (String nome : continentesAlvo) {
+            if ("*".equals(nome)) {
                 temCoringa = true;
-            } else {
-                continentesFixos.add(continente);
+                continue;
             }
-        }
-
-        // Verifica continentes fixos
-        for (String continente : continentesFixos) {
-            if (!verificarContinenteConquistado(jogador, continente)) {
+            Continente continente = Continente.porNome(nome);
+            if (!verificarContinenteConquistado(mascaraJogador, continente)) {
                 return false;
             }
+            continentesFixos |= 1 << continente.ordinal();
         }
 
         // Verifica continentes coringa
         if (temCoringa) {
-            return verificarContinentesCoringa(jogador, continentesFixos);
+            return verificarContinentesCoringa(mascaraJogador, continentesFixos);
         }
 
         return true;
     }
 
     // Usado para verificar se o jogador conquistou um Continente diferente dos específicados no seu Objetivo
-    private boolean verificarContinentesCoringa(Jogador jogador, List<String> continentesFixos) {
-        // Lista de todos os continentes possíveis
-        String[] todosContinentes = {
-            "América do Norte", "América do Sul", "África", 
-            "Oceania", "Europa", "Ásia"
-        };
-
-        for (String continente : todosContinentes) {
+    private boolean verificarContinentesCoringa(long mascaraJogador, int continentesFixos) {
+        for (Continente continente : Continente.values()) {
             // Pula os continentes que já são obrigatórios (fixos)
-            if (continentesFixos.contains(continente)) {
+            if ((continentesFixos & (1 << continente.ordinal())) != 0) {
                 continue;
             }
 
             // Verifica se conquistou este continente extra
-            if (verificarContinenteConquistado(jogador, continente)) {
+            if (verificarContinenteConquistado(mascaraJogador, continente)) {
                 return true;
-
             }
         }
 
         return false;
     }
 
-    // Percorre os territórios do Jogador para verificar se ele conquistou um Continente inteiro
-    private boolean verificarContinenteConquistado(Jogador jogador, String continente) {
-        List<Territorio> territoriosJogador = jogador.getTerritorios();
-        int territoriosNoContinente = 0;
-        int territoriosConquistadosNoContinente = 0;
-
-        // Conta territórios totais e conquistados no continente
-        for (Territorio t : territorios) {
-            if (continente.equals(t.getContinente())) {
-                territoriosNoContinente++;
-                if (territoriosJogador.contains(t)) {
-                    territoriosConquistadosNoContinente++;
-                }
-            }
-        }
+    // Conquistou o continente se o bitboard do jogador cobre todos os territórios dele
+    private boolean verificarContinenteConquistado(long mascaraJogador, Continente continente) {
+        if (continente == null) return false;
+        long mascaraContinente = mapa.getMascaraContinente(continente);
+        return mascaraContinente != 0 && (mascaraJogador & mascaraContinente) == mascaraContinente;
+    }
 
-        // Verifica se conquistou todos os territórios do continente
-        return territoriosConquistadosNoContinente == territoriosNoContinente && territoriosNoContinente > 0;
+    // Bitboard de posse: mantido pelo controlador durante a partida; antes dela, montado a partir da lista do jogador
+    private long mascaraDoJogador(Jogador jogador) {
+        if (controlador.isIniciada()) {
+            return controlador.getMascaraDe(jogador);
+        }
+        return Mapa.mascaraDe(jogador.getTerritorios());
     }
 
     // Agora Verifica corretamente se o alvo foi eliminado pelo jogador ou não
@@ -0,0 +1,112 @@
+package com.gruposete.war.ui;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Matrix4;
+import com.gruposete.war.core.ConsumidorDeEventos;
+import com.gruposete.war.core.ControladorDePartida;
+import com.gruposete.war.core.ControladorDePartida.EstadoTurno;
+import com.gruposete.war.core.EventoPartida;
+import com.gruposete.war.core.Jogador;
+import com.gruposete.war.core.Territorio;
+
+/**
+ * Camada de destaques do mapa: território selecionado (branco), alvos válidos (vermelho no ataque,
+ * amarelo na movimentação) e hover (cinza claro).
+ *
+ * O conjunto de alvos é um bitboard calculado só quando a seleção muda ou chega um evento que altera
+ * posse, fase ou vez (adjacência do selecionado & territórios de outro dono / do mesmo dono).
+ * Por frame só avança o tempo do pulso e redesenha as faixas de contorno já prontas na MalhaDoMapa.
+ * O pulso dura poucos ciclos após cada seleção e depois fica parado no brilho máximo, para a tela
+ * (renderizada sob demanda) não voltar a pedir quadros a cada frame enquanto algo estiver selecionado.
+ */
+public class CamadaDeDestaque implements ConsumidorDeEventos {
+
+    private static final float LARGURA_SELECAO = 4f;
+    private static final float LARGURA_HOVER = 2f;
+    private static final float AMPLITUDE_PULSO = 0.35f;
+    // Três ciclos do sin(tempo * 6) do shader de destaque, terminando no pico (brilho máximo, sem salto ao parar)
+    private static final float DURACAO_PULSO = (float) ((Math.PI / 2 + 3 * 2 * Math.PI) / 6.0);
+    private static final int NENHUM = -1;
+
+    private final ControladorDePartida controlador;
+
+    // Estado de onde os alvos foram calculados
+    private int selecionado = NENHUM;
+    private boolean sujo = true;
+
+    private long mascaraAlvos;
+    private Color corAlvos = Color.RED;
+    private long mascaraHover;
+    private float tempo;
+
+    public CamadaDeDestaque(ControladorDePartida controlador) {
+        this.controlador = controlador;
+    }
+
+    // --- EVENTOS ---
+
+    @Override
+    public void aoReceber(EventoPartida evento) {
+        switch (evento.tipo) {
+            case TERRITORIO_CONQUISTADO:
+            case JOGADOR_ELIMINADO:
+            case FASE_ALTERADA:
+            case VEZ_PASSADA:
+            case ESTADO_REDEFINIDO:
+                sujo = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    // --- ATUALIZAÇÃO ---
+
+    /** Chamado a cada frame com a seleção e o hover atuais; só recalcula os alvos se algo mudou. */
+    public void atualizar(Territorio selecao, Territorio hover, float delta) {
+        int id = (selecao != null) ? selecao.getId() : NENHUM;
+        if (id != selecionado) {
+            selecionado = id;
+            tempo = 0f; // O pulso recomeça a cada nova seleção
+            sujo = true;
+        }
+        if (sujo) recalcularAlvos(selecao);
+        if (isAnimando()) tempo = Math.min(tempo + delta, DURACAO_PULSO);
+
+        mascaraHover = (hover != null && hover.getId() != selecionado) ? 1L << hover.getId() : 0L;
+    }
+
+    private void recalcularAlvos(Territorio selecao) {
+        sujo = false;
+        mascaraAlvos = 0L;
+        if (selecao == null) return;
+
+        Jogador dono = controlador.getJogadorPorId(selecao.getPlayerId());
+        long meus = controlador.getMascaraDe(dono);
+        long vizinhos = controlador.getMapa().getMascaraAdjacencia(selecao.getId());
+
+        EstadoTurno fase = controlador.getEstadoTurno();
+        if (fase == EstadoTurno.ATACANDO) {
+            mascaraAlvos = vizinhos & ~meus; // Alvos de ataque: vizinhos inimigos
+            corAlvos = Color.RED;
+        } else if (fase == EstadoTurno.MOVIMENTANDO) {
+            mascaraAlvos = vizinhos & meus;  // Alvos de movimento: vizinhos aliados
+            corAlvos = Color.YELLOW;
+        }
+    }
+
+    // --- DESENHO ---
+
+    public void desenhar(MalhaDoMapa malha, Matrix4 projecao) {
+        malha.desenharDestaque(projecao, mascaraHover, Color.LIGHT_GRAY, LARGURA_HOVER, 0f, 0f);
+        if (selecionado == NENHUM) return;
+        float amplitude = isAnimando() ? AMPLITUDE_PULSO : 0f;
+        malha.desenharDestaque(projecao, mascaraAlvos, corAlvos, LARGURA_SELECAO, amplitude, tempo);
+        malha.desenharDestaque(projecao, 1L << selecionado, Color.WHITE, LARGURA_SELECAO, amplitude, tempo);
+    }
+
+    /** Há um pulso em andamento (a tela precisa de novos quadros mesmo sem input). Termina após DURACAO_PULSO. */
+    public boolean isAnimando() {
+        return selecionado != NENHUM && tempo < DURACAO_PULSO;
+    }
+}
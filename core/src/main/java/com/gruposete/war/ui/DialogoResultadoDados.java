@@ -26,7 +26,7 @@ public class DialogoResultadoDados extends Dialog {
         lblAtk.setColor(Color.RED);
         tableAtk.add(lblAtk).padBottom(10).row();
         
-        for (Integer valor : resultado.dadosAtacante) {
+        for (Integer valor : resultado.getDadosAtacante()) {
             Label dado = new Label("[" + valor + "]", skin);
             dado.setFontScale(1.5f);
             tableAtk.add(dado).pad(5).row();
@@ -45,7 +45,7 @@ public class DialogoResultadoDados extends Dialog {
         lblDef.setColor(Color.YELLOW);
         tableDef.add(lblDef).padBottom(10).row();
 
-        for (Integer valor : resultado.dadosDefensor) {
+        for (Integer valor : resultado.getDadosDefensor()) {
             Label dado = new Label("[" + valor + "]", skin);
             dado.setFontScale(1.5f);
             tableDef.add(dado).pad(5).row();
@@ -0,0 +1,322 @@
+package com.gruposete.war.ui;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.EarClippingTriangulator;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ShortArray;
+import com.gruposete.war.core.ControladorDePartida;
+import com.gruposete.war.core.EstadoCompacto;
+import com.gruposete.war.core.Jogador;
+import com.gruposete.war.core.Territorio;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Geometria do mapa montada uma única vez em VBOs estáticos:
+ *  - Preenchimento: triângulos de todos os territórios (triangulados na criação), indexados.
+ *  - Contornos: arestas de cada polígono como GL_LINES, contíguas por território.
+ * Cada vértice carrega só a posição e o id do território; a geometria nunca é reenviada.
+ *
+ * A cor do preenchimento sai do shader: o id indexa uma textura Nx1 com o dono de cada território,
+ * e o dono indexa a paleta (uniform) com as cores dos jogadores. Uma conquista reescreve um texel;
+ * alternar o modo daltônico troca só a paleta.
+ *
+ * Os contornos de cada território ocupam uma faixa contígua do VBO, então destaques (seleção, alvos,
+ * hover) redesenham só as faixas pedidas, com o pulso calculado no shader a partir do tempo.
+ */
+public class MalhaDoMapa implements Disposable {
+
+    private static final float ALFA_PREENCHIMENTO = 0.7f;
+    private static final Color COR_CONTORNO = Color.GRAY;
+    private static final int SEM_DONO = 0;
+    // Entrada 0 = sem dono (transparente); 1..MAX_JOGADORES = playerId
+    private static final int TAMANHO_PALETA = EstadoCompacto.MAX_JOGADORES + 1;
+
+    // x, y, id do território
+    private static final int FLOATS_POR_VERTICE = 3;
+
+    private static final String VERTEX_PREENCHIMENTO =
+        "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+        "attribute float a_territorio;\n" +
+        "uniform mat4 u_projTrans;\n" +
+        "uniform float u_numTerritorios;\n" +
+        "varying float v_coordDono;\n" +
+        "void main() {\n" +
+        "    v_coordDono = (a_territorio + 0.5) / u_numTerritorios; // Centro do texel do território\n" +
+        "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+        "}\n";
+
+    private static final String FRAGMENT_PREENCHIMENTO =
+        "#ifdef GL_ES\n" +
+        "precision mediump float;\n" +
+        "#endif\n" +
+        "uniform sampler2D u_donos;\n" +
+        "uniform vec4 u_paleta[" + TAMANHO_PALETA + "];\n" +
+        "varying float v_coordDono;\n" +
+        "void main() {\n" +
+        "    int dono = int(texture2D(u_donos, vec2(v_coordDono, 0.5)).r * 255.0 + 0.5);\n" +
+        "    vec4 cor = vec4(0.0);\n" +
+        // GLSL ES 1.0 não garante índice dinâmico em arrays no fragment shader: laço de tamanho constante
+        "    for (int i = 0; i < " + TAMANHO_PALETA + "; i++) {\n" +
+        "        if (i == dono) cor = u_paleta[i];\n" +
+        "    }\n" +
+        "    if (cor.a == 0.0) discard; // Território sem dono não é pintado\n" +
+        "    gl_FragColor = cor;\n" +
+        "}\n";
+
+    private static final String VERTEX_CONTORNO =
+        "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+        "uniform mat4 u_projTrans;\n" +
+        "void main() {\n" +
+        "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+        "}\n";
+
+    private static final String FRAGMENT_CONTORNO =
+        "#ifdef GL_ES\n" +
+        "precision mediump float;\n" +
+        "#endif\n" +
+        "uniform vec4 u_cor;\n" +
+        "void main() {\n" +
+        "    gl_FragColor = u_cor;\n" +
+        "}\n";
+
+    // Brilho oscila entre (1 - u_amplitude) e 1
+    private static final String FRAGMENT_DESTAQUE =
+        "#ifdef GL_ES\n" +
+        "precision mediump float;\n" +
+        "#endif\n" +
+        "uniform vec4 u_cor;\n" +
+        "uniform float u_tempo;\n" +
+        "uniform float u_amplitude;\n" +
+        "void main() {\n" +
+        "    float pulso = 0.5 + 0.5 * sin(u_tempo * 6.0);\n" +
+        "    gl_FragColor = vec4(u_cor.rgb * (1.0 - u_amplitude * (1.0 - pulso)), u_cor.a);\n" +
+        "}\n";
+
+    private final int numTerritorios;
+    private final Mesh preenchimento;
+    private final Mesh contornos;
+    private final ShaderProgram shaderPreenchimento;
+    private final ShaderProgram shaderContorno;
+    private final ShaderProgram shaderDestaque;
+
+    // Faixa de vértices de cada território no VBO de contornos (índice = id)
+    private final int[] inicioContorno;
+    private final int[] qtdContorno;
+
+    // Textura Nx1: canal R do texel 'id' = playerId do dono
+    private final Texture texturaDonos;
+    private final ByteBuffer texel = BufferUtils.newByteBuffer(4);
+    private final int[] donoPintado;
+
+    // Paleta RGBA por playerId, refeita só quando o modo daltônico muda
+    private final float[] paleta = new float[TAMANHO_PALETA * 4];
+    private boolean paletaPronta;
+    private boolean daltonicoPintado;
+
+    public MalhaDoMapa(Iterable<Territorio> territorios) {
+        int n = 0;
+        for (Territorio t : territorios) n = Math.max(n, t.getId() + 1);
+        this.numTerritorios = n;
+        donoPintado = new int[n];
+        Arrays.fill(donoPintado, -1);
+        inicioContorno = new int[n];
+        qtdContorno = new int[n];
+
+        // 1. Triangulação (uma vez só) e contagem dos buffers
+        EarClippingTriangulator triangulador = new EarClippingTriangulator();
+        float[][] poligonos = new float[n][];
+        short[][] triangulos = new short[n][];
+        int totalVertices = 0, totalIndices = 0;
+        for (Territorio t : territorios) {
+            int id = t.getId();
+            poligonos[id] = t.getArea().getTransformedVertices().clone();
+            ShortArray indices = triangulador.computeTriangles(poligonos[id]);
+            triangulos[id] = indices.toArray();
+            totalVertices += poligonos[id].length / 2;
+            totalIndices += indices.size;
+        }
+        if (totalVertices > 0xFFFF) {
+            throw new IllegalStateException("Mapa grande demais para índices de 16 bits: " + totalVertices + " vértices");
+        }
+
+        // 2. Preenchimento: vértices de cada polígono seguidos, índices deslocados pelo início do território
+        float[] verticesPreenchimento = new float[totalVertices * FLOATS_POR_VERTICE];
+        short[] indices = new short[totalIndices];
+        int v = 0, i = 0;
+        for (int id = 0; id < n; id++) {
+            if (poligonos[id] == null) continue;
+            float[] p = poligonos[id];
+            for (short k : triangulos[id]) indices[i++] = (short) (v + k);
+            for (int k = 0; k < p.length; k += 2) {
+                v = escreverVertice(verticesPreenchimento, v, p[k], p[k + 1], id);
+            }
+        }
+
+        // 3. Contornos: cada aresta (a, b) do polígono vira um par de vértices
+        float[] verticesContorno = new float[totalVertices * 2 * FLOATS_POR_VERTICE];
+        int c = 0;
+        for (int id = 0; id < n; id++) {
+            if (poligonos[id] == null) continue;
+            float[] p = poligonos[id];
+            int qtd = p.length / 2;
+            inicioContorno[id] = c;
+            qtdContorno[id] = qtd * 2;
+            for (int k = 0; k < qtd; k++) {
+                int a = k * 2, b = ((k + 1) % qtd) * 2;
+                c = escreverVertice(verticesContorno, c, p[a], p[a + 1], id);
+                c = escreverVertice(verticesContorno, c, p[b], p[b + 1], id);
+            }
+        }
+
+        preenchimento = new Mesh(true, totalVertices, totalIndices, atributos());
+        preenchimento.setVertices(verticesPreenchimento);
+        preenchimento.setIndices(indices);
+
+        contornos = new Mesh(true, c, 0, atributos());
+        contornos.setVertices(verticesContorno);
+
+        // 4. Textura de donos (todos sem dono até a primeira atualização)
+        Pixmap pixmap = new Pixmap(n, 1, Pixmap.Format.RGBA8888);
+        pixmap.setColor(Color.CLEAR);
+        pixmap.fill();
+        texturaDonos = new Texture(pixmap);
+        texturaDonos.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        texturaDonos.setWrap(Texture.TextureWrap.ClampToEdge, Texture.TextureWrap.ClampToEdge);
+        pixmap.dispose();
+
+        shaderPreenchimento = compilar(VERTEX_PREENCHIMENTO, FRAGMENT_PREENCHIMENTO);
+        shaderContorno = compilar(VERTEX_CONTORNO, FRAGMENT_CONTORNO);
+        shaderDestaque = compilar(VERTEX_CONTORNO, FRAGMENT_DESTAQUE);
+    }
+
+    private static ShaderProgram compilar(String vertex, String fragment) {
+        ShaderProgram shader = new ShaderProgram(vertex, fragment);
+        if (!shader.isCompiled()) {
+            throw new IllegalStateException("Falha ao compilar o shader do mapa: " + shader.getLog());
+        }
+        return shader;
+    }
+
+    private static VertexAttribute[] atributos() {
+        return new VertexAttribute[] {
+            new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+            new VertexAttribute(Usage.Generic, 1, "a_territorio")
+        };
+    }
+
+    private static int escreverVertice(float[] destino, int vertice, float x, float y, int id) {
+        int base = vertice * FLOATS_POR_VERTICE;
+        destino[base] = x;
+        destino[base + 1] = y;
+        destino[base + 2] = id;
+        return vertice + 1;
+    }
+
+    // --- CORES ---
+
+    /**
+     * Reescreve o texel de cada território que trocou de dono desde a última chamada,
+     * e refaz a paleta se o modo daltônico mudou. Nada é enviado à GPU se nada mudou.
+     */
+    public void atualizarCores(ControladorDePartida controlador, Iterable<Territorio> territorios, boolean modoDaltonico) {
+        if (!paletaPronta || modoDaltonico != daltonicoPintado) {
+            montarPaleta(controlador, modoDaltonico);
+        }
+
+        boolean vinculada = false;
+        for (Territorio t : territorios) {
+            int id = t.getId();
+            int dono = t.getPlayerId();
+            if (dono == donoPintado[id]) continue;
+            donoPintado[id] = dono;
+
+            if (!vinculada) {
+                texturaDonos.bind();
+                vinculada = true;
+            }
+            texel.clear();
+            texel.put((byte) dono).put((byte) 0).put((byte) 0).put((byte) 0xFF).flip();
+            Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, id, 0, 1, 1, GL20.GL_RGBA, GL20.GL_UNSIGNED_BYTE, texel);
+        }
+    }
+
+    private void montarPaleta(ControladorDePartida controlador, boolean modoDaltonico) {
+        Arrays.fill(paleta, 0f);
+        int numJogadores = controlador.getJogadores().size();
+        for (int id = SEM_DONO + 1; id <= numJogadores && id < TAMANHO_PALETA; id++) {
+            Jogador jogador = controlador.getJogadorPorId(id);
+            Color c = jogador.getCor().getColor(modoDaltonico);
+            paleta[id * 4] = c.r;
+            paleta[id * 4 + 1] = c.g;
+            paleta[id * 4 + 2] = c.b;
+            paleta[id * 4 + 3] = ALFA_PREENCHIMENTO;
+        }
+        daltonicoPintado = modoDaltonico;
+        paletaPronta = true;
+    }
+
+    // --- DESENHO ---
+
+    /** Preenchimento de todos os territórios numa única chamada de desenho. */
+    public void desenharPreenchimento(Matrix4 projecao) {
+        texturaDonos.bind(0);
+        shaderPreenchimento.bind();
+        shaderPreenchimento.setUniformMatrix("u_projTrans", projecao);
+        shaderPreenchimento.setUniformf("u_numTerritorios", numTerritorios);
+        shaderPreenchimento.setUniformi("u_donos", 0);
+        shaderPreenchimento.setUniform4fv("u_paleta", paleta, 0, paleta.length);
+        preenchimento.render(shaderPreenchimento, GL20.GL_TRIANGLES);
+    }
+
+    /** Contornos finos de todos os territórios numa única chamada de desenho. */
+    public void desenharContornos(Matrix4 projecao) {
+        Gdx.gl.glLineWidth(1);
+        shaderContorno.bind();
+        shaderContorno.setUniformMatrix("u_projTrans", projecao);
+        shaderContorno.setUniformf("u_cor", COR_CONTORNO);
+        contornos.render(shaderContorno, GL20.GL_LINES);
+    }
+
+    /**
+     * Contornos dos territórios da máscara (bit = id), reaproveitando as faixas do VBO de contornos.
+     * @param amplitude quanto o brilho pulsa (0 = cor fixa)
+     * @param tempo segundos desde o início do destaque (fase do pulso)
+     */
+    public void desenharDestaque(Matrix4 projecao, long mascara, Color cor, float largura, float amplitude, float tempo) {
+        if (mascara == 0L) return;
+        Gdx.gl.glLineWidth(largura);
+        shaderDestaque.bind();
+        shaderDestaque.setUniformMatrix("u_projTrans", projecao);
+        shaderDestaque.setUniformf("u_cor", cor);
+        shaderDestaque.setUniformf("u_tempo", tempo);
+        shaderDestaque.setUniformf("u_amplitude", amplitude);
+        for (long m = mascara; m != 0; m &= m - 1) {
+            int id = Long.numberOfTrailingZeros(m);
+            if (id >= qtdContorno.length || qtdContorno[id] == 0) continue;
+            contornos.render(shaderDestaque, GL20.GL_LINES, inicioContorno[id], qtdContorno[id]);
+        }
+        Gdx.gl.glLineWidth(1);
+    }
+
+    @Override
+    public void dispose() {
+        preenchimento.dispose();
+        contornos.dispose();
+        texturaDonos.dispose();
+        shaderPreenchimento.dispose();
+        shaderContorno.dispose();
+        shaderDestaque.dispose();
+    }
+}
@@ -110,7 +110,21 @@ public class TelaDeConfig {
         });
 
         // Ajuste fino na célula da tabela para centralizar visualmente
-        root.add(checkDaltonismo).padBottom(100).row();
+        root.add(checkDaltonismo).padBottom(30).row();
+
+        // --- Economia de energia ---
+        // Na partida, só redesenha quando algo muda (padrão: ligado)
+        final CheckBox checkEconomia = new CheckBox("   Economia de Energia", skin);
+        checkEconomia.getLabel().setFontScale(FONT_SCALE_TEXTO);
+        checkEconomia.setChecked(Gdx.app.getPreferences("WarJogoConfigs").getBoolean("economiaDeEnergia", true));
+        checkEconomia.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                Gdx.app.getPreferences("WarJogoConfigs").putBoolean("economiaDeEnergia", checkEconomia.isChecked());
+                Gdx.app.getPreferences("WarJogoConfigs").flush();
+            }
+        });
+        root.add(checkEconomia).padBottom(100).row();
 
         // --- Botão Voltar ---
         TextButton.TextButtonStyle btnStyle = new TextButton.TextButtonStyle();
@@ -9,20 +9,18 @@ import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.input.GestureDetector;
 import com.badlogic.gdx.input.GestureDetector.GestureAdapter;
-import com.badlogic.gdx.math.EarClippingTriangulator;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.ShortArray;
 import com.badlogic.gdx.utils.Timer;
 import com.badlogic.gdx.utils.viewport.ExtendViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
@@ -37,6 +35,7 @@ public class TelaDeJogo {
     private static final float WORLD_WIDTH = 1280f;
     private static final float WORLD_HEIGHT = 720f;
     private static final String LOG_TAG = "TelaDeJogo";
+    private static final String PREFS = "WarJogoConfigs";
 
     private static final float FONT_SCALE = 1.5f;
     private static final float ICON_SIZE = 64f;
@@ -58,13 +57,16 @@ public class TelaDeJogo {
 
     // --- CORE ---
     private final ControladorDePartida controlador;
+    // Renderização sob demanda: só desenha um quadro quando algo muda (input, evento da partida, animação)
+    private final boolean renderizacaoSobDemanda;
+    private final ConsumidorDeEventos pedirQuadro = evento -> Gdx.graphics.requestRendering();
     private final Runnable voltarParaMenu;
     private final Consumer<Jogador> vitoriaCallback;
-    private final EarClippingTriangulator triangulator;
 
     // --- ESTADO LOCAL ---
     private Territorio territorioAtacante = null;
     private Territorio territorioOrigemMovimento = null;
+    private Territorio territorioSobOMouse = null;
     private enum TipoMovimento { ATAQUE, ESTRATEGICO, DISTRIBUICAO }
 
     // --- CÂMERAS E VIEWPORTS (SEPARADOS) ---
@@ -75,7 +77,10 @@ public class TelaDeJogo {
 
     // --- RENDER ---
     private final InputMultiplexer multiplexer;
-    private final ShapeRenderer shapeRenderer;
+    private final MalhaDoMapa malhaDoMapa;
+    private final CamadaDeDestaque camadaDeDestaque;
+    private final MascaraDeTerritorios mascaraDeSelecao; // Ponto do mundo -> território, em O(1)
+    private final Vector2 pontoDoMouse = new Vector2();
     private final BitmapFont font;
     private final Skin skin;
 
@@ -102,7 +107,6 @@ public class TelaDeJogo {
     public TelaDeJogo(Runnable voltarParaMenu, Consumer<Jogador> vitoriaCallback, ControladorDePartida controlador) {
         this.voltarParaMenu = voltarParaMenu;
         this.controlador = controlador;
-        this.triangulator = new EarClippingTriangulator();
         this.vitoriaCallback = vitoriaCallback;
 
         // 1. Configuração da UI (Stage) - Câmera Fixa
@@ -115,7 +119,10 @@ public class TelaDeJogo {
         this.gameViewport = new ExtendViewport(mapWidth, mapHeight, gameCamera);
 
         // 3. Renderizadores e Fontes
-        this.shapeRenderer = new ShapeRenderer();
+        this.malhaDoMapa = new MalhaDoMapa(controlador.getTerritorios()); // Triangulado uma vez só
+        this.camadaDeDestaque = new CamadaDeDestaque(controlador);
+        controlador.getEventos().adicionarConsumidor(camadaDeDestaque);
+        this.mascaraDeSelecao = new MascaraDeTerritorios(controlador.getTerritorios(), mapWidth, mapHeight, 1f);
         this.font = new BitmapFont();
         this.font.getData().setScale(FONT_SCALE);
 
@@ -151,6 +158,15 @@ public class TelaDeJogo {
         // 7. CORREÇÃO CRÍTICA (Tela Cinza/Preta):
         // Força o cálculo inicial do viewport e da câmera antes do primeiro frame ser desenhado.
         resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+
+        // 8. Renderização sob demanda (Configurações > Economia de energia)
+        // Input já pede quadro sozinho; os eventos da partida cobrem as jogadas humanas e das IAs
+        this.renderizacaoSobDemanda = Gdx.app.getPreferences(PREFS).getBoolean("economiaDeEnergia", true);
+        if (renderizacaoSobDemanda) {
+            controlador.getEventos().adicionarConsumidor(pedirQuadro);
+            Gdx.graphics.setContinuousRendering(false);
+            Gdx.graphics.requestRendering();
+        }
     }
 
     // --- INPUT HANDLING ---
@@ -166,13 +182,7 @@ public class TelaDeJogo {
                 gameViewport.unproject(worldCoords);
 
                 EstadoTurno fase = controlador.getEstadoTurno();
-                Territorio territorioClicado = null;
-                for (Territorio t : controlador.getTerritorios()) {
-                    if (t.contains(worldCoords.x, worldCoords.y)) {
-                        territorioClicado = t;
-                        break;
-                    }
-                }
+                Territorio territorioClicado = territorioEm(worldCoords.x, worldCoords.y);
 
                 if (territorioClicado == null) {
                     if (button == Input.Buttons.RIGHT) {
@@ -192,6 +202,15 @@ public class TelaDeJogo {
                 return true;
             }
 
+            @Override
+            public boolean mouseMoved(int screenX, int screenY) {
+                // Hover: uma leitura na máscara por movimento do mouse
+                pontoDoMouse.set(screenX, screenY);
+                gameViewport.unproject(pontoDoMouse);
+                territorioSobOMouse = territorioEm(pontoDoMouse.x, pontoDoMouse.y);
+                return false;
+            }
+
             @Override
             public boolean scrolled(float amountX, float amountY) {
                 // Manipula a gameCamera, UI fica parada
@@ -449,6 +468,11 @@ public class TelaDeJogo {
             }
         }
     }
+    private Territorio territorioEm(float x, float y) {
+        int id = mascaraDeSelecao.getIdEm(x, y);
+        return (id == MascaraDeTerritorios.NENHUM) ? null : controlador.getMapa().getTerritorioPorId(id);
+    }
+
     private void limparSelecoes() { territorioAtacante = null; territorioOrigemMovimento = null; }
     private void logDebugAdjacencia(Territorio t) { }
 
@@ -536,7 +560,6 @@ public class TelaDeJogo {
         // 1. Renderiza o MAPA com a GameCamera
         gameViewport.apply();
         gameCamera.update();
-        shapeRenderer.setProjectionMatrix(gameCamera.combined);
         stage.getBatch().setProjectionMatrix(gameCamera.combined);
 
         // Fundo Infinito
@@ -550,7 +573,7 @@ public class TelaDeJogo {
         stage.getBatch().end();
 
         // Territórios
-        desenharMapa();
+        desenharMapa(delta);
 
         // Textos dos Territórios
         stage.getBatch().begin();
@@ -565,6 +588,11 @@ public class TelaDeJogo {
         stage.act(delta);
         stage.draw();
 
+        // Diálogos abrindo/fechando ou destaque pulsando (só logo após a seleção): continua pedindo quadros enquanto durarem
+        if (renderizacaoSobDemanda && (camadaDeDestaque.isAnimando() || temAnimacao(stage.getRoot()))) {
+            Gdx.graphics.requestRendering();
+        }
+
         // Vitória
         Jogador vencedor = controlador.verificarVitoria();
         if (vencedor != null) {
@@ -573,89 +601,31 @@ public class TelaDeJogo {
         }
     }
 
-    private void desenharMapa() {
-        shapeRenderer.setProjectionMatrix(gameCamera.combined);
-
-        boolean modoDaltonico = Gdx.app.getPreferences("WarJogoConfigs").getBoolean("daltonismo", false);
-        
-        // 1. DESENHO BASE (Preenchimento colorido dos países)
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        for (Territorio t : controlador.getTerritorios()) {
-            int playerId = t.getPlayerId();
-            if (playerId > 0 && playerId <= controlador.getJogadores().size()) {
-                Jogador dono = controlador.getJogadorPorId(playerId);
-                Color c = dono.getCor().getColor(modoDaltonico);
-                shapeRenderer.setColor(c.r, c.g, c.b, 0.7f); // 0.7f de transparência
-                
-                float[] vertices = t.getArea().getTransformedVertices();
-                ShortArray indices = triangulator.computeTriangles(vertices);
-                for (int i = 0; i < indices.size; i += 3) {
-                    int p1 = indices.get(i) * 2;
-                    int p2 = indices.get(i + 1) * 2;
-                    int p3 = indices.get(i + 2) * 2;
-                    shapeRenderer.triangle(vertices[p1], vertices[p1 + 1], vertices[p2], vertices[p2 + 1], vertices[p3], vertices[p3 + 1]);
-                }
+    private boolean temAnimacao(Actor ator) {
+        if (ator.hasActions()) return true;
+        if (ator instanceof Group) {
+            for (Actor filho : ((Group) ator).getChildren()) {
+                if (temAnimacao(filho)) return true;
             }
         }
-        shapeRenderer.end();
+        return false;
+    }
+
+    private void desenharMapa(float delta) {
+        boolean modoDaltonico = Gdx.app.getPreferences(PREFS).getBoolean("daltonismo", false);
+        
+        // 1. DESENHO BASE (Preenchimento colorido dos países) - malha estática, só as cores mudam
+        malhaDoMapa.atualizarCores(controlador, controlador.getTerritorios(), modoDaltonico);
+        malhaDoMapa.desenharPreenchimento(gameCamera.combined);
 
         // 2. CONTORNOS PADRÃO (Cinza fino)
-        Gdx.gl.glLineWidth(1); // Espessura normal
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-        for (Territorio t : controlador.getTerritorios()) {
-            shapeRenderer.setColor(Color.GRAY);
-            shapeRenderer.polygon(t.getArea().getTransformedVertices());
-        }
-        shapeRenderer.end();
+        malhaDoMapa.desenharContornos(gameCamera.combined);
 
-        // 3. --- LÓGICA DE DESTAQUE (HIGHLIGHTS) ---
-        // Verifica se há algum território selecionado (seja para ataque ou movimento)
+        // 3. --- DESTAQUES (seleção, alvos válidos e hover) ---
+        // Os alvos só são recalculados quando a seleção muda ou um evento altera posse/fase/vez
         Territorio selecionado = (territorioAtacante != null) ? territorioAtacante : territorioOrigemMovimento;
-
-        if (selecionado != null) {
-            Gdx.gl.glLineWidth(4); // Aumenta a espessura da linha para destacar
-            shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-
-            // A. Destaca a ORIGEM (Branco)
-            shapeRenderer.setColor(Color.WHITE);
-            shapeRenderer.polygon(selecionado.getArea().getTransformedVertices());
-
-            // B. Destaca os VIZINHOS VÁLIDOS
-            for (Territorio t : controlador.getTerritorios()) {
-                // Pula a própria origem
-                if (t.equals(selecionado)) continue;
-
-                // Só processa se for adjacente (vizinho)
-                if (controlador.getMapa().isAdjacente(selecionado, t)) {
-                    
-                    boolean desenharDestaque = false;
-
-                    // Regras de Cor dependendo da Fase
-                    if (controlador.getEstadoTurno() == EstadoTurno.ATACANDO) {
-                        // No ataque, vizinho deve ser INIMIGO
-                        boolean isInimigo = (t.getPlayerId() != selecionado.getPlayerId());
-                        if (isInimigo) {
-                            shapeRenderer.setColor(Color.RED); // Alvo de Ataque
-                            desenharDestaque = true;
-                        }
-                    } 
-                    else if (controlador.getEstadoTurno() == EstadoTurno.MOVIMENTANDO) {
-                        // Na movimentação, vizinho deve ser ALIADO (meu)
-                        boolean isAliado = (t.getPlayerId() == selecionado.getPlayerId());
-                        if (isAliado) {
-                            shapeRenderer.setColor(Color.YELLOW); // Alvo de Movimento
-                            desenharDestaque = true;
-                        }
-                    }
-
-                    if (desenharDestaque) {
-                        shapeRenderer.polygon(t.getArea().getTransformedVertices());
-                    }
-                }
-            }
-            shapeRenderer.end();
-            Gdx.gl.glLineWidth(1); // Reseta a espessura para não afetar outras coisas
-        }
+        camadaDeDestaque.atualizar(selecionado, territorioSobOMouse, delta);
+        camadaDeDestaque.desenhar(malhaDoMapa, gameCamera.combined);
     }
 
     public void resize(int width, int height) {
@@ -694,7 +664,12 @@ public class TelaDeJogo {
     public void novoJogo() { for(Territorio t : controlador.getTerritorios()) t.resetarParaNovoJogo(); }
     public void dispose() {
         Timer.instance().clear();
-        stage.dispose(); skin.dispose(); background.dispose(); font.dispose(); shapeRenderer.dispose();
+        controlador.getEventos().removerConsumidor(camadaDeDestaque);
+        if (renderizacaoSobDemanda) {
+            controlador.getEventos().removerConsumidor(pedirQuadro);
+            Gdx.graphics.setContinuousRendering(true); // As outras telas continuam contínuas
+        }
+        stage.dispose(); skin.dispose(); background.dispose(); font.dispose(); malhaDoMapa.dispose();
         bannerBackground.dispose(); texArrowRight.dispose(); texHuman.dispose(); texAI.dispose(); texIconBorder.dispose();
     }
 }
\ No newline at end of file
@@ -16,6 +16,7 @@ import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.ExtendViewport; 
 import com.gruposete.war.core.CorJogador;
 import com.gruposete.war.core.Jogador;
+import com.gruposete.war.core.NivelDeDificuldade;
 import com.gruposete.war.core.TipoJogador;
 
 import java.util.ArrayList;
@@ -49,6 +50,7 @@ public class TelaDeSelecaoDeJogadores {
 
     private static final int MIN_JOGADORES = 3;
     private static final int DEFAULT_HUMANOS = 3;
+    private static final NivelDeDificuldade NIVEL_PADRAO = NivelDeDificuldade.FACIL;
 
     public Stage stage;
     private Skin skin;
@@ -59,6 +61,8 @@ public class TelaDeSelecaoDeJogadores {
 
     private Map<CorJogador, TipoJogador> estadosDosJogadores;
     private Map<CorJogador, Image> iconesDeEstado;
+    private Map<CorJogador, NivelDeDificuldade> niveisDosJogadores;
+    private Map<CorJogador, TextButton> botoesDeNivel;
     private Label errorLabel;
 
     private Texture texArrowLeft, texArrowRight, texNoPlayer, texHuman, texAI, texIconBorder;
@@ -81,6 +85,8 @@ public class TelaDeSelecaoDeJogadores {
 
         this.estadosDosJogadores = new HashMap<>();
         this.iconesDeEstado = new HashMap<>();
+        this.niveisDosJogadores = new HashMap<>();
+        this.botoesDeNivel = new HashMap<>();
         inicializarMapaLogico();
 
         construirUI();
@@ -214,6 +220,15 @@ public class TelaDeSelecaoDeJogadores {
         pod.add(leftButton).size(ARROW_SIZE, ARROW_SIZE);
         pod.add(iconStack).width(borderSize).height(borderSize);
         pod.add(rightButton).size(ARROW_SIZE, ARROW_SIZE);
+        pod.row();
+
+        // Dificuldade da IA: cada clique avança um nível (só aparece quando o slot é IA)
+        final TextButton nivelButton = new TextButton(NIVEL_PADRAO.getNome(), skin);
+        nivelButton.addListener(new ChangeListener() {
+            @Override public void changed(ChangeEvent event, Actor actor) { cycleNivel(cor); }
+        });
+        botoesDeNivel.put(cor, nivelButton);
+        pod.add(nivelButton).colspan(3).center().width(borderSize);
 
         return pod;
     }
@@ -249,9 +264,18 @@ public class TelaDeSelecaoDeJogadores {
         boolean modoDaltonico = Gdx.app.getPreferences("WarJogoConfigs").getBoolean("daltonismo", false);
         icone.setColor(cor.getColor(modoDaltonico));
         
+        botoesDeNivel.get(cor).setVisible(novoEstado == TipoJogador.IA);
+
         if (errorLabel != null) errorLabel.setText("");
     }
 
+    private void cycleNivel(CorJogador cor) {
+        NivelDeDificuldade[] niveis = NivelDeDificuldade.values();
+        NivelDeDificuldade novoNivel = niveis[(niveisDosJogadores.get(cor).ordinal() + 1) % niveis.length];
+        niveisDosJogadores.put(cor, novoNivel);
+        botoesDeNivel.get(cor).setText(novoNivel.getNome());
+    }
+
     private void resetarVisuais() {
         if (iconesDeEstado == null || iconesDeEstado.isEmpty()) return;
 
@@ -271,6 +295,10 @@ public class TelaDeSelecaoDeJogadores {
             
             // Aplica a cor certa (Normal ou Daltônica)
             icone.setColor(cor.getColor(modoDaltonico));
+
+            TextButton nivelButton = botoesDeNivel.get(cor);
+            nivelButton.setText(niveisDosJogadores.get(cor).getNome());
+            nivelButton.setVisible(estado == TipoJogador.IA);
         }
     }
 
@@ -289,6 +317,11 @@ public class TelaDeSelecaoDeJogadores {
         }
         return lista;
     }
+
+    /** Dificuldade escolhida para o slot da cor do jogador (só vale para jogadores IA). */
+    public NivelDeDificuldade getNivelDe(Jogador jogador) {
+        return niveisDosJogadores.get(jogador.getCor());
+    }
     
     public void resetarEstado() {
         inicializarMapaLogico();
@@ -301,6 +334,7 @@ public class TelaDeSelecaoDeJogadores {
         for (int i = 0; i < cores.length; i++) {
             if (i < DEFAULT_HUMANOS) estadosDosJogadores.put(cores[i], TipoJogador.HUMANO);
             else estadosDosJogadores.put(cores[i], TipoJogador.NENHUM);
+            niveisDosJogadores.put(cores[i], NIVEL_PADRAO);
         }
     }
     
@@ -6,6 +6,8 @@ import com.gruposete.war.utils.Utils; // Importante: Usa o gerador oficial
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class AtaqueLogicaTest {
@@ -98,4 +100,65 @@ class AtaqueLogicaTest {
         assertEquals(0, tDefensor.getTropas(), 
             "O território conquistado deve estar momentaneamente com 0 tropas (antes do movimento).");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDadosEmpacotados_ordenadosECoerentesComPerdas() {
+        AtaqueLogica logica = new AtaqueLogica(tAtacante, tDefensor, atacante, defensor, mapa);
+
+        for (int i = 0; i < 2000; i++) {
+            tAtacante.setTropas(4);
+            tDefensor.setTropas(1 + i % 3);
+            tDefensor.setPlayerId(defensor.getPlayerId());
+
+            ResultadoCombate resultado = logica.executarUmaRodada();
+            assertEquals(3, resultado.getQtdDadosAtacante());
+            assertEquals(1 + i % 3, resultado.getQtdDadosDefensor());
+
+            int comparacoes = Math.min(resultado.getQtdDadosAtacante(), resultado.getQtdDadosDefensor());
+            int perdasD = 0;
+            for (int k = 0; k < comparacoes; k++) {
+                if (resultado.getDadoDefensor(k) < resultado.getDadoAtacante(k)) perdasD++;
+            }
+            assertEquals(perdasD, resultado.perdasDefensor);
+            assertEquals(comparacoes - perdasD, resultado.perdasAtacante, "Empate é do defensor");
+
+            Integer[] visao = resultado.getDadosAtacante();
+            for (int k = 0; k < visao.length; k++) {
+                assertEquals(resultado.getDadoAtacante(k), (int) visao[k]);
+                assertTrue(visao[k] >= 1 && visao[k] <= 6);
+                if (k > 0) assertTrue(visao[k - 1] >= visao[k], "Dados devem vir em ordem decrescente");
+            }
+        }
+    }
+
+    @Test
+    void testBatalhaReutilizaOResultado() {
+        AtaqueLogica logica = new AtaqueLogica(tAtacante, tDefensor, atacante, defensor, mapa);
+
+        tAtacante.setTropas(1);
+        ResultadoBatalha invalida = logica.executarBatalha(1, true);
+        assertEquals(AtaqueEstado.TROPAS_INSUFICIENTES, invalida.estado);
+        ResultadoBatalha copia = invalida.copia();
+
+        tAtacante.setTropas(20);
+        tDefensor.setTropas(2);
+        ResultadoBatalha batalha = logica.executarBatalha(1, true);
+        assertSame(invalida, batalha, "executarBatalha deve devolver sempre a mesma instância");
+        assertEquals(20 - tAtacante.getTropas(), batalha.perdasAtacante);
+        assertEquals(2 - tDefensor.getTropas(), batalha.perdasDefensor);
+        assertEquals(AtaqueEstado.TROPAS_INSUFICIENTES, copia.estado, "A cópia não muda com a próxima batalha");
+    }
+
+    @Test
+    void testOrdenar3_todasAsPermutacoes() {
+        for (int x = 0; x <= 6; x++) {
+            for (int y = 0; y <= 6; y++) {
+                for (int z = 0; z <= 6; z++) {
+                    int[] v = {x, y, z};
+                    Arrays.sort(v);
+                    assertEquals(v[2] | (v[1] << 3) | (v[0] << 6), AtaqueLogica.ordenar3(x, y, z));
+                }
+            }
+        }
+    }
+}
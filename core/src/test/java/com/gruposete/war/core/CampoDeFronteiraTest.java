@@ -0,0 +1,81 @@
+package com.gruposete.war.core;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+public class CampoDeFronteiraTest {
+
+    /** Distâncias ao front calculadas do zero (BFS sobre os objetos), para comparar com o campo incremental. */
+    private int[] distanciasDeReferencia(Mapa mapa, int jogador) {
+        int[] d = new int[Mapa.NUM_TERRITORIOS];
+        Arrays.fill(d, CampoDeFronteira.INALCANCAVEL);
+        ArrayDeque<Integer> fila = new ArrayDeque<>();
+        for (int t = 0; t < Mapa.NUM_TERRITORIOS; t++) {
+            Territorio territorio = mapa.getTerritorioPorId(t);
+            if (territorio.getPlayerId() == jogador && mapa.contarInimigosAdj(territorio) > 0) {
+                d[t] = 0;
+                fila.add(t);
+            }
+        }
+        while (!fila.isEmpty()) {
+            int atual = fila.poll();
+            for (int k = mapa.getInicioVizinhos(atual); k < mapa.getFimVizinhos(atual); k++) {
+                Territorio v = mapa.getVizinho(k);
+                if (v.getPlayerId() == jogador && d[v.getId()] == CampoDeFronteira.INALCANCAVEL) {
+                    d[v.getId()] = d[atual] + 1;
+                    fila.add(v.getId());
+                }
+            }
+        }
+        return d;
+    }
+
+    private void conferir(ControladorDePartida ctrl, String momento) {
+        Mapa mapa = ctrl.getMapa();
+        CampoDeFronteira campo = ctrl.getCampoDeFronteira();
+        for (int t = 0; t < Mapa.NUM_TERRITORIOS; t++) {
+            Territorio territorio = mapa.getTerritorioPorId(t);
+            assertEquals(mapa.somaTropasInimigasAdj(territorio), campo.getPressao(t), "Pressão de " + territorio.getNome() + " " + momento);
+            assertEquals(mapa.contarInimigosAdj(territorio), campo.getNumInimigos(t), "Inimigos de " + territorio.getNome() + " " + momento);
+        }
+        for (Jogador j : ctrl.getJogadores()) {
+            int[] esperado = distanciasDeReferencia(mapa, j.getPlayerId());
+            for (Territorio t : j.getTerritorios()) {
+                assertEquals(esperado[t.getId()], campo.getDistanciaAoFront(j.getPlayerId(), t.getId()),
+                    "Distância de " + t.getNome() + " " + momento);
+            }
+        }
+    }
+
+    @Test
+    public void testIncrementalBateComRecalculoAPartidaInteira() {
+        ControladorDePartida ctrl = PartidasDeTeste.criar(4, 31L);
+        // Confere a pressão a cada evento (o campo é registrado antes, então já processou o evento)
+        ctrl.getEventos().adicionarConsumidor(e -> {
+            if (e.tipo == EventoPartida.Tipo.ESTADO_REDEFINIDO) return;
+            for (int t = 0; t < Mapa.NUM_TERRITORIOS; t++) {
+                Territorio territorio = ctrl.getMapa().getTerritorioPorId(t);
+                assertEquals(ctrl.getMapa().somaTropasInimigasAdj(territorio), ctrl.getCampoDeFronteira().getPressao(t), "Após " + e);
+            }
+        });
+
+        conferir(ctrl, "no início");
+        for (int turno = 0; turno < 150 && ctrl.verificarVitoria() == null; turno++) {
+            new IABot(ctrl, ctrl.getJogadorAtual()).jogarTurnoSincrono();
+            conferir(ctrl, "após o turno " + turno);
+        }
+    }
+
+    @Test
+    public void testRestaurarEstadoReconstroiOCampo() {
+        ControladorDePartida ctrl = PartidasDeTeste.criar(4, 5L);
+        EstadoCompacto inicio = EstadoCompacto.capturar(ctrl);
+        for (int turno = 0; turno < 12; turno++) new IABot(ctrl, ctrl.getJogadorAtual()).jogarTurnoSincrono();
+
+        inicio.aplicarEm(ctrl);
+        conferir(ctrl, "após restaurar");
+    }
+}
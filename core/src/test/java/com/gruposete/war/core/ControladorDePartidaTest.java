@@ -194,7 +194,7 @@ public class ControladorDePartidaTest {
             for (Territorio t : ctrl.getJogadorAtual().getTerritorios()) {
                 // Se tiver restrição, respeita
                 String rest = ctrl.getRestricaoAtual();
-                if (rest == null || t.getContinente().equalsIgnoreCase(rest)) {
+                if (rest == null || t.getNomeContinente().equalsIgnoreCase(rest)) {
                     if (ctrl.alocarTropas(t, 1)) {
                         alocou = true;
                         break;
@@ -207,4 +207,71 @@ public class ControladorDePartidaTest {
         ctrl.proximaFaseTurno();
         assertNotNull(ctrl.getEstadoTurno());
     }
+
+    @Test
+    public void testMascarasDePosse_acompanhamConquistas() {
+        ControladorDePartida ctrl = PartidasDeTeste.criar(3);
+
+        for (int turno = 0; turno < 40 && ctrl.verificarVitoria() == null; turno++) {
+            new IABot(ctrl, ctrl.getJogadorAtual()).jogarTurnoSincrono();
+
+            long todas = 0L;
+            for (Jogador j : ctrl.getJogadores()) {
+                long mascara = ctrl.getMascaraDe(j);
+                assertEquals(Mapa.mascaraDe(j.getTerritorios()), mascara, "Bitboard desatualizado para " + j.getNome());
+                assertEquals(j.getTerritorios().size(), Long.bitCount(mascara));
+                assertEquals(0L, todas & mascara, "Um território não pode ter dois donos");
+                todas |= mascara;
+            }
+            assertEquals(Mapa.NUM_TERRITORIOS, Long.bitCount(todas));
+        }
+    }
+
+    @Test
+    public void testAtaqueCompleto_atualizaPosseETropas() {
+        ControladorDePartida ctrl = PartidasDeTeste.criar(3);
+
+        // A configuração probabilística resolve os ataques com realizarAtaqueCompleto
+        for (int turno = 0; turno < 60 && ctrl.verificarVitoria() == null; turno++) {
+            new IABot(ctrl, ctrl.getJogadorAtual(), ConfiguracaoIA.PROBABILISTICA).jogarTurnoSincrono();
+
+            for (Jogador j : ctrl.getJogadores()) {
+                assertEquals(Mapa.mascaraDe(j.getTerritorios()), ctrl.getMascaraDe(j), "Bitboard desatualizado para " + j.getNome());
+                int comDuas = 0;
+                for (Territorio t : j.getTerritorios()) {
+                    assertEquals(j.getPlayerId(), t.getPlayerId());
+                    assertTrue(t.getTropas() >= 1, "Território sem tropas: " + t.getNome());
+                    if (t.getTropas() >= 2) comDuas++;
+                }
+                assertEquals(comDuas, ctrl.getQtdTerritoriosComDuasTropas(j));
+            }
+        }
+    }
+
+    @Test
+    public void testVerificarVitoria_incrementalBateComVerificacaoCompleta() {
+        ControladorDePartida ctrl = PartidasDeTeste.criar(2);
+
+        Jogador vencedor = null;
+        for (int turno = 0; turno < 400 && vencedor == null; turno++) {
+            new IABot(ctrl, ctrl.getJogadorAtual()).jogarTurnoSincrono();
+
+            for (Jogador j : ctrl.getJogadores()) {
+                int comDuas = 0;
+                for (Territorio t : j.getTerritorios()) if (t.getTropas() >= 2) comDuas++;
+                assertEquals(comDuas, ctrl.getQtdTerritoriosComDuasTropas(j), "Contador de 2+ tropas desatualizado");
+                for (Continente c : Continente.values()) {
+                    int noContinente = 0;
+                    for (Territorio t : j.getTerritorios()) if (t.getContinente() == c) noContinente++;
+                    assertEquals(noContinente, ctrl.getQtdTerritoriosNoContinente(j, c));
+                }
+            }
+
+            // O resultado em cache deve ser o mesmo de uma verificação completa
+            vencedor = ctrl.verificarVitoria();
+            VerificadorObjetivos completo = new VerificadorObjetivos(ctrl.getJogadores(), ctrl.getTerritorios(), ctrl);
+            assertSame(completo.verificarTodosObjetivos(), vencedor);
+            assertSame(vencedor, ctrl.verificarVitoria(), "Sem mudança de estado, o resultado não pode mudar");
+        }
+    }
 }
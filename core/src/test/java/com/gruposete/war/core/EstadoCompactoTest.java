@@ -0,0 +1,92 @@
+package com.gruposete.war.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EstadoCompactoTest {
+
+    private ControladorDePartida controlador;
+
+    @BeforeEach
+    public void setup() {
+        controlador = PartidasDeTeste.criar(4);
+    }
+
+    private void jogarTurnos(int quantidade) {
+        for (int i = 0; i < quantidade && controlador.verificarVitoria() == null; i++) {
+            new IABot(controlador, controlador.getJogadorAtual()).jogarTurnoSincrono();
+        }
+    }
+
+    @Test
+    public void testIdsEstaveisDosTerritorios() {
+        boolean[] visto = new boolean[Mapa.NUM_TERRITORIOS];
+        for (Territorio t : controlador.getTerritorios()) {
+            assertTrue(t.getId() >= 0 && t.getId() < Mapa.NUM_TERRITORIOS, "ID fora da faixa: " + t.getNome());
+            assertFalse(visto[t.getId()], "ID repetido: " + t.getId());
+            visto[t.getId()] = true;
+            assertSame(t, controlador.getMapa().getTerritorioPorId(t.getId()));
+        }
+        assertEquals(0, Mapa.getIdPorNome("Alasca"));
+        assertEquals(-1, Mapa.getIdPorNome("Atlântida"));
+    }
+
+    @Test
+    public void testCapturaRefleteModeloDeObjetos() {
+        EstadoCompacto estado = EstadoCompacto.capturar(controlador);
+
+        for (Territorio t : controlador.getTerritorios()) {
+            assertEquals(t.getPlayerId(), estado.getDono(t.getId()));
+            assertEquals(t.getTropas(), estado.getTropas(t.getId()));
+        }
+        assertEquals(controlador.getJogadorAtual().getPlayerId(), estado.getJogadorAtual());
+        assertEquals(controlador.getEstadoTurno(), estado.getFase());
+
+        int totalLotes = 0;
+        for (int i = 0; i < estado.getNumLotes(); i++) totalLotes += estado.getLoteQuantidade(i);
+        assertEquals(controlador.getTropasADistribuirTotal(), totalLotes);
+    }
+
+    @Test
+    public void testCopiaIndependente() {
+        jogarTurnos(12);
+        EstadoCompacto original = EstadoCompacto.capturar(controlador);
+        EstadoCompacto copia = new EstadoCompacto();
+        original.copiarPara(copia);
+
+        assertEquals(original, copia);
+
+        copia.setTropas(0, copia.getTropas(0) + 5);
+        copia.setMao(1, copia.getMao(1) | 1L);
+        assertNotEquals(original, copia, "Alterar a cópia não pode afetar o original");
+        assertEquals(controlador.getMapa().getTerritorioPorId(0).getTropas(), original.getTropas(0));
+    }
+
+    @Test
+    public void testIdaEVoltaComModeloDeObjetos() {
+        jogarTurnos(8);
+        EstadoCompacto salvo = EstadoCompacto.capturar(controlador);
+
+        // A partida segue, mudando donos, tropas, mãos e o baralho
+        jogarTurnos(20);
+        assertNotEquals(salvo, EstadoCompacto.capturar(controlador));
+
+        // Restaurar deve trazer o modelo de objetos de volta ao estado salvo
+        salvo.aplicarEm(controlador);
+        assertEquals(salvo, EstadoCompacto.capturar(controlador));
+
+        int cartasEmJogo = controlador.getBaralho().getTamanhoBaralho();
+        int territorios = 0;
+        for (Jogador j : controlador.getJogadores()) {
+            cartasEmJogo += j.getCartas().size();
+            territorios += j.getTerritorios().size();
+            for (Territorio t : j.getTerritorios()) assertEquals(j.getPlayerId(), t.getPlayerId());
+        }
+        assertEquals(BaralhoDeTroca.NUM_CARTAS, cartasEmJogo, "O baralho deve conter as cartas fora das mãos");
+        assertEquals(Mapa.NUM_TERRITORIOS, territorios);
+
+        // E a partida continua jogável a partir do estado restaurado
+        jogarTurnos(5);
+    }
+}
@@ -0,0 +1,111 @@
+package com.gruposete.war.core;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class FluxoDeEventosTest {
+
+    @Test
+    public void testConsumidorSincronoELeitorRecebemEmOrdem() {
+        FluxoDeEventos fluxo = new FluxoDeEventos(8);
+        List<Long> sincronos = new ArrayList<>();
+        fluxo.adicionarConsumidor(e -> sincronos.add(e.sequencia));
+        FluxoDeEventos.Leitor leitor = fluxo.criarLeitor();
+
+        for (int i = 0; i < 5; i++) {
+            fluxo.publicar(EventoPartida.Tipo.TROPAS_ALOCADAS, 1, -1, i, i + 1, 0);
+        }
+        assertEquals(5, sincronos.size());
+
+        List<Integer> destinos = new ArrayList<>();
+        assertEquals(5, leitor.drenar(e -> destinos.add(e.destino)));
+        assertEquals(List.of(0, 1, 2, 3, 4), destinos);
+        assertEquals(0, leitor.drenar(e -> fail("Não há eventos novos")));
+    }
+
+    @Test
+    public void testLeitorAtrasadoPerdeSoOsMaisAntigos() {
+        FluxoDeEventos fluxo = new FluxoDeEventos(8);
+        FluxoDeEventos.Leitor leitor = fluxo.criarLeitor();
+
+        for (int i = 0; i < 20; i++) {
+            fluxo.publicar(EventoPartida.Tipo.VEZ_PASSADA, 1, -1, -1, i, 0);
+        }
+
+        List<Integer> valores = new ArrayList<>();
+        leitor.drenar(e -> valores.add(e.valor));
+        assertEquals(12, leitor.getPerdidos());
+        assertEquals(8, valores.size(), "Deve entregar os últimos 'capacidade' eventos");
+        assertEquals(12, (int) valores.get(0));
+        assertEquals(19, (int) valores.get(7));
+    }
+
+    @Test
+    public void testCapacidadeInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> new FluxoDeEventos(100));
+    }
+
+    @Test
+    public void testLeitorEmOutraThread() throws Exception {
+        FluxoDeEventos fluxo = new FluxoDeEventos(256);
+        FluxoDeEventos.Leitor leitor = fluxo.criarLeitor();
+        int total = 200_000;
+
+        long[] recebidos = {0};
+        boolean[] ordemOk = {true};
+        long[] ultima = {-1};
+        Thread consumidor = new Thread(() -> {
+            while (recebidos[0] + leitor.getPerdidos() < total) {
+                recebidos[0] += leitor.drenar(e -> {
+                    // Campos coerentes entre si e sequência sempre crescente
+                    if (e.sequencia <= ultima[0] || e.valor != (int) e.sequencia || e.extra != -e.valor) ordemOk[0] = false;
+                    ultima[0] = e.sequencia;
+                });
+            }
+        });
+        consumidor.start();
+
+        for (int i = 0; i < total; i++) {
+            fluxo.publicar(EventoPartida.Tipo.ATAQUE_RESOLVIDO, 1, 2, 3, i, -i);
+        }
+        consumidor.join(10_000);
+
+        assertFalse(consumidor.isAlive(), "O leitor deveria ter alcançado o produtor");
+        assertTrue(ordemOk[0], "Leitor recebeu evento fora de ordem ou corrompido");
+        assertEquals(total, recebidos[0] + leitor.getPerdidos());
+    }
+
+    @Test
+    public void testControladorPublicaEventosDaPartida() {
+        ControladorDePartida ctrl = PartidasDeTeste.preparar(3);
+
+        Map<EventoPartida.Tipo, Integer> contagem = new EnumMap<>(EventoPartida.Tipo.class);
+        int[] tropasAlocadas = {0};
+        int[] bonusTrocas = {0};
+        ctrl.getEventos().adicionarConsumidor(e -> {
+            contagem.merge(e.tipo, 1, Integer::sum);
+            if (e.tipo == EventoPartida.Tipo.TROPAS_ALOCADAS) tropasAlocadas[0] += e.valor;
+            if (e.tipo == EventoPartida.Tipo.CARTAS_TROCADAS) bonusTrocas[0] += e.valor;
+        });
+        ctrl.iniciarPartida();
+
+        int turnos = 0;
+        int tropasEsperadas = 0;
+        for (; turnos < 30 && ctrl.verificarVitoria() == null; turnos++) {
+            tropasEsperadas += ctrl.getTropasADistribuirTotal();
+            new IABot(ctrl, ctrl.getJogadorAtual()).jogarTurnoSincrono();
+        }
+
+        assertEquals(1, (int) contagem.get(EventoPartida.Tipo.ESTADO_REDEFINIDO));
+        assertEquals(turnos, (int) contagem.get(EventoPartida.Tipo.VEZ_PASSADA));
+        assertTrue(contagem.containsKey(EventoPartida.Tipo.ATAQUE_RESOLVIDO));
+        assertTrue(contagem.containsKey(EventoPartida.Tipo.FASE_ALTERADA));
+        // Toda tropa de reforço (incluindo bônus de troca) sai em eventos TROPAS_ALOCADAS
+        assertEquals(tropasEsperadas + bonusTrocas[0], tropasAlocadas[0]);
+    }
+}
@@ -0,0 +1,61 @@
+package com.gruposete.war.core;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class HashZobristTest {
+
+    @Test
+    public void testIncrementalBateComCalculoCompleto() {
+        ControladorDePartida ctrl = PartidasDeTeste.criar(4, 8L);
+        Set<Long> vistos = new HashSet<>();
+        int turnos = 0;
+
+        assertEquals(HashZobrist.calcular(EstadoCompacto.capturar(ctrl)), ctrl.getHash());
+        for (; turnos < 120 && ctrl.verificarVitoria() == null; turnos++) {
+            new IABot(ctrl, ctrl.getJogadorAtual()).jogarTurnoSincrono();
+            assertEquals(HashZobrist.calcular(EstadoCompacto.capturar(ctrl)), ctrl.getHash(),
+                "Hash incremental divergiu no turno " + turnos);
+            vistos.add(ctrl.getHash());
+        }
+        assertEquals(turnos, vistos.size(), "Estados diferentes da partida não devem colidir");
+    }
+
+    @Test
+    public void testRestaurarEstadoRestauraOHash() {
+        ControladorDePartida ctrl = PartidasDeTeste.criar(4, 13L);
+        for (int i = 0; i < 10; i++) new IABot(ctrl, ctrl.getJogadorAtual()).jogarTurnoSincrono();
+        EstadoCompacto salvo = EstadoCompacto.capturar(ctrl);
+        long hashSalvo = ctrl.getHash();
+
+        for (int i = 0; i < 6 && ctrl.verificarVitoria() == null; i++) new IABot(ctrl, ctrl.getJogadorAtual()).jogarTurnoSincrono();
+        assertNotEquals(hashSalvo, ctrl.getHash());
+
+        salvo.aplicarEm(ctrl);
+        assertEquals(hashSalvo, ctrl.getHash());
+    }
+
+    @Test
+    public void testComponentes() {
+        // Tropas exatas até 15, depois faixas que dobram
+        assertEquals(15, HashZobrist.faixaDeTropas(15));
+        assertEquals(HashZobrist.faixaDeTropas(16), HashZobrist.faixaDeTropas(31));
+        assertNotEquals(HashZobrist.faixaDeTropas(31), HashZobrist.faixaDeTropas(32));
+        assertEquals(HashZobrist.NUM_FAIXAS_DE_TROPAS - 1, HashZobrist.faixaDeTropas(100_000));
+
+        // O resumo da mão depende só dos símbolos (cartas 1 e 2 são curingas)
+        long doisCuringas = 0b11L;
+        assertEquals(2 << (2 * SimboloCarta.CURINGA.ordinal()), HashZobrist.resumoDaMao(doisCuringas));
+        assertEquals(0L, HashZobrist.mao(3, HashZobrist.resumoDaMao(0L)), "Mão vazia não entra no hash");
+
+        EstadoCompacto a = EstadoCompacto.capturar(PartidasDeTeste.criar(4, 1L));
+        EstadoCompacto b = a.copia();
+        b.setTropas(5, b.getTropas(5) + 1);
+        assertNotEquals(HashZobrist.calcular(a), HashZobrist.calcular(b));
+        b.setTropas(5, b.getTropas(5) - 1);
+        assertEquals(HashZobrist.calcular(a), HashZobrist.calcular(b));
+    }
+}
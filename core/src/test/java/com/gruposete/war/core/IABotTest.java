@@ -2,13 +2,17 @@ package com.gruposete.war.core;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.utils.Array;
+import com.sun.management.ThreadMXBean;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class IABotTest {
 
@@ -127,4 +131,33 @@ class IABotTest {
         assertTrue(scoreBrasil > scoreSeguro, 
             "Falha de Refinamento: A IA deveria dar uma pontuação de defesa maior para fronteiras ameaçadas.");
     }
-}
\ No newline at end of file
+
+    // Medição de alocação depende da JVM (HotSpot) e do JIT: fora do 'gradlew test', roda com 'gradlew benchmark'
+    @Test
+    @Tag("benchmark")
+    void testEscolhaDeTerritorioNaoAloca() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean, "JVM sem medição de alocação por thread");
+        ThreadMXBean threadMx = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMx.isThreadAllocatedMemorySupported() && threadMx.isThreadAllocatedMemoryEnabled(),
+            "Medição de alocação por thread desligada nesta JVM");
+
+        long thread = Thread.currentThread().getId();
+        int chamadas = 20000;
+
+        // Aquecimento (JIT), depois medição
+        for (int i = 0; i < chamadas; i++) {
+            bot.getMelhorTerritorioDefesaNovaFormula(null);
+            bot.getMelhorTerritorioAtaqueAllIn(5);
+        }
+        long antes = threadMx.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < chamadas; i++) {
+            bot.getMelhorTerritorioDefesaNovaFormula(null);
+            bot.getMelhorTerritorioDefesaNovaFormula(Continente.AMERICA_SUL);
+            bot.getMelhorTerritorioAtaqueAllIn(5);
+        }
+        long alocados = threadMx.getThreadAllocatedBytes(thread) - antes;
+
+        // Tolerância pequena para a própria medição; 1 objeto por chamada já daria centenas de KB
+        assertTrue(alocados < 16 * 1024, "Laços quentes da IA alocaram " + alocados + " bytes");
+    }
+}
@@ -0,0 +1,105 @@
+package com.gruposete.war.core;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class IAMonteCarloTest {
+
+    /** O primeiro da ordem de turnos joga com MCTS; os outros com o IABot. */
+    private void jogarTurnos(ControladorDePartida ctrl, int turnos, int paralelismo) {
+        Jogador mcts = ctrl.getJogadores().get(0);
+        for (int turno = 0; turno < turnos && ctrl.verificarVitoria() == null; turno++) {
+            Jogador atual = ctrl.getJogadorAtual();
+            if (atual == mcts) {
+                IAMonteCarlo ia = new IAMonteCarlo(ctrl, atual);
+                ia.setIteracoesPorDecisao(40);
+                ia.setParalelismo(paralelismo);
+                ia.jogarTurnoSincrono();
+                assertNotSame(mcts, ctrl.getJogadorAtual(), "A IA MCTS deve passar a vez ao fim do turno");
+            } else {
+                new IABot(ctrl, atual).jogarTurnoSincrono();
+            }
+        }
+    }
+
+    @Test
+    public void testJogaTurnosValidos() {
+        ControladorDePartida ctrl = PartidasDeTeste.criar(3, 99L);
+        jogarTurnos(ctrl, 15, 2);
+
+        long todas = 0L;
+        for (Jogador j : ctrl.getJogadores()) {
+            assertEquals(Mapa.mascaraDe(j.getTerritorios()), ctrl.getMascaraDe(j));
+            for (Territorio t : j.getTerritorios()) {
+                assertTrue(t.getTropas() >= 1, "Território sem tropas: " + t.getNome());
+            }
+            todas |= ctrl.getMascaraDe(j);
+        }
+        assertEquals(Mapa.NUM_TERRITORIOS, Long.bitCount(todas));
+    }
+
+    @Test
+    public void testOrcamentoPorIteracoesReproduzivel() {
+        // Com número fixo de iterações, a jogada só depende da semente (não do escalonamento das threads)
+        ControladorDePartida a = PartidasDeTeste.criar(3, 5L);
+        ControladorDePartida b = PartidasDeTeste.criar(3, 5L);
+        jogarTurnos(a, 9, 2);
+        jogarTurnos(b, 9, 2);
+        assertEquals(EstadoCompacto.capturar(a), EstadoCompacto.capturar(b));
+    }
+
+    @Test
+    public void testSimulacaoRapidaConservaTerritorios() {
+        ControladorDePartida ctrl = PartidasDeTeste.criar(3, 3L);
+        EstadoCompacto e = EstadoCompacto.capturar(ctrl);
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 200; i++) {
+            SimulacaoRapida.jogarTurnoGuloso(e, ctrl.getMapa(), random);
+            int donos = 0;
+            for (int t = 0; t < Mapa.NUM_TERRITORIOS; t++) {
+                assertTrue(e.getTropas(t) >= 1, "Território sem tropas na simulação");
+                if (e.getDono(t) != 0) donos++;
+            }
+            assertEquals(Mapa.NUM_TERRITORIOS, donos);
+            assertTrue(SimulacaoRapida.isVivo(e, e.getJogadorAtual()), "A vez nunca cai num jogador eliminado");
+        }
+    }
+
+    @Test
+    public void testTurnoEmSegundoPlanoAplicaNaThreadDoJogo() throws InterruptedException {
+        ControladorDePartida ctrl = PartidasDeTeste.criar(3, 23L);
+        Jogador mcts = ctrl.getJogadores().get(0);
+        Thread threadDoJogo = Thread.currentThread();
+        // Toda mudança de estado tem que acontecer na thread do jogo, nunca na da busca
+        int[] foraDaThread = new int[1];
+        ctrl.getEventos().adicionarConsumidor(e -> {
+            if (Thread.currentThread() != threadDoJogo) foraDaThread[0]++;
+        });
+
+        LinkedBlockingQueue<Runnable> fila = new LinkedBlockingQueue<>();
+        EstrategiaMonteCarlo estrategia = new EstrategiaMonteCarlo(OrcamentoIA.porIteracoes(40, 2));
+        estrategia.setThreadDoJogo(fila::add);
+        for (int turno = 0; turno < 6 && ctrl.verificarVitoria() == null; turno++) {
+            Jogador atual = ctrl.getJogadorAtual();
+            if (atual != mcts) {
+                new IABot(ctrl, atual).jogarTurnoSincrono();
+                continue;
+            }
+            estrategia.executarTurno(ctrl, atual);
+            // Simula o loop de render: executa o que a busca postou até a vez passar
+            while (ctrl.getJogadorAtual() == mcts && ctrl.verificarVitoria() == null) {
+                Runnable r = fila.poll(10, TimeUnit.SECONDS);
+                assertNotNull(r, "A busca em segundo plano não devolveu nenhuma ação");
+                r.run();
+            }
+        }
+
+        assertEquals(0, foraDaThread[0]);
+        assertEquals(HashZobrist.calcular(EstadoCompacto.capturar(ctrl)), ctrl.getHash());
+    }
+}
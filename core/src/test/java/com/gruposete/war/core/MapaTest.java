@@ -0,0 +1,186 @@
+package com.gruposete.war.core;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.gruposete.war.utils.Utils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapaTest {
+
+    private Array<Territorio> territorios;
+    private Mapa mapa;
+
+    @BeforeEach
+    void setUp() {
+        territorios = Utils.geradorTerritorios();
+        mapa = new Mapa(territorios);
+    }
+
+    @Test
+    void testIndicesBatemComListasDeAdjacencia() {
+        int[] offsets = mapa.getOffsets();
+        int[] vizinhos = mapa.getVizinhos();
+
+        for (Territorio a : territorios) {
+            Array<Territorio> adj = mapa.getTerritoriosAdj(a);
+            assertEquals(adj.size, mapa.getNumVizinhos(a.getId()), "Número de vizinhos de " + a.getNome());
+            assertEquals(adj.size, Long.bitCount(mapa.getMascaraAdjacencia(a.getId())));
+
+            for (int k = offsets[a.getId()]; k < offsets[a.getId() + 1]; k++) {
+                assertTrue(adj.contains(mapa.getTerritorioPorId(vizinhos[k]), true));
+            }
+            for (Territorio b : territorios) {
+                assertEquals(adj.contains(b, true), mapa.isAdjacente(a, b), a.getNome() + " -> " + b.getNome());
+            }
+        }
+    }
+
+    @Test
+    void testTerritorioDeOutroMapaNaoEAdjacente() {
+        Territorio brasil = null, argentina = null;
+        for (Territorio t : territorios) {
+            if (t.getNome().equals("Brasil")) brasil = t;
+        }
+        for (Territorio t : Utils.geradorTerritorios()) {
+            if (t.getNome().equals("Argentina")) argentina = t;
+        }
+        assertFalse(mapa.isAdjacente(brasil, argentina), "Só territórios do próprio mapa contam");
+    }
+
+    @Test
+    void testVizinhosPorDono() {
+        for (Territorio t : territorios) t.setPlayerId(1);
+        Territorio brasil = null;
+        for (Territorio t : territorios) {
+            if (t.getNome().equals("Brasil")) brasil = t;
+        }
+        mapa.getTerritoriosAdj(brasil).first().setPlayerId(2);
+
+        assertEquals(1, mapa.getInimigosAdj(brasil).size);
+        assertEquals(mapa.getNumVizinhos(brasil.getId()) - 1, mapa.getAlidadosAdj(brasil).size);
+    }
+
+    @Test
+    void testConsultasSemAlocacaoBatemComVersoesQueAlocam() {
+        // Donos alternados para ter inimigos e aliados em toda parte
+        for (Territorio t : territorios) {
+            t.setPlayerId(1 + t.getId() % 3);
+            t.setTropas(1 + t.getId() % 7);
+        }
+        Territorio[] buffer = new Territorio[mapa.getMaxVizinhos()];
+
+        for (Territorio t : territorios) {
+            Array<Territorio> inimigos = mapa.getInimigosAdj(t);
+            Array<Territorio> aliados = mapa.getAlidadosAdj(t);
+
+            int soma = 0;
+            Territorio fraco = null;
+            for (Territorio ini : inimigos) {
+                soma += ini.getTropas();
+                if (fraco == null || ini.getTropas() < fraco.getTropas()) fraco = ini;
+            }
+            assertEquals(inimigos.size, mapa.contarInimigosAdj(t));
+            assertEquals(aliados.size, mapa.contarAliadosAdj(t));
+            assertEquals(soma, mapa.somaTropasInimigasAdj(t));
+            assertSame(fraco, mapa.getInimigoAdjMaisFraco(t));
+
+            int n = mapa.getInimigosAdj(t, buffer);
+            assertEquals(inimigos.size, n);
+            for (int i = 0; i < n; i++) assertSame(inimigos.get(i), buffer[i]);
+            n = mapa.getAlidadosAdj(t, buffer);
+            assertEquals(aliados.size, n);
+            for (int i = 0; i < n; i++) assertSame(aliados.get(i), buffer[i]);
+
+            int[] visitados = {0};
+            mapa.forEachInimigoAdj(t, id -> {
+                assertTrue(inimigos.contains(mapa.getTerritorioPorId(id), true));
+                visitados[0]++;
+            });
+            assertEquals(inimigos.size, visitados[0]);
+        }
+    }
+
+    @Test
+    void testContinentePrecalculadoBateComMapa() {
+        for (Map.Entry<Continente, List<Territorio>> e : mapa.getTerritoriosPorContinente().entrySet()) {
+            assertEquals(e.getKey().getNumTerritorios(), e.getValue().size());
+            for (Territorio t : e.getValue()) {
+                assertSame(e.getKey(), t.getContinente(), t.getNome());
+                assertEquals(e.getKey().getNome(), t.getNomeContinente());
+            }
+        }
+        Territorio avulso = new Territorio("Atlântida", Color.WHITE, new float[]{0, 0, 1, 0, 1, 1});
+        assertNull(avulso.getContinente());
+    }
+
+    @Test
+    void testDistanciasBatemComBuscaEmLargura() {
+        for (int a = 0; a < Mapa.NUM_TERRITORIOS; a++) {
+            int[] esperado = new int[Mapa.NUM_TERRITORIOS];
+            Arrays.fill(esperado, GrafoDoMapa.INALCANCAVEL);
+            ArrayDeque<Integer> fila = new ArrayDeque<>();
+            esperado[a] = 0;
+            fila.add(a);
+            while (!fila.isEmpty()) {
+                int atual = fila.poll();
+                for (int b = 0; b < Mapa.NUM_TERRITORIOS; b++) {
+                    if (mapa.isAdjacente(atual, b) && esperado[b] == GrafoDoMapa.INALCANCAVEL) {
+                        esperado[b] = esperado[atual] + 1;
+                        fila.add(b);
+                    }
+                }
+            }
+            for (int b = 0; b < Mapa.NUM_TERRITORIOS; b++) {
+                assertEquals(esperado[b], mapa.distancia(a, b), "Distância " + a + " -> " + b);
+            }
+        }
+        assertEquals(1, mapa.distancia(Mapa.getIdPorNome("Brasil"), Mapa.getIdPorNome("Argelia")));
+    }
+
+    @Test
+    void testPontosDeEstrangulamentoDesconectamOMapa() {
+        for (int t = 0; t < Mapa.NUM_TERRITORIOS; t++) {
+            // Sem 't', quantos territórios ainda se alcançam a partir de outro qualquer (vizinhança nos dois sentidos)
+            int inicio = (t == 0) ? 1 : 0;
+            long alcancados = 1L << inicio, fronteira = alcancados;
+            while (fronteira != 0) {
+                long proxima = 0L;
+                for (long c = fronteira; c != 0; c &= c - 1) {
+                    int u = Long.numberOfTrailingZeros(c);
+                    for (int v = 0; v < Mapa.NUM_TERRITORIOS; v++) {
+                        if (v != t && (mapa.isAdjacente(u, v) || mapa.isAdjacente(v, u))) proxima |= 1L << v;
+                    }
+                }
+                fronteira = proxima & ~alcancados;
+                alcancados |= fronteira;
+            }
+            boolean desconecta = Long.bitCount(alcancados) < Mapa.NUM_TERRITORIOS - 1;
+            assertEquals(desconecta, mapa.isPontoDeEstrangulamento(t), mapa.getTerritorioPorId(t).getNome());
+        }
+    }
+
+    @Test
+    void testPortasDoContinente() {
+        long portas = mapa.getPortasDoContinente(Continente.AMERICA_SUL);
+        assertTrue((portas & (1L << Mapa.getIdPorNome("Brasil"))) != 0, "Brasil faz fronteira com a África");
+        assertTrue((portas & (1L << Mapa.getIdPorNome("Venezuela"))) != 0, "Venezuela faz fronteira com o México");
+        assertEquals(0L, portas & (1L << Mapa.getIdPorNome("Argentina")));
+
+        for (Continente c : Continente.values()) {
+            long dentro = mapa.getMascaraContinente(c);
+            assertEquals(mapa.getPortasDoContinente(c), mapa.getPortasDoContinente(c) & dentro, "Portas ficam dentro de " + c);
+            assertEquals(0L, mapa.getGrafo().getEntradasDoContinente(c) & dentro, "Entradas ficam fora de " + c);
+        }
+
+        // Tabelas calculadas uma vez e compartilhadas entre mapas do mesmo tabuleiro
+        assertSame(mapa.getGrafo(), new Mapa(Utils.geradorTerritorios()).getGrafo());
+    }
+}
@@ -0,0 +1,50 @@
+package com.gruposete.war.core;
+
+import com.badlogic.gdx.utils.Array;
+import com.gruposete.war.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MascaraDeTerritoriosTest {
+
+    private static final float LARGURA = 1280f;
+    private static final float ALTURA = 720f;
+
+    private int idPorBuscaLinear(Array<Territorio> territorios, float x, float y) {
+        for (Territorio t : territorios) {
+            if (t.contains(x, y)) return t.getId();
+        }
+        return MascaraDeTerritorios.NENHUM;
+    }
+
+    @Test
+    void testMascaraConcordaComPolygonContains() {
+        Array<Territorio> territorios = Utils.geradorTerritorios();
+        MascaraDeTerritorios mascara = new MascaraDeTerritorios(territorios, LARGURA, ALTURA, 1f);
+
+        boolean[] encontrado = new boolean[Mapa.NUM_TERRITORIOS];
+        for (int linha = 0; linha < mascara.getAltura(); linha++) {
+            for (int coluna = 0; coluna < mascara.getLargura(); coluna++) {
+                float x = coluna + 0.5f, y = linha + 0.5f;
+                int id = mascara.getIdEm(x, y);
+                assertEquals(idPorBuscaLinear(territorios, x, y), id, "Célula (" + coluna + ", " + linha + ")");
+                if (id != MascaraDeTerritorios.NENHUM) encontrado[id] = true;
+            }
+        }
+        for (int t = 0; t < Mapa.NUM_TERRITORIOS; t++) {
+            assertTrue(encontrado[t], "Território sem nenhuma célula na máscara: " + t);
+        }
+    }
+
+    @Test
+    void testForaDaGradeNaoTemTerritorio() {
+        MascaraDeTerritorios mascara = new MascaraDeTerritorios(Utils.geradorTerritorios(), LARGURA, ALTURA, 0.5f);
+        assertEquals(640, mascara.getLargura());
+        assertEquals(360, mascara.getAltura());
+        assertEquals(MascaraDeTerritorios.NENHUM, mascara.getIdEm(-1f, 10f));
+        assertEquals(MascaraDeTerritorios.NENHUM, mascara.getIdEm(10f, -0.5f));
+        assertEquals(MascaraDeTerritorios.NENHUM, mascara.getIdEm(LARGURA, 10f));
+        assertEquals(MascaraDeTerritorios.NENHUM, mascara.getIdEm(10f, ALTURA + 5f));
+    }
+}
@@ -0,0 +1,79 @@
+package com.gruposete.war.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+
+public class MotorHeadlessTest {
+
+    private Application appAnterior;
+
+    @BeforeEach
+    public void removerGdxApp() {
+        // O motor headless não pode depender de uma aplicação libGDX
+        appAnterior = Gdx.app;
+        Gdx.app = null;
+    }
+
+    @AfterEach
+    public void restaurarGdxApp() {
+        Gdx.app = appAnterior;
+    }
+
+    @Test
+    public void testPartidaCompletaSemGdxApp() {
+        MotorHeadless motor = new MotorHeadless(PartidasDeTeste.jogadoresIA(3));
+        ResultadoPartida resultado = motor.executar();
+
+        assertNotNull(resultado);
+        assertTrue(resultado.turnosJogados > 0, "A partida deveria ter ao menos um turno");
+        if (!resultado.atingiuLimite) {
+            assertNotNull(resultado.vencedor, "Sem atingir o limite, deve existir um vencedor");
+            assertSame(resultado.vencedor, motor.getControlador().verificarVitoria());
+        }
+    }
+
+    @Test
+    public void testVariasPartidasSeguidasNaMesmaThread() {
+        for (int i = 0; i < 20; i++) {
+            MotorHeadless motor = new MotorHeadless(PartidasDeTeste.jogadoresIA(2 + (i % 5)));
+            ResultadoPartida resultado = motor.executar();
+            assertTrue(resultado.atingiuLimite || resultado.vencedor != null);
+
+            // Cada partida tem o próprio baralho (42 territórios + 2 curingas no total)
+            ControladorDePartida c = motor.getControlador();
+            int cartasEmJogo = c.getBaralho().getTamanhoBaralho();
+            for (Jogador j : c.getJogadores()) cartasEmJogo += j.getCartas().size();
+            assertEquals(44, cartasEmJogo, "Nenhuma carta pode sumir ou vazar entre partidas");
+        }
+    }
+
+    @Test
+    public void testMesmaSementeReproduzAPartida() {
+        MotorHeadless a = new MotorHeadless(PartidasDeTeste.jogadoresIA(4));
+        MotorHeadless b = new MotorHeadless(PartidasDeTeste.jogadoresIA(4));
+        a.setSemente(20240917L);
+        b.setSemente(20240917L);
+
+        ResultadoPartida ra = a.executar();
+        ResultadoPartida rb = b.executar();
+
+        assertEquals(20240917L, ra.semente);
+        assertEquals(ra.turnosJogados, rb.turnosJogados);
+        assertEquals(ra.vencedor == null ? null : ra.vencedor.getCor(), rb.vencedor == null ? null : rb.vencedor.getCor());
+        assertEquals(EstadoCompacto.capturar(a.getControlador()), EstadoCompacto.capturar(b.getControlador()),
+            "Mesma semente deve levar ao mesmo estado final");
+    }
+
+    @Test
+    public void testLimiteDeTurnos() {
+        MotorHeadless motor = new MotorHeadless(PartidasDeTeste.jogadoresIA(2));
+        motor.setLimiteDeTurnos(1);
+        ResultadoPartida resultado = motor.executar();
+        assertTrue(resultado.turnosJogados <= 1);
+    }
+}
@@ -0,0 +1,48 @@
+package com.gruposete.war.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Partidas e jogadores prontos para os testes: só jogadores IA e log silencioso. */
+final class PartidasDeTeste {
+
+    private PartidasDeTeste() {}
+
+    /** Partida iniciada, com os turnos da IA disparados pelo próprio teste. */
+    static ControladorDePartida criar(int quantidade) {
+        ControladorDePartida ctrl = preparar(quantidade);
+        ctrl.iniciarPartida();
+        return ctrl;
+    }
+
+    /** Partida ainda sem iniciarPartida() (ex.: para registrar consumidores de eventos antes do setup). */
+    static ControladorDePartida preparar(int quantidade) {
+        ControladorDePartida ctrl = new ControladorDePartida(jogadoresIA(quantidade), LogDePartida.SILENCIOSO);
+        ctrl.setTurnoIAAutomatico(false);
+        return ctrl;
+    }
+
+    /** Como criar(quantidade), mas com todos os sorteios vindos da semente. */
+    static ControladorDePartida criar(int quantidade, long semente) {
+        ControladorDePartida ctrl = preparar(quantidade, semente, LogDePartida.SILENCIOSO);
+        ctrl.iniciarPartida();
+        return ctrl;
+    }
+
+    /** Como preparar(quantidade), com semente e log escolhidos pelo teste. */
+    static ControladorDePartida preparar(int quantidade, long semente, LogDePartida log) {
+        ControladorDePartida ctrl = new ControladorDePartida(jogadoresIA(quantidade), log, new FonteAleatoria(semente));
+        ctrl.setTurnoIAAutomatico(false);
+        return ctrl;
+    }
+
+    /** Jogadores IA "IA 1", "IA 2"... com ids 1, 2... nas primeiras cores. */
+    static List<Jogador> jogadoresIA(int quantidade) {
+        CorJogador[] cores = CorJogador.values();
+        List<Jogador> jogadores = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            jogadores.add(new Jogador("IA " + (i + 1), cores[i], i + 1, true));
+        }
+        return jogadores;
+    }
+}
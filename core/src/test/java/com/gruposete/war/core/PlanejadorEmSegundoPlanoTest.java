@@ -0,0 +1,49 @@
+package com.gruposete.war.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class PlanejadorEmSegundoPlanoTest {
+
+    @Test
+    public void testTurnosDaHeuristicaSaoPlanejadosForaDaThreadDoJogo() throws InterruptedException {
+        // Conta os erros do log: ação recusada ou dados diferentes na reprodução
+        int[] erros = new int[1];
+        LogDePartida log = new LogDePartida() {
+            @Override public void log(String tag, String mensagem) { }
+            @Override public void error(String tag, String mensagem) { erros[0]++; }
+        };
+
+        ControladorDePartida ctrl = PartidasDeTeste.preparar(3, 31L, log);
+        ctrl.iniciarPartida();
+
+        Thread threadDoJogo = Thread.currentThread();
+        int[] foraDaThread = new int[1];
+        ctrl.getEventos().adicionarConsumidor(e -> {
+            if (Thread.currentThread() != threadDoJogo) foraDaThread[0]++;
+        });
+
+        LinkedBlockingQueue<Runnable> fila = new LinkedBlockingQueue<>();
+        EstrategiaHeuristica estrategia = new EstrategiaHeuristica(ConfiguracaoIA.PADRAO);
+        estrategia.setThreadDoJogo(fila::add);
+
+        for (int turno = 0; turno < 12 && ctrl.verificarVitoria() == null; turno++) {
+            Jogador atual = ctrl.getJogadorAtual();
+            estrategia.executarTurno(ctrl, atual);
+            // Simula o loop de render: executa o que o planejador postou até a vez passar
+            while (ctrl.getJogadorAtual() == atual && ctrl.verificarVitoria() == null) {
+                Runnable r = fila.poll(10, TimeUnit.SECONDS);
+                assertNotNull(r, "O planejamento em segundo plano não devolveu o turno");
+                r.run();
+            }
+        }
+
+        assertEquals(0, foraDaThread[0], "Toda ação deve ser aplicada na thread do jogo");
+        assertEquals(0, erros[0], "A reprodução deve rolar os mesmos dados que o planejamento");
+        assertEquals(HashZobrist.calcular(EstadoCompacto.capturar(ctrl)), ctrl.getHash());
+    }
+}
@@ -0,0 +1,81 @@
+package com.gruposete.war.core;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class RegistroDeEstrategiasTest {
+
+    /** Conta os turnos e delega ao IABot; uma instância só deve jogar todos os turnos do jogador. */
+    private static class EstrategiaContadora implements EstrategiaIA {
+        int turnos;
+        Jogador jogador;
+        private final EstrategiaHeuristica heuristica = new EstrategiaHeuristica(ConfiguracaoIA.PADRAO);
+
+        @Override public String getNome() { return "contadora"; }
+
+        @Override
+        public void jogarTurnoSincrono(ControladorDePartida controlador, Jogador jogador) {
+            assertTrue(this.jogador == null || this.jogador == jogador, "A estratégia só joga pelo seu jogador");
+            this.jogador = jogador;
+            turnos++;
+            heuristica.jogarTurnoSincrono(controlador, jogador);
+        }
+    }
+
+    @Test
+    public void testCriaPorNomeENivel() {
+        RegistroDeEstrategias registro = RegistroDeEstrategias.comEstrategiasPadrao();
+        assertEquals(Arrays.asList(RegistroDeEstrategias.HEURISTICA, RegistroDeEstrategias.PROBABILISTICA, RegistroDeEstrategias.MCTS),
+            registro.getNomes());
+        assertThrows(IllegalArgumentException.class, () -> registro.criar("inexistente", OrcamentoIA.PADRAO));
+
+        for (NivelDeDificuldade nivel : NivelDeDificuldade.values()) {
+            assertTrue(registro.contem(nivel.getEstrategia()), "Nível sem estratégia registrada: " + nivel);
+        }
+        EstrategiaIA facil = registro.criar(NivelDeDificuldade.FACIL);
+        EstrategiaIA dificil = registro.criar(NivelDeDificuldade.DIFICIL);
+        assertTrue(facil instanceof EstrategiaHeuristica);
+        assertTrue(dificil instanceof EstrategiaMonteCarlo);
+        assertSame(NivelDeDificuldade.DIFICIL.getOrcamento(), ((EstrategiaMonteCarlo) dificil).getOrcamento());
+        assertNotSame(facil, registro.criar(NivelDeDificuldade.FACIL), "Cada jogador recebe uma instância própria");
+    }
+
+    @Test
+    public void testMesmaInstanciaJogaTodosOsTurnos() {
+        List<Jogador> jogadores = PartidasDeTeste.jogadoresIA(3);
+        MotorHeadless motor = new MotorHeadless(jogadores);
+        motor.setSemente(21L);
+        motor.setLimiteDeTurnos(30);
+        EstrategiaContadora contadora = new EstrategiaContadora();
+        motor.setEstrategiaIA(jogadores.get(1), contadora);
+
+        ResultadoPartida resultado = motor.executar();
+
+        assertSame(jogadores.get(1), contadora.jogador);
+        assertTrue(contadora.turnos > 1 && contadora.turnos <= resultado.turnosJogados,
+            "Turnos jogados pela estratégia: " + contadora.turnos + " de " + resultado.turnosJogados);
+        assertSame(contadora, motor.getControlador().getEstrategiaIA(jogadores.get(1)));
+    }
+
+    @Test
+    public void testTorneioEntreEstrategiasDoRegistro() {
+        RegistroDeEstrategias registro = RegistroDeEstrategias.comEstrategiasPadrao();
+        List<String> nomes = Arrays.asList(RegistroDeEstrategias.HEURISTICA, RegistroDeEstrategias.MCTS);
+        TorneioIA torneio = new TorneioIA(registro, nomes, OrcamentoIA.porIteracoes(10, 1), 3);
+        torneio.setSemente(4L);
+        torneio.setLimiteDeTurnos(40);
+        torneio.setParalelismo(2);
+
+        EstatisticasTorneio stats = torneio.executar(4);
+
+        assertEquals(4, stats.getPartidas());
+        // 3 assentos por partida, as duas estratégias se revezando entre eles
+        assertEquals(12, stats.getPartidasDaConfiguracao(0) + stats.getPartidasDaConfiguracao(1));
+        assertTrue(stats.getPartidasDaConfiguracao(1) >= 4, "O MCTS deve ocupar assentos em todas as partidas");
+        assertThrows(IllegalArgumentException.class,
+            () -> new TorneioIA(registro, Arrays.asList("inexistente"), OrcamentoIA.PADRAO, 3));
+    }
+}
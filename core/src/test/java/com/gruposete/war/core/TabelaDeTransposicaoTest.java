@@ -0,0 +1,106 @@
+package com.gruposete.war.core;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TabelaDeTransposicaoTest {
+
+    @Test
+    public void testRegistraEAcumulaMedia() {
+        TabelaDeTransposicao tabela = new TabelaDeTransposicao(1);
+        long chave = 0x1234_5678_9ABC_DEF0L;
+
+        assertEquals(TabelaDeTransposicao.NAO_ENCONTRADO, tabela.sondar(chave));
+        tabela.registrar(chave, 0.2);
+        tabela.registrar(chave, 0.4);
+        assertEquals(0.6, tabela.registrar(chave, 1.2), 1e-6);
+
+        long dados = tabela.sondar(chave);
+        assertEquals(3, TabelaDeTransposicao.amostras(dados));
+        assertEquals(0.6, TabelaDeTransposicao.media(dados), 1e-6);
+        assertEquals(TabelaDeTransposicao.NAO_ENCONTRADO, tabela.sondar(chave ^ 1L << 63), "Outra chave no mesmo balde");
+
+        tabela.limpar();
+        assertEquals(TabelaDeTransposicao.NAO_ENCONTRADO, tabela.sondar(chave));
+    }
+
+    @Test
+    public void testSubstituiAEntradaMaisVelha() {
+        TabelaDeTransposicao tabela = new TabelaDeTransposicao(1);
+        // Mesmos bits baixos = mesmo balde (4 entradas)
+        long[] chaves = new long[5];
+        for (int i = 0; i < chaves.length; i++) chaves[i] = 42L | ((long) (i + 1) << 40);
+
+        tabela.registrar(chaves[0], 0.5);
+        tabela.registrar(chaves[0], 0.5);       // Mais amostras: deve sobreviver ao empate de idade
+        tabela.novaGeracao();
+        for (int i = 1; i < 4; i++) tabela.registrar(chaves[i], 0.5);
+        tabela.registrar(chaves[4], 0.5);        // Balde cheio: sai a única entrada da geração anterior
+
+        assertEquals(TabelaDeTransposicao.NAO_ENCONTRADO, tabela.sondar(chaves[0]));
+        for (int i = 1; i < 5; i++) assertNotEquals(TabelaDeTransposicao.NAO_ENCONTRADO, tabela.sondar(chaves[i]));
+
+        // Na mesma geração, sai a que tem menos amostras
+        tabela.registrar(chaves[2], 0.5);
+        tabela.registrar(chaves[3], 0.5);
+        tabela.registrar(chaves[4], 0.5);
+        tabela.registrar(chaves[0], 0.5);
+        assertEquals(TabelaDeTransposicao.NAO_ENCONTRADO, tabela.sondar(chaves[1]));
+    }
+
+    @Test
+    public void testConcorrenciaNuncaDevolveDadoDeOutraChave() throws InterruptedException {
+        // Tabela pequena e muitas chaves: as threads disputam os mesmos baldes o tempo todo
+        TabelaDeTransposicao tabela = new TabelaDeTransposicao(1);
+        int threads = 4;
+        AtomicInteger erros = new AtomicInteger();
+        List<Thread> lista = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long semente = t;
+            Thread thread = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(semente);
+                for (int i = 0; i < 200_000; i++) {
+                    long chave = random.nextLong(1 << 18) * 0x9E3779B97F4A7C15L;
+                    // Cada chave só recebe o seu próprio valor, então a média lida tem que ser ele
+                    double valor = valorDa(chave);
+                    tabela.registrar(chave, valor);
+                    long dados = tabela.sondar(chave);
+                    if (dados != TabelaDeTransposicao.NAO_ENCONTRADO && Math.abs(TabelaDeTransposicao.media(dados) - valor) > 1e-6) {
+                        erros.incrementAndGet();
+                    }
+                }
+            });
+            lista.add(thread);
+            thread.start();
+        }
+        for (Thread thread : lista) thread.join();
+        assertEquals(0, erros.get());
+    }
+
+    private static double valorDa(long chave) {
+        return (chave >>> 40) / (double) (1L << 24);
+    }
+
+    @Test
+    public void testMonteCarloComTransposicaoJogaTurnosValidos() {
+        List<Jogador> jogadores = PartidasDeTeste.jogadoresIA(3);
+        MotorHeadless motor = new MotorHeadless(jogadores);
+        motor.setSemente(17L);
+        motor.setLimiteDeTurnos(12);
+        EstrategiaMonteCarlo mcts = new EstrategiaMonteCarlo(OrcamentoIA.porIteracoes(60, 2).comTransposicao(1));
+        motor.setEstrategiaIA(jogadores.get(0), mcts);
+
+        motor.executar();
+
+        ControladorDePartida ctrl = motor.getControlador();
+        assertEquals(HashZobrist.calcular(EstadoCompacto.capturar(ctrl)), ctrl.getHash());
+        for (Territorio t : ctrl.getTerritorios()) {
+            assertTrue(t.getTropas() >= 1, "Território sem tropas: " + t.getNome());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.gruposete.war.core;
+
+import com.badlogic.gdx.utils.Array;
+import com.gruposete.war.utils.Utils;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+public class TabelaProbabilidadeCombateTest {
+
+    @Test
+    public void testRodadasConhecidas() {
+        // 1 dado contra 1: o atacante precisa tirar mais alto (empate é do defensor)
+        assertEquals(15.0 / 36, TabelaProbabilidadeCombate.getChanceDaRodada(1, 1, 1), 1e-12);
+        // 3 contra 2: valores clássicos de 7776 jogadas
+        assertEquals(2890.0 / 7776, TabelaProbabilidadeCombate.getChanceDaRodada(3, 2, 2), 1e-12);
+        assertEquals(2611.0 / 7776, TabelaProbabilidadeCombate.getChanceDaRodada(3, 2, 1), 1e-12);
+        assertEquals(2275.0 / 7776, TabelaProbabilidadeCombate.getChanceDaRodada(3, 2, 0), 1e-12);
+    }
+
+    @Test
+    public void testCasosDeBorda() {
+        TabelaProbabilidadeCombate tabela = new TabelaProbabilidadeCombate(20);
+        assertEquals(0.0, tabela.getChanceDeConquista(1, 5), "Com 1 tropa não há ataque");
+        assertEquals(1.0, tabela.getChanceDeConquista(3, 0));
+        assertEquals(15.0 / 36, tabela.getChanceDeConquista(2, 1), 1e-12);
+        assertEquals(5.0, tabela.getTropasRestantesDefensor(1, 5), 1e-12);
+
+        // Mais tropas atacando nunca piora a chance; mais defendendo nunca melhora
+        for (int a = 2; a < 20; a++) {
+            for (int d = 1; d < 20; d++) {
+                assertTrue(tabela.getChanceDeConquista(a + 1, d) >= tabela.getChanceDeConquista(a, d) - 1e-12);
+                assertTrue(tabela.getChanceDeConquista(a, d + 1) <= tabela.getChanceDeConquista(a, d) + 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testSorteioDeBatalhaSegueATabela() {
+        TabelaProbabilidadeCombate tabela = TabelaProbabilidadeCombate.padrao();
+        SplittableRandom random = new SplittableRandom(11);
+        int amostras = 40_000;
+
+        int conquistasDiretas = 0, conquistasPorRodada = 0;
+        long sobrasDiretas = 0;
+        for (int i = 0; i < amostras; i++) {
+            int direto = TabelaProbabilidadeCombate.sortearDesfecho(10, 7, 1, random);
+            int porRodada = TabelaProbabilidadeCombate.simularBatalha(10, 7, 1, random);
+            if (TabelaProbabilidadeCombate.defensorDoDesfecho(direto) == 0) conquistasDiretas++;
+            if (TabelaProbabilidadeCombate.defensorDoDesfecho(porRodada) == 0) conquistasPorRodada++;
+            sobrasDiretas += TabelaProbabilidadeCombate.atacanteDoDesfecho(direto);
+        }
+
+        double esperado = tabela.getChanceDeConquista(10, 7);
+        assertEquals(esperado, (double) conquistasDiretas / amostras, 0.01);
+        assertEquals(esperado, (double) conquistasPorRodada / amostras, 0.01);
+        assertEquals(tabela.getTropasRestantesAtacante(10, 7), (double) sobrasDiretas / amostras, 0.06);
+
+        // Com limite de parada, o atacante nunca termina acima dele sem ter conquistado
+        for (int i = 0; i < 1000; i++) {
+            int d = TabelaProbabilidadeCombate.sortearDesfecho(12, 12, 5, random);
+            assertTrue(TabelaProbabilidadeCombate.defensorDoDesfecho(d) == 0
+                || TabelaProbabilidadeCombate.atacanteDoDesfecho(d) <= 5);
+            assertTrue(TabelaProbabilidadeCombate.atacanteDoDesfecho(d) >= 3, "Uma rodada tira no máximo 3 tropas do atacante");
+        }
+    }
+
+    @Test
+    public void testBateComSimulacaoDaAtaqueLogica() {
+        TabelaProbabilidadeCombate tabela = TabelaProbabilidadeCombate.padrao();
+        Array<Territorio> territorios = Utils.geradorTerritorios();
+        Mapa mapa = new Mapa(territorios);
+        Territorio a = mapa.getTerritorioPorId(Mapa.getIdPorNome("Brasil"));
+        Territorio d = mapa.getTerritorioPorId(Mapa.getIdPorNome("Argentina"));
+        a.setPlayerId(1);
+        Jogador ja = new Jogador("A", CorJogador.AZUL, 1, false);
+        Jogador jd = new Jogador("D", CorJogador.VERDE, 2, false);
+        SplittableRandom random = new SplittableRandom(7);
+
+        int partidas = 20_000, conquistas = 0;
+        long sobras = 0;
+        for (int i = 0; i < partidas; i++) {
+            a.setTropas(8);
+            d.setTropas(5);
+            d.setPlayerId(2);
+            AtaqueLogica logica = new AtaqueLogica(a, d, ja, jd, mapa, random);
+            AtaqueEstado estado;
+            do {
+                estado = logica.executarUmaRodada().estado;
+            } while (estado == AtaqueEstado.CONTINUAR_POSSIVEL);
+            if (estado == AtaqueEstado.TERRITORIO_CONQUISTADO) conquistas++;
+            sobras += a.getTropas();
+        }
+
+        assertEquals(tabela.getChanceDeConquista(8, 5), (double) conquistas / partidas, 0.015);
+        assertEquals(tabela.getTropasRestantesAtacante(8, 5), (double) sobras / partidas, 0.1);
+    }
+}
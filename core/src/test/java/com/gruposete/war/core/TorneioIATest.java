@@ -0,0 +1,83 @@
+package com.gruposete.war.core;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+public class TorneioIATest {
+
+    private static final ConfiguracaoIA AGRESSIVA = new ConfiguracaoIA("Agressiva", 2.0f, 1.5f, 5.0f);
+
+    @Test
+    public void testEstatisticasConsistentes() {
+        List<ConfiguracaoIA> configs = List.of(ConfiguracaoIA.PADRAO, AGRESSIVA);
+        TorneioIA torneio = new TorneioIA(configs, 3);
+        torneio.setParalelismo(4);
+
+        EstatisticasTorneio stats = torneio.executar(24);
+
+        assertEquals(24, stats.getPartidas());
+
+        long vitoriasPorCor = 0, partidasPorCor = 0;
+        for (CorJogador cor : CorJogador.values()) {
+            vitoriasPorCor += stats.getVitoriasDaCor(cor);
+            partidasPorCor += stats.getPartidasDaCor(cor);
+        }
+        assertEquals(24 - stats.getPartidasSemVencedor(), vitoriasPorCor);
+        assertEquals(24 * 3, partidasPorCor, "Cada partida tem 3 assentos");
+
+        long vitoriasPorConfig = stats.getVitoriasDaConfiguracao(0) + stats.getVitoriasDaConfiguracao(1);
+        long partidasPorConfig = stats.getPartidasDaConfiguracao(0) + stats.getPartidasDaConfiguracao(1);
+        assertEquals(vitoriasPorCor, vitoriasPorConfig);
+        assertEquals(24 * 3, partidasPorConfig);
+
+        long vitoriasPorObjetivo = 0;
+        for (Objetivo.TipoDeObjetivo tipo : Objetivo.TipoDeObjetivo.values()) {
+            vitoriasPorObjetivo += stats.getVitoriasDoObjetivo(tipo);
+        }
+        assertEquals(vitoriasPorCor, vitoriasPorObjetivo);
+    }
+
+    @Test
+    public void testMesmaSementeIndependeDoParalelismo() {
+        List<ConfiguracaoIA> configs = List.of(ConfiguracaoIA.PADRAO, AGRESSIVA);
+        TorneioIA serial = new TorneioIA(configs, 3);
+        TorneioIA paralelo = new TorneioIA(configs, 3);
+        serial.setSemente(42L);
+        paralelo.setSemente(42L);
+        serial.setParalelismo(1);
+        paralelo.setParalelismo(4);
+
+        EstatisticasTorneio a = serial.executar(12);
+        EstatisticasTorneio b = paralelo.executar(12);
+
+        assertEquals(a.getMediaDeTurnos(), b.getMediaDeTurnos(), 1e-9);
+        for (CorJogador cor : CorJogador.values()) {
+            assertEquals(a.getVitoriasDaCor(cor), b.getVitoriasDaCor(cor), "Vitórias da cor " + cor);
+        }
+    }
+
+    @Test
+    public void testCombinarSomaAcumuladores() {
+        EstatisticasTorneio a = new EstatisticasTorneio(1);
+        EstatisticasTorneio b = new EstatisticasTorneio(1);
+
+        Jogador j1 = new Jogador("A", CorJogador.AZUL, 1, true);
+        Jogador j2 = new Jogador("B", CorJogador.VERDE, 2, true);
+        j1.setObjetivo(new Objetivo(1, "24", "", 24));
+        j2.setObjetivo(new Objetivo(2, "Eliminar", "", CorJogador.AZUL));
+        int[] configPorCor = new int[CorJogador.values().length];
+
+        a.registrar(new ResultadoPartida(j1, List.of(j1, j2), 10, false), configPorCor);
+        b.registrar(new ResultadoPartida(null, List.of(j1, j2), 20, true), configPorCor);
+        a.combinar(b);
+
+        assertEquals(2, a.getPartidas());
+        assertEquals(1, a.getPartidasSemVencedor());
+        assertEquals(15.0, a.getMediaDeTurnos(), 1e-9);
+        assertEquals(1, a.getVitoriasDaCor(CorJogador.AZUL));
+        assertEquals(2, a.getPartidasDaCor(CorJogador.AZUL));
+        assertEquals(0.5, a.getTaxaDeVitoriaDoObjetivo(Objetivo.TipoDeObjetivo.CONQUISTAR_TERRITORIOS), 1e-9);
+    }
+}
@@ -6,6 +6,8 @@ import com.gruposete.war.Main;
 
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
+    private static final int IDLE_FPS = 10;
+
     public static void main(String[] args) {
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
         createApplication();
@@ -27,6 +29,9 @@ public class Lwjgl3Launcher {
         //// If you remove the above line and set Vsync to false, you can get unlimited FPS, which can be
         //// useful for testing performance, but can also be very stressful to some hardware.
         //// You may also need to configure GPU drivers to fully disable Vsync; this can cause screen tearing.
+        //// While the window is unfocused or minimized, keep only a few frames per second
+        //// (enough for AI turns and background music to keep going).
+        configuration.setIdleFPS(IDLE_FPS);
 
         configuration.setWindowedMode(960, 540);
         //// You can change these files; they are in lwjgl3/src/main/resources/ .